@@ -0,0 +1,85 @@
+package com.test.assignment.repository;
+
+import com.test.assignment.domain.User;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Counting the users born in one year by reading them with a range query against looking the count
+ * up in the {@link BirthDateHistogram}, and the cost a write pays to keep the histogram current.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BirthDateHistogramBenchmark {
+  private static final LocalDate FIRST_BIRTH_DAY = LocalDate.of(1950, 1, 1);
+  private static final int BIRTH_DAYS = 50 * 365;
+
+  @Param({"10000", "1000000"})
+  public int users;
+
+  private InMemoryUserRepository repository;
+  private BirthDateHistogram histogram;
+  private User user;
+
+  @Setup
+  public void setUp() {
+    repository = new InMemoryUserRepository();
+    for (int i = 0; i < users; i++) {
+      repository.createUser(buildUser(FIRST_BIRTH_DAY.plusDays(i % BIRTH_DAYS).atTime(12, 0)));
+    }
+    histogram = new BirthDateHistogram(repository);
+    user = buildUser(FIRST_BIRTH_DAY.atTime(12, 0));
+  }
+
+  @Benchmark
+  public long countByRangeQuery() {
+    LocalDate from = randomYearStart();
+    return repository
+        .findUsersByBirthDateRange(from.atStartOfDay(), from.plusYears(1).atStartOfDay())
+        .size();
+  }
+
+  @Benchmark
+  public long countByHistogram() {
+    LocalDate from = randomYearStart();
+    return histogram.count(from, from.plusYears(1).minusDays(1));
+  }
+
+  @Benchmark
+  public void reportChange() {
+    histogram.onChange(user, user);
+  }
+
+  private static LocalDate randomYearStart() {
+    return FIRST_BIRTH_DAY.plusDays(ThreadLocalRandom.current().nextInt(BIRTH_DAYS - 366));
+  }
+
+  private static User buildUser(LocalDateTime birthDate) {
+    UUID id = UUID.randomUUID();
+    return User.builder()
+        .id(id)
+        .firstName("FirstName")
+        .lastName("LastName")
+        .email(id + "@test.com")
+        .birthDate(birthDate)
+        .build();
+  }
+}
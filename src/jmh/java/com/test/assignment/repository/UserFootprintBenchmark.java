@@ -0,0 +1,106 @@
+package com.test.assignment.repository;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.repository.mapped.MappedUserRepository;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loads the same users into each backend and reports the heap retained per stored user, measured
+ * as the difference in used heap after full GCs before and after loading.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class UserFootprintBenchmark {
+  private static final LocalDateTime BASE_DATE = LocalDateTime.of(1950, 1, 1, 0, 0);
+
+  @Param({"memory", "mapped"})
+  public String backend;
+
+  @Param({"1000000"})
+  public int users;
+
+  private Path directory;
+  private UserRepository repository;
+
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class Footprint {
+    public long heapBytesPerUser;
+  }
+
+  @Setup(Level.Iteration)
+  public void createDirectory() throws IOException {
+    directory = Files.createTempDirectory("user-footprint");
+  }
+
+  /** The mapped repository is closed, so its segments are flushed, before its files go. */
+  @TearDown(Level.Iteration)
+  public void deleteDirectory() throws IOException {
+    if (repository instanceof Closeable closeable) {
+      closeable.close();
+    }
+    repository = null;
+    try (Stream<Path> files = Files.walk(directory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Benchmark
+  public UserRepository load(Footprint footprint) throws IOException {
+    long before = usedHeapAfterGc();
+    repository =
+        "mapped".equals(backend)
+            ? MappedUserRepository.open(directory, 256 << 20)
+            : new InMemoryUserRepository();
+    for (int i = 0; i < users; i++) {
+      repository.createUser(buildUser(i));
+    }
+    footprint.heapBytesPerUser = (usedHeapAfterGc() - before) / users;
+    return repository;
+  }
+
+  private static User buildUser(int i) {
+    return User.builder()
+        .id(UUID.randomUUID())
+        .firstName("FirstName" + i)
+        .lastName("LastName" + i)
+        .email("user" + i + "@test.com")
+        .birthDate(BASE_DATE.plusMinutes(i * 37L))
+        .address("Brooklyn Street, " + i)
+        .phoneNumber("+380555" + i)
+        .build();
+  }
+
+  private static long usedHeapAfterGc() {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+}
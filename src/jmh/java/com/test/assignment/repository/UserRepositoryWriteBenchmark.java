@@ -0,0 +1,144 @@
+package com.test.assignment.repository;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.repository.mapped.MappedUserRepository;
+import com.test.assignment.repository.wal.WalUserRepository;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Update throughput of each backend as writer threads grow from 1 to 64. Every update picks a
+ * random user, so threads rarely touch the same one and a flat curve means they contend on shared
+ * state rather than on data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UserRepositoryWriteBenchmark {
+  private static final LocalDateTime BASE_DATE = LocalDateTime.of(1950, 1, 1, 0, 0);
+
+  @Param({"memory", "wal", "mapped"})
+  public String backend;
+
+  @Param({"100000"})
+  public int users;
+
+  private Path directory;
+  private UserRepository repository;
+  private UUID[] ids;
+
+  @Setup
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("user-write-benchmark");
+    repository =
+        switch (backend) {
+          case "wal" -> WalUserRepository.open(directory, Duration.ofMillis(2), 1_000_000);
+          case "mapped" -> MappedUserRepository.open(directory, 256 << 20);
+          default -> new InMemoryUserRepository();
+        };
+    ids = new UUID[users];
+    for (int i = 0; i < users; i++) {
+      ids[i] = repository.createUser(buildUser(i)).getId();
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    if (repository instanceof Closeable closeable) {
+      closeable.close();
+    }
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public User threads01() {
+    return update();
+  }
+
+  @Benchmark
+  @Threads(2)
+  public User threads02() {
+    return update();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public User threads04() {
+    return update();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public User threads08() {
+    return update();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public User threads16() {
+    return update();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public User threads32() {
+    return update();
+  }
+
+  @Benchmark
+  @Threads(64)
+  public User threads64() {
+    return update();
+  }
+
+  private User update() {
+    UUID id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    return repository.updateUser(
+        id,
+        existing ->
+            existing.toBuilder().birthDate(existing.getBirthDate().plusSeconds(1)).build());
+  }
+
+  private static User buildUser(int i) {
+    return User.builder()
+        .id(UUID.randomUUID())
+        .firstName("FirstName" + i)
+        .lastName("LastName" + i)
+        .email("user" + i + "@test.com")
+        .birthDate(BASE_DATE.plusMinutes(i * 37L))
+        .address("Brooklyn Street, " + i)
+        .phoneNumber("+380555" + i)
+        .version(1)
+        .build();
+  }
+}
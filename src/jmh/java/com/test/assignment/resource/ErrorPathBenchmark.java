@@ -0,0 +1,109 @@
+package com.test.assignment.resource;
+
+import com.test.assignment.WebsiteApplication;
+import com.test.assignment.domain.User;
+import com.test.assignment.repository.UserRepository;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Throughput of GET /users/{id} answered with 200 against the two errors crawlers cause most, a
+ * malformed id (400) and an unknown id (404), through the running application including its
+ * logging.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ErrorPathBenchmark {
+
+  private ConfigurableApplicationContext context;
+  private HttpClient client;
+  private HttpRequest existingUser;
+  private HttpRequest malformedId;
+  private HttpRequest unknownUser;
+
+  @Setup
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(WebsiteApplication.class)
+            .properties("server.port=0", "logging.level.root=warn")
+            .run();
+    UUID id = context.getBean(UserRepository.class).createUser(buildUser()).getId();
+    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    existingUser = get(port, id.toString());
+    malformedId = get(port, "not-a-uuid");
+    unknownUser = get(port, UUID.randomUUID().toString());
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public int ok() throws IOException, InterruptedException {
+    return send(existingUser, 200);
+  }
+
+  @Benchmark
+  public int badRequest() throws IOException, InterruptedException {
+    return send(malformedId, 400);
+  }
+
+  @Benchmark
+  public int notFound() throws IOException, InterruptedException {
+    return send(unknownUser, 404);
+  }
+
+  private int send(HttpRequest request, int expectedStatus)
+      throws IOException, InterruptedException {
+    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    if (status != expectedStatus) {
+      throw new IllegalStateException("Unexpected status=" + status);
+    }
+    return status;
+  }
+
+  private static HttpRequest get(int port, String id) {
+    return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/" + id))
+        .header("Accept", "application/json")
+        .build();
+  }
+
+  private static User buildUser() {
+    return User.builder()
+        .id(UUID.randomUUID())
+        .firstName("FirstName")
+        .lastName("LastName")
+        .email("user@test.com")
+        .birthDate(LocalDateTime.of(1990, 1, 1, 0, 0))
+        .version(1)
+        .build();
+  }
+}
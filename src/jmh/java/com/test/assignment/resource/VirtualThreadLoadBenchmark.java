@@ -0,0 +1,134 @@
+package com.test.assignment.resource;
+
+import com.test.assignment.WebsiteApplication;
+import com.test.assignment.domain.User;
+import com.test.assignment.repository.InMemoryUserRepository;
+import com.test.assignment.repository.UserRepository;
+import com.test.assignment.repository.UserRepositoryConfiguration;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * Time for a burst of concurrent GET /users/{id} requests to complete when every repository read
+ * blocks for {@link #BACKEND_DELAY_MILLIS}. On platform threads a burst larger than the Tomcat pool
+ * queues in waves of {@link #PLATFORM_THREADS}; on virtual threads all requests wait out the delay
+ * together.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class VirtualThreadLoadBenchmark {
+  private static final long BACKEND_DELAY_MILLIS = 50;
+  private static final int PLATFORM_THREADS = 200;
+
+  @Param({"platform", "virtual"})
+  public String threads;
+
+  @Param({"100", "1000"})
+  public int concurrentRequests;
+
+  private ConfigurableApplicationContext context;
+  private HttpClient client;
+  private HttpRequest request;
+
+  @Setup
+  public void setUp() {
+    SlowUserRepository repository = new SlowUserRepository();
+    UUID id = repository.createUser(buildUser()).getId();
+    context =
+        new SpringApplicationBuilder(WebsiteApplication.class)
+            .initializers(
+                (GenericApplicationContext applicationContext) ->
+                    applicationContext.registerBean(
+                        UserRepositoryConfiguration.BACKEND,
+                        UserRepository.class,
+                        () -> repository))
+            .properties(
+                "server.port=0",
+                "repository.type=slow",
+                "server.tomcat.threads.max=" + PLATFORM_THREADS,
+                "threads.virtual.enabled=" + threads.equals("virtual"),
+                "repository.cache.enabled=false",
+                "logging.level.root=warn")
+            .run();
+    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    request =
+        HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/" + id))
+            .header("Accept", "application/json")
+            .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public int burst() {
+    List<CompletableFuture<HttpResponse<Void>>> responses =
+        IntStream.range(0, concurrentRequests)
+            .mapToObj(i -> client.sendAsync(request, HttpResponse.BodyHandlers.discarding()))
+            .toList();
+    int ok = 0;
+    for (CompletableFuture<HttpResponse<Void>> response : responses) {
+      if (response.join().statusCode() != 200) {
+        throw new IllegalStateException("Request failed, status=" + response.join().statusCode());
+      }
+      ok++;
+    }
+    return ok;
+  }
+
+  private static User buildUser() {
+    return User.builder()
+        .id(UUID.randomUUID())
+        .firstName("FirstName")
+        .lastName("LastName")
+        .email("user@test.com")
+        .birthDate(LocalDateTime.of(1990, 1, 1, 0, 0))
+        .version(1)
+        .build();
+  }
+
+  /** Stands in for a backend that waits on I/O for every read. */
+  private static class SlowUserRepository extends InMemoryUserRepository {
+
+    @Override
+    public User findUserById(UUID id) {
+      try {
+        Thread.sleep(BACKEND_DELAY_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return super.findUserById(id);
+    }
+  }
+}
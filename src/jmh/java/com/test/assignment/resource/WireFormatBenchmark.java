@@ -0,0 +1,101 @@
+package com.test.assignment.resource;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.response.UserResponse;
+import com.test.assignment.service.mapper.UserMapper;
+import com.test.assignment.service.mapper.UserMapperImpl;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Nanoseconds per user to write and to read a list of {@link UserResponse} in JSON and in CBOR,
+ * with the mappers the application configures, and to write the stored users either mapped to
+ * responses first or directly by {@link UserSerializer}. The encoded bytes per user are printed
+ * once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OperationsPerInvocation(WireFormatBenchmark.USERS)
+public class WireFormatBenchmark {
+  static final int USERS = 1000;
+  private static final TypeReference<List<UserResponse>> USER_LIST = new TypeReference<>() {};
+
+  @Param({"json", "cbor"})
+  public String format;
+
+  private final UserMapper userMapper = new UserMapperImpl();
+  private ObjectMapper mapper;
+  private List<User> entities;
+  private List<UserResponse> users;
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() throws IOException {
+    Jackson2ObjectMapperBuilder builder =
+        Jackson2ObjectMapperBuilder.json().serializerByType(User.class, new UserSerializer());
+    mapper =
+        format.equals("cbor") ? BinaryFormatConfiguration.cborMapper(builder) : builder.build();
+    LocalDateTime birthDate = LocalDateTime.of(1990, 1, 1, 0, 0);
+    entities =
+        IntStream.range(0, USERS)
+            .mapToObj(
+                i ->
+                    User.builder()
+                        .id(UUID.randomUUID())
+                        .firstName("FirstName" + i)
+                        .lastName("LastName" + i)
+                        .email("user" + i + "@test.com")
+                        .birthDate(birthDate.plusMinutes(i * 7919L).plusNanos(i * 1001L))
+                        .address("Some Random Street, " + i)
+                        .phoneNumber("+380775553535")
+                        .version(i)
+                        .build())
+            .toList();
+    users = userMapper.toResponses(entities);
+    encoded = mapper.writeValueAsBytes(users);
+    System.out.printf("%n%s: %d bytes per user%n", format, encoded.length / USERS);
+  }
+
+  @Benchmark
+  public byte[] write() throws IOException {
+    return mapper.writeValueAsBytes(users);
+  }
+
+  @Benchmark
+  public byte[] writeMapped() throws IOException {
+    return mapper.writeValueAsBytes(userMapper.toResponses(entities));
+  }
+
+  @Benchmark
+  public byte[] writeDirect() throws IOException {
+    return mapper.writeValueAsBytes(entities);
+  }
+
+  @Benchmark
+  public List<UserResponse> read() throws IOException {
+    return mapper.readValue(encoded, USER_LIST);
+  }
+}
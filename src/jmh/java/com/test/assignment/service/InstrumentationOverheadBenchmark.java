@@ -0,0 +1,94 @@
+package com.test.assignment.service;
+
+import com.test.assignment.domain.UserPage;
+import com.test.assignment.domain.response.UserResponse;
+import com.test.assignment.repository.InMemoryUserRepository;
+import com.test.assignment.repository.MeteredUserRepository;
+import com.test.assignment.service.mapper.UserMapperImpl;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+/**
+ * Cost of the metrics on the hot path: {@link UserService} calls with the {@code @Timed} proxies
+ * on the service and the mapper and the {@link MeteredUserRepository} in front of the repository,
+ * against the same calls on plain objects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InstrumentationOverheadBenchmark {
+  private static final int DATASET_SIZE = 100_000;
+
+  @Param({"plain", "instrumented"})
+  public String variant;
+
+  private UserService service;
+  private UUID[] ids;
+
+  @Setup
+  public void setUp() {
+    InMemoryUserRepository repository = new InMemoryUserRepository();
+    if (variant.equals("instrumented")) {
+      MeterRegistry registry = new SimpleMeterRegistry();
+      service =
+          timed(
+              new UserService(
+                  timed(new UserMapperImpl(), registry),
+                  new MeteredUserRepository(repository, registry)),
+              registry);
+    } else {
+      service = new UserService(new UserMapperImpl(), repository);
+    }
+    ids = new UUID[DATASET_SIZE];
+    long stepNanos = UserServiceBenchmark.BIRTH_DATE_SPAN.toNanos() / DATASET_SIZE;
+    for (int i = 0; i < DATASET_SIZE; i++) {
+      ids[i] =
+          repository
+              .createUser(
+                  UserServiceBenchmark.buildUser(
+                      UserServiceBenchmark.FIRST_BIRTH_DATE.plusNanos(stepNanos * i)))
+              .getId();
+    }
+  }
+
+  @Benchmark
+  public UserResponse getUser() {
+    return service.getUser(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+  }
+
+  @Benchmark
+  public UserPage getUsersByBirthDateRange() {
+    LocalDateTime from =
+        UserServiceBenchmark.FIRST_BIRTH_DATE.plusDays(
+            ThreadLocalRandom.current().nextInt(49 * 365));
+    return service.getUsersByBirthDateRange(
+        from, from.plusDays(30), null, UserServiceBenchmark.PAGE_LIMIT);
+  }
+
+  private static <T> T timed(T target, MeterRegistry registry) {
+    AspectJProxyFactory factory = new AspectJProxyFactory(target);
+    factory.setProxyTargetClass(true);
+    factory.addAspect(new TimedAspect(registry));
+    return factory.getProxy();
+  }
+}
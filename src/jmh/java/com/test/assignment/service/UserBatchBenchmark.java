@@ -0,0 +1,118 @@
+package com.test.assignment.service;
+
+import com.test.assignment.domain.request.UserBatchRequest;
+import com.test.assignment.domain.request.UserCreateRequest;
+import com.test.assignment.domain.response.UserBatchResponse;
+import com.test.assignment.repository.InMemoryUserRepository;
+import com.test.assignment.repository.UserRepository;
+import com.test.assignment.repository.wal.WalUserRepository;
+import com.test.assignment.service.mapper.UserMapperImpl;
+import com.test.assignment.validator.BirthDateConstraintValidatorFactory;
+import com.test.assignment.validator.BirthDateCutoff;
+import com.test.assignment.validator.UserRequestValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ValidatorFactory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Per-user cost of creating users one request at a time versus through a single batch. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UserBatchBenchmark {
+  private static final int BATCH_SIZE = 1000;
+
+  @Param({"memory", "wal"})
+  public String repositoryType;
+
+  private ValidatorFactory factory;
+  private Path directory;
+  private UserRepository repository;
+  private UserRequestValidator validator;
+  private UserService service;
+  private UserBatchService batchService;
+  private List<UserCreateRequest> requests;
+  private UserBatchRequest batch;
+
+  @Setup
+  public void setUp() throws IOException {
+    BirthDateCutoff cutoff = BirthDateCutoff.systemDefault();
+    factory = BirthDateConstraintValidatorFactory.buildValidatorFactory(cutoff);
+    validator = new UserRequestValidator(factory.getValidator(), cutoff, new SimpleMeterRegistry());
+    if (repositoryType.equals("wal")) {
+      directory = Files.createTempDirectory("user-batch-benchmark");
+      repository = WalUserRepository.open(directory, Duration.ofMillis(2), 1_000_000);
+    } else {
+      repository = new InMemoryUserRepository();
+    }
+    UserMapperImpl mapper = new UserMapperImpl();
+    service = new UserService(mapper, repository);
+    batchService = new UserBatchService(mapper, repository, validator);
+  }
+
+  /** Emails are unique, so every invocation needs requests that were not created yet. */
+  @Setup(Level.Invocation)
+  public void prepareRequests() {
+    requests =
+        IntStream.range(0, BATCH_SIZE)
+            .mapToObj(i -> UserServiceBenchmark.buildCreateRequest())
+            .toList();
+    batch = UserBatchRequest.builder().create(requests).build();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    factory.close();
+    if (repository instanceof Closeable closeable) {
+      closeable.close();
+    }
+    if (directory != null) {
+      try (Stream<Path> files = Files.walk(directory)) {
+        for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+          Files.delete(file);
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void createOneByOne(Blackhole blackhole) {
+    for (UserCreateRequest request : requests) {
+      validator.validate(request);
+      blackhole.consume(service.createUser(request));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public UserBatchResponse createInBatch() {
+    return batchService.applyBatch(batch);
+  }
+}
@@ -0,0 +1,68 @@
+package com.test.assignment.service;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.request.UserCreateRequest;
+import com.test.assignment.domain.response.UserResponse;
+import com.test.assignment.service.mapper.UserMapper;
+import com.test.assignment.service.mapper.UserMapperImpl;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UserMapperBenchmark {
+
+  @Param({"1", "100", "10000"})
+  public int resultSize;
+
+  private final UserMapper mapper = new UserMapperImpl();
+  private UserCreateRequest request;
+  private User user;
+  private List<User> users;
+
+  @Setup
+  public void setUp() {
+    request = UserServiceBenchmark.buildCreateRequest();
+    user = UserServiceBenchmark.buildUser(UserServiceBenchmark.FIRST_BIRTH_DATE);
+    users =
+        IntStream.range(0, resultSize)
+            .mapToObj(i -> UserServiceBenchmark.buildUser(UserServiceBenchmark.FIRST_BIRTH_DATE))
+            .toList();
+  }
+
+  @Benchmark
+  public User toEntity() {
+    return mapper.toEntity(request);
+  }
+
+  @Benchmark
+  public User toEntityWithId() {
+    return mapper.toEntity(user.getId(), request);
+  }
+
+  @Benchmark
+  public UserResponse toResponse() {
+    return mapper.toResponse(user);
+  }
+
+  @Benchmark
+  public List<UserResponse> toResponses() {
+    return mapper.toResponses(users);
+  }
+}
@@ -0,0 +1,120 @@
+package com.test.assignment.service;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserPage;
+import com.test.assignment.domain.request.UserCreateRequest;
+import com.test.assignment.domain.request.UserUpdateRequest;
+import com.test.assignment.domain.response.UserResponse;
+import com.test.assignment.repository.InMemoryUserRepository;
+import com.test.assignment.service.mapper.UserMapperImpl;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UserServiceBenchmark {
+  static final LocalDateTime FIRST_BIRTH_DATE = LocalDateTime.of(1950, 1, 1, 0, 0);
+  static final Duration BIRTH_DATE_SPAN = Duration.ofDays(50 * 365);
+  /** The default page size of the range endpoint. */
+  static final int PAGE_LIMIT = 100;
+  private static final AtomicLong EMAIL_SEQUENCE = new AtomicLong();
+
+  @Param({"10000", "1000000"})
+  public int datasetSize;
+
+  @Param({"0.0001", "0.01", "0.1"})
+  public double rangeSelectivity;
+
+  private UserService service;
+  private UUID[] ids;
+  private String[] emails;
+  private Duration rangeWidth;
+
+  @Setup
+  public void setUp() {
+    InMemoryUserRepository repository = new InMemoryUserRepository();
+    service = new UserService(new UserMapperImpl(), repository);
+    ids = new UUID[datasetSize];
+    emails = new String[datasetSize];
+    long stepNanos = BIRTH_DATE_SPAN.toNanos() / datasetSize;
+    for (int i = 0; i < datasetSize; i++) {
+      User user = buildUser(FIRST_BIRTH_DATE.plusNanos(stepNanos * i));
+      ids[i] = repository.createUser(user).getId();
+      emails[i] = user.getEmail().toUpperCase(Locale.ROOT);
+    }
+    rangeWidth = Duration.ofNanos((long) (BIRTH_DATE_SPAN.toNanos() * rangeSelectivity));
+  }
+
+  @Benchmark
+  public UserResponse createUser() {
+    return service.createUser(buildCreateRequest());
+  }
+
+  @Benchmark
+  public UserResponse getUser() {
+    return service.getUser(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+  }
+
+  @Benchmark
+  public UserResponse getUserByEmail() {
+    return service.getUserByEmail(emails[ThreadLocalRandom.current().nextInt(emails.length)]);
+  }
+
+  @Benchmark
+  public UserResponse updateUser() {
+    UUID id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    return service.updateUser(id, UserUpdateRequest.builder().firstName("Updated").build(), null);
+  }
+
+  @Benchmark
+  public UserPage getUsersByBirthDateRange() {
+    long offset =
+        ThreadLocalRandom.current().nextLong(BIRTH_DATE_SPAN.minus(rangeWidth).toNanos() + 1);
+    LocalDateTime from = FIRST_BIRTH_DATE.plusNanos(offset);
+    return service.getUsersByBirthDateRange(from, from.plus(rangeWidth), null, PAGE_LIMIT);
+  }
+
+  static UserCreateRequest buildCreateRequest() {
+    return UserCreateRequest.builder()
+        .firstName(" Bob ")
+        .lastName(" John ")
+        .email(" bobJohn" + EMAIL_SEQUENCE.incrementAndGet() + "@email.com ")
+        .birthDate(LocalDateTime.now().minusYears(30))
+        .address("Some Random Street, 12")
+        .phoneNumber("+380775553535")
+        .build();
+  }
+
+  static User buildUser(LocalDateTime birthDate) {
+    UUID id = UUID.randomUUID();
+    return User.builder()
+        .id(id)
+        .firstName("Bob")
+        .lastName("John")
+        .email(id + "@email.com")
+        .birthDate(birthDate)
+        .address("Some Random Street, 12")
+        .phoneNumber("+380775553535")
+        .build();
+  }
+}
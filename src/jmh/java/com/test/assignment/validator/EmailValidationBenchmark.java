@@ -0,0 +1,61 @@
+package com.test.assignment.validator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link EmailAddressMatcher} against the precompiled {@link UserRequestValidator#EMAIL_REGEX} on a
+ * typical address and on addresses of many short labels that only fail at the last char, which
+ * makes the regex walk back through every repetition. From about a thousand labels the regex
+ * overflows the stack instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EmailValidationBenchmark {
+  private static final Pattern EMAIL_PATTERN = Pattern.compile(UserRequestValidator.EMAIL_REGEX);
+
+  @Param({"typical", "labels10", "labels100", "labels500"})
+  public String input;
+
+  private String email;
+
+  @Setup
+  public void setUp() {
+    email =
+        switch (input) {
+          case "labels10" -> worstCase(10);
+          case "labels100" -> worstCase(100);
+          case "labels500" -> worstCase(500);
+          default -> "bob.john+news@mail.example.com";
+        };
+  }
+
+  @Benchmark
+  public boolean regex() {
+    return EMAIL_PATTERN.matcher(email).matches();
+  }
+
+  @Benchmark
+  public boolean matcher() {
+    return EmailAddressMatcher.matches(email);
+  }
+
+  private static String worstCase(int labels) {
+    return "a.".repeat(labels) + "a@" + "a.".repeat(labels) + "a1";
+  }
+}
@@ -0,0 +1,104 @@
+package com.test.assignment.validator;
+
+import com.test.assignment.domain.request.UserCreateRequest;
+import com.test.assignment.domain.request.UserUpdateRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link UserRequestValidator}, which accepts valid requests through {@link
+ * FastUserRequestValidator}, against calling Bean Validation directly as it did before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UserRequestValidatorBenchmark {
+
+  private ValidatorFactory factory;
+  private Validator beanValidator;
+  private UserRequestValidator validator;
+  private UserCreateRequest validCreateRequest;
+  private UserCreateRequest invalidCreateRequest;
+  private UserUpdateRequest validUpdateRequest;
+
+  @Setup
+  public void setUp() {
+    BirthDateCutoff cutoff = BirthDateCutoff.systemDefault();
+    factory = BirthDateConstraintValidatorFactory.buildValidatorFactory(cutoff);
+    beanValidator = factory.getValidator();
+    validator = new UserRequestValidator(beanValidator, cutoff, new SimpleMeterRegistry());
+    validCreateRequest =
+        UserCreateRequest.builder()
+            .firstName("Bob")
+            .lastName("John")
+            .email("bobJohn@email.com")
+            .birthDate(LocalDateTime.now().minusYears(30))
+            .address("Some Random Street, 12")
+            .phoneNumber("+380775553535")
+            .build();
+    invalidCreateRequest =
+        validCreateRequest.toBuilder()
+            .firstName("")
+            .email("bob@")
+            .birthDate(LocalDateTime.now().minusYears(10))
+            .build();
+    validUpdateRequest = UserUpdateRequest.builder().firstName("Bobby").build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    factory.close();
+  }
+
+  @Benchmark
+  public UserCreateRequest validateValidCreateRequest() {
+    validator.validate(validCreateRequest);
+    return validCreateRequest;
+  }
+
+  @Benchmark
+  public UserUpdateRequest validateValidUpdateRequest() {
+    validator.validate(validUpdateRequest);
+    return validUpdateRequest;
+  }
+
+  @Benchmark
+  public Object validateInvalidCreateRequest() {
+    try {
+      validator.validate(invalidCreateRequest);
+      return null;
+    } catch (ConstraintViolationException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<UserCreateRequest>> beanValidateValidCreateRequest() {
+    return beanValidator.validate(validCreateRequest);
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<UserUpdateRequest>> beanValidateValidUpdateRequest() {
+    return beanValidator.validate(validUpdateRequest);
+  }
+}
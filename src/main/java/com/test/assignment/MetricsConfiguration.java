@@ -0,0 +1,20 @@
+package com.test.assignment;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Times the public methods of beans annotated with {@code @Timed}: the service, the request
+ * validator and the mapper. Endpoints are timed by Spring as {@code http.server.requests} and the
+ * repository by {@link com.test.assignment.repository.MeteredUserRepository}.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+  @Bean
+  public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+    return new TimedAspect(meterRegistry);
+  }
+}
@@ -0,0 +1,10 @@
+package com.test.assignment.domain;
+
+/** How users are grouped when counted by birth date. */
+public enum BirthDateBucket {
+  DAY,
+  MONTH,
+  YEAR,
+  /** By age in whole years today, youngest first. */
+  AGE
+}
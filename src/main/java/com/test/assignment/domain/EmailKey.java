@@ -0,0 +1,14 @@
+package com.test.assignment.domain;
+
+import java.util.Locale;
+
+/** Normalized form of an email address under which it is unique among users. */
+public final class EmailKey {
+
+  private EmailKey() {}
+
+  /** Trims and lower-cases the whole address; returns null for a null email. */
+  public static String of(String email) {
+    return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+  }
+}
@@ -15,4 +15,5 @@ public class User {
   LocalDateTime birthDate;
   String address;
   String phoneNumber;
+  long version;
 }
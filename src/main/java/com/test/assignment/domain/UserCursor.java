@@ -0,0 +1,38 @@
+package com.test.assignment.domain;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/** Position of the last user of a page in (birthDate, id) order; the next page starts after it. */
+public record UserCursor(LocalDateTime birthDate, UUID id) {
+  private static final int ENCODED_BYTES = 4 * Long.BYTES;
+
+  public static UserCursor of(User user) {
+    return new UserCursor(user.getBirthDate(), user.getId());
+  }
+
+  public String encode() {
+    ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES);
+    buffer.putLong(birthDate.toLocalDate().toEpochDay());
+    buffer.putLong(birthDate.toLocalTime().toNanoOfDay());
+    buffer.putLong(id.getMostSignificantBits());
+    buffer.putLong(id.getLeastSignificantBits());
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+  }
+
+  public static UserCursor decode(String encoded) {
+    byte[] bytes = Base64.getUrlDecoder().decode(encoded);
+    if (bytes.length != ENCODED_BYTES) {
+      throw new IllegalArgumentException("Malformed cursor: " + encoded);
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    LocalDateTime birthDate =
+        LocalDateTime.of(
+            LocalDate.ofEpochDay(buffer.getLong()), LocalTime.ofNanoOfDay(buffer.getLong()));
+    return new UserCursor(birthDate, new UUID(buffer.getLong(), buffer.getLong()));
+  }
+}
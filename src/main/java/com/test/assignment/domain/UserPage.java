@@ -0,0 +1,5 @@
+package com.test.assignment.domain;
+
+import java.util.List;
+
+public record UserPage(List<User> users, UserCursor nextCursor) {}
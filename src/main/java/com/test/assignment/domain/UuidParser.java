@@ -0,0 +1,62 @@
+package com.test.assignment.domain;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Parses the canonical 36 character UUID form without throwing, so invalid input from a request is
+ * a null check instead of a caught exception. Unlike {@link UUID#fromString} shortened groups are
+ * not accepted.
+ */
+public final class UuidParser {
+  private static final int LENGTH = 36;
+  private static final byte[] HEX_VALUES = new byte[128];
+
+  static {
+    Arrays.fill(HEX_VALUES, (byte) -1);
+    for (int i = 0; i < 10; i++) {
+      HEX_VALUES['0' + i] = (byte) i;
+    }
+    for (int i = 0; i < 6; i++) {
+      HEX_VALUES['a' + i] = (byte) (10 + i);
+      HEX_VALUES['A' + i] = (byte) (10 + i);
+    }
+  }
+
+  private UuidParser() {}
+
+  /** Returns null when the value is not a canonical UUID. */
+  public static UUID parse(String value) {
+    if (value == null
+        || value.length() != LENGTH
+        || value.charAt(8) != '-'
+        || value.charAt(13) != '-'
+        || value.charAt(18) != '-'
+        || value.charAt(23) != '-') {
+      return null;
+    }
+    long timeLow = hex(value, 0, 8);
+    long timeMid = hex(value, 9, 13);
+    long timeHigh = hex(value, 14, 18);
+    long clockSequence = hex(value, 19, 23);
+    long node = hex(value, 24, 36);
+    if ((timeLow | timeMid | timeHigh | clockSequence | node) < 0) {
+      return null;
+    }
+    return new UUID(timeLow << 32 | timeMid << 16 | timeHigh, clockSequence << 48 | node);
+  }
+
+  /** At most 12 digits, so a valid result is never negative and -1 can signal a bad digit. */
+  private static long hex(String value, int from, int to) {
+    long result = 0;
+    for (int i = from; i < to; i++) {
+      char c = value.charAt(i);
+      int digit = c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+      if (digit < 0) {
+        return -1;
+      }
+      result = result << 4 | digit;
+    }
+    return result;
+  }
+}
@@ -0,0 +1,3 @@
+package com.test.assignment.domain.request;
+
+public record UserBatchItem<T>(String id, T user) {}
@@ -0,0 +1,23 @@
+package com.test.assignment.domain.request;
+
+import java.util.List;
+import lombok.Builder;
+
+@Builder(toBuilder = true)
+public record UserBatchRequest(
+    List<UserCreateRequest> create,
+    List<UserBatchItem<UserCreateRequest>> replace,
+    List<UserBatchItem<UserUpdateRequest>> update,
+    List<String> delete) {
+
+  public UserBatchRequest {
+    create = create == null ? List.of() : create;
+    replace = replace == null ? List.of() : replace;
+    update = update == null ? List.of() : update;
+    delete = delete == null ? List.of() : delete;
+  }
+
+  public int size() {
+    return create.size() + replace.size() + update.size() + delete.size();
+  }
+}
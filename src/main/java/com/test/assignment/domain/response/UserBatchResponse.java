@@ -0,0 +1,5 @@
+package com.test.assignment.domain.response;
+
+import java.util.List;
+
+public record UserBatchResponse(int succeeded, int failed, List<UserBatchResult> results) {}
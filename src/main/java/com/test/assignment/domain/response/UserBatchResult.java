@@ -0,0 +1,17 @@
+package com.test.assignment.domain.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserBatchResult(
+    Operation operation, int index, String id, int status, UserResponse user, String error) {
+
+  public enum Operation {
+    CREATE,
+    REPLACE,
+    UPDATE,
+    DELETE
+  }
+}
@@ -0,0 +1,10 @@
+package com.test.assignment.domain.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDate;
+import lombok.Builder;
+
+/** Users born from {@code from} to {@code to}, both included; {@code age} only for age buckets. */
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserCountResult(LocalDate from, LocalDate to, Integer age, long count) {}
@@ -17,4 +17,5 @@ public class UserResponse {
   LocalDateTime birthDate;
   String address;
   String phoneNumber;
+  long version;
 }
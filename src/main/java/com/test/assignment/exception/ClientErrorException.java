@@ -0,0 +1,13 @@
+package com.test.assignment.exception;
+
+/**
+ * An error caused by the request, answered with a 4xx status. It is expected under normal load,
+ * bad ids from crawlers included, so it is created without a stack trace or suppressed exceptions;
+ * the message alone identifies it.
+ */
+public abstract class ClientErrorException extends RuntimeException {
+
+  protected ClientErrorException(String message) {
+    super(message, null, false, false);
+  }
+}
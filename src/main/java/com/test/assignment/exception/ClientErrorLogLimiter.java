@@ -0,0 +1,40 @@
+package com.test.assignment.exception;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets through at most {@code permitsPerSecond} log lines about client errors per second, so a
+ * flood of bad requests costs a counter increment each instead of a log line. The first line after
+ * a suppressed period reports how many were skipped.
+ */
+public final class ClientErrorLogLimiter {
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  private final int permitsPerSecond;
+  private final AtomicLong second = new AtomicLong(System.nanoTime() / NANOS_PER_SECOND);
+  private final AtomicInteger used = new AtomicInteger();
+  private final LongAdder suppressed = new LongAdder();
+
+  public ClientErrorLogLimiter(int permitsPerSecond) {
+    this.permitsPerSecond = permitsPerSecond;
+  }
+
+  /**
+   * Returns the number of log lines suppressed since the last permitted one, or -1 when this one
+   * must be suppressed as well.
+   */
+  public long tryAcquire() {
+    long now = System.nanoTime() / NANOS_PER_SECOND;
+    long current = second.get();
+    if (now != current && second.compareAndSet(current, now)) {
+      used.set(0);
+    }
+    if (used.incrementAndGet() > permitsPerSecond) {
+      suppressed.increment();
+      return -1;
+    }
+    return suppressed.sumThenReset();
+  }
+}
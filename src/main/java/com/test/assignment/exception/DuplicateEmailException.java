@@ -0,0 +1,7 @@
+package com.test.assignment.exception;
+
+public class DuplicateEmailException extends ClientErrorException {
+  public DuplicateEmailException(String email) {
+    super("User already exists with email=" + email);
+  }
+}
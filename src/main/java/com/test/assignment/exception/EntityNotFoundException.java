@@ -2,7 +2,7 @@ package com.test.assignment.exception;
 
 import java.util.UUID;
 
-public class EntityNotFoundException extends RuntimeException {
+public class EntityNotFoundException extends ClientErrorException {
   public EntityNotFoundException(UUID id) {
     super("User not found by id=" + id);
   }
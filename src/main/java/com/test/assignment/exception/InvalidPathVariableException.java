@@ -1,6 +1,6 @@
 package com.test.assignment.exception;
 
-public class InvalidPathVariableException extends RuntimeException {
+public class InvalidPathVariableException extends ClientErrorException {
 
   public InvalidPathVariableException(String message) {
     super(message);
@@ -0,0 +1,19 @@
+package com.test.assignment.exception;
+
+import java.util.UUID;
+
+public class PreconditionFailedException extends ClientErrorException {
+  public PreconditionFailedException(UUID id, long expectedVersion, long actualVersion) {
+    super(
+        "User version does not match, id="
+            + id
+            + ", expected="
+            + expectedVersion
+            + ", actual="
+            + actualVersion);
+  }
+
+  public PreconditionFailedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,109 @@
+package com.test.assignment.repository;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Number of users per birth day, kept up to date from the changes reported to it, so the users born
+ * in any range of days are counted in O(log days) without reading them. Days from {@link
+ * #FIRST_DAY} on for about 180 years are held in a Fenwick tree of atomic counters, which
+ * concurrent changes update without locking; the rare days outside it are kept in a sorted map.
+ * The source is counted once, before any change is reported; after that every change is exactly
+ * one decrement and one increment, which commute, so changes of the same user reported out of
+ * order still add up.
+ */
+@Log4j2
+public class BirthDateHistogram implements UserChangeListener {
+  static final LocalDate FIRST_DAY = LocalDate.of(1900, 1, 1);
+  private static final int DAYS = 1 << 16;
+  private static final int COUNT_BATCH_SIZE = 10_000;
+
+  private final Counts counts;
+
+  public BirthDateHistogram(UserRepository source) {
+    this.counts = Counts.of(source);
+  }
+
+  /** Users born from the day of {@code from} to the day of {@code to}, both included. */
+  public long count(LocalDate from, LocalDate to) {
+    return from.isAfter(to) ? 0 : counts.count(from.toEpochDay(), to.toEpochDay());
+  }
+
+  @Override
+  public void onChange(User before, User after) {
+    if (before != null) {
+      counts.add(before.getBirthDate(), -1);
+    }
+    if (after != null) {
+      counts.add(after.getBirthDate(), 1);
+    }
+  }
+
+  private static final class Counts {
+    private static final long FIRST_EPOCH_DAY = FIRST_DAY.toEpochDay();
+
+    /** One-based: node {@code i} holds the days {@code (i - (i & -i), i]}. */
+    private final AtomicLongArray tree = new AtomicLongArray(DAYS + 1);
+
+    private final ConcurrentSkipListMap<Long, Long> outside = new ConcurrentSkipListMap<>();
+
+    static Counts of(UserRepository source) {
+      Counts counts = new Counts();
+      long users = 0;
+      UserCursor cursor = null;
+      List<User> batch;
+      do {
+        batch =
+            source.findUsersByBirthDateRange(
+                LocalDateTime.MIN, LocalDateTime.MAX, cursor, COUNT_BATCH_SIZE);
+        for (User user : batch) {
+          counts.add(user.getBirthDate(), 1);
+        }
+        users += batch.size();
+        cursor = batch.isEmpty() ? null : UserCursor.of(batch.get(batch.size() - 1));
+      } while (batch.size() == COUNT_BATCH_SIZE);
+      log.info("Birth date histogram built, users={}", users);
+      return counts;
+    }
+
+    void add(LocalDateTime birthDate, long delta) {
+      if (birthDate == null) {
+        return;
+      }
+      long day = birthDate.toLocalDate().toEpochDay();
+      long index = day - FIRST_EPOCH_DAY;
+      if (index < 0 || index >= DAYS) {
+        outside.merge(day, delta, (count, change) -> count + change == 0 ? null : count + change);
+        return;
+      }
+      for (int i = (int) index + 1; i <= DAYS; i += i & -i) {
+        tree.addAndGet(i, delta);
+      }
+    }
+
+    long count(long fromDay, long toDay) {
+      long first = Math.max(fromDay - FIRST_EPOCH_DAY, 0);
+      long last = Math.min(toDay - FIRST_EPOCH_DAY, DAYS - 1);
+      long count = first > last ? 0 : prefix((int) last) - prefix((int) first - 1);
+      for (long outsideCount : outside.subMap(fromDay, true, toDay, true).values()) {
+        count += outsideCount;
+      }
+      return count;
+    }
+
+    /** Users born on the days {@code 0..index} of the tree. */
+    private long prefix(int index) {
+      long sum = 0;
+      for (int i = index + 1; i > 0; i -= i & -i) {
+        sum += tree.get(i);
+      }
+      return sum;
+    }
+  }
+}
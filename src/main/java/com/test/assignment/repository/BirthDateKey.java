@@ -0,0 +1,30 @@
+package com.test.assignment.repository;
+
+import com.test.assignment.domain.User;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+
+record BirthDateKey(LocalDateTime birthDate, UUID id) implements Comparable<BirthDateKey> {
+  private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+  private static final UUID MAX_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+  private static final Comparator<BirthDateKey> ORDER =
+      Comparator.comparing(BirthDateKey::birthDate).thenComparing(BirthDateKey::id);
+
+  static BirthDateKey of(User user) {
+    return new BirthDateKey(user.getBirthDate(), user.getId());
+  }
+
+  static BirthDateKey lowest(LocalDateTime birthDate) {
+    return new BirthDateKey(birthDate, MIN_ID);
+  }
+
+  static BirthDateKey highest(LocalDateTime birthDate) {
+    return new BirthDateKey(birthDate, MAX_ID);
+  }
+
+  @Override
+  public int compareTo(BirthDateKey other) {
+    return ORDER.compare(this, other);
+  }
+}
@@ -0,0 +1,134 @@
+package com.test.assignment.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache of users by id in front of another {@link UserRepository}. Every change is
+ * written to the delegate first and then invalidates the cached entry; a concurrent load of the
+ * same id holds the entry until it finishes, so the invalidation cannot be overtaken by a stale
+ * value. Missing users are not cached; email, name and range queries always go to the delegate.
+ */
+public class CachingUserRepository implements UserRepository {
+
+  private final UserRepository delegate;
+  private final Cache<UUID, User> cache;
+
+  CachingUserRepository(UserRepository delegate, Cache<UUID, User> cache) {
+    this.delegate = delegate;
+    this.cache = cache;
+  }
+
+  /** Size bound evicts by W-TinyLFU; entries also expire a fixed time after they were loaded. */
+  public static CachingUserRepository create(
+      UserRepository delegate, long maximumSize, Duration expireAfterWrite) {
+    Cache<UUID, User> cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+    return new CachingUserRepository(delegate, cache);
+  }
+
+  Cache<UUID, User> cache() {
+    return cache;
+  }
+
+  @Override
+  public User createUser(User user) {
+    return delegate.createUser(user);
+  }
+
+  @Override
+  public User updateUser(UUID id, UnaryOperator<User> update) {
+    try {
+      return delegate.updateUser(id, update);
+    } finally {
+      cache.invalidate(id);
+    }
+  }
+
+  @Override
+  public User replaceUser(UUID id, User user) {
+    try {
+      return delegate.replaceUser(id, user);
+    } finally {
+      cache.invalidate(id);
+    }
+  }
+
+  @Override
+  public User deleteUser(UUID id) {
+    try {
+      return delegate.deleteUser(id);
+    } finally {
+      cache.invalidate(id);
+    }
+  }
+
+  @Override
+  public User findUserById(UUID id) {
+    return cache.get(id, delegate::findUserById);
+  }
+
+  @Override
+  public User findUserByEmail(String email) {
+    return delegate.findUserByEmail(email);
+  }
+
+  @Override
+  public List<User> searchUsersByName(String query, int limit) {
+    return delegate.searchUsersByName(query, limit);
+  }
+
+  @Override
+  public List<User> findUsersByBirthDateRange(LocalDateTime from, LocalDateTime to) {
+    return delegate.findUsersByBirthDateRange(from, to);
+  }
+
+  @Override
+  public List<User> findUsersByBirthDateRange(
+      LocalDateTime from, LocalDateTime to, UserCursor after, int limit) {
+    return delegate.findUsersByBirthDateRange(from, to, after, limit);
+  }
+
+  @Override
+  public List<UserWriteResult> createUsers(List<User> users) {
+    return delegate.createUsers(users);
+  }
+
+  @Override
+  public List<UserWriteResult> updateUsers(List<UUID> ids, List<UnaryOperator<User>> updates) {
+    try {
+      return delegate.updateUsers(ids, updates);
+    } finally {
+      cache.invalidateAll(ids);
+    }
+  }
+
+  @Override
+  public List<UserWriteResult> replaceUsers(List<User> users) {
+    try {
+      return delegate.replaceUsers(users);
+    } finally {
+      cache.invalidateAll(users.stream().map(User::getId).toList());
+    }
+  }
+
+  @Override
+  public List<User> deleteUsers(List<UUID> ids) {
+    try {
+      return delegate.deleteUsers(ids);
+    } finally {
+      cache.invalidateAll(ids);
+    }
+  }
+}
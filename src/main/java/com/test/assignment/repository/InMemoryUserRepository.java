@@ -0,0 +1,210 @@
+package com.test.assignment.repository;
+
+import com.test.assignment.domain.EmailKey;
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import com.test.assignment.exception.DuplicateEmailException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps users in a primary id map, a birth date index sorted by (birthDate, id), an email hash
+ * index and a {@link NameIndex}. All structures are only changed inside the per-id {@link
+ * ConcurrentMap#compute} of the primary map, so writes to different users do not share a lock while
+ * each user stays consistent across the maps. An email is claimed with an atomic put-if-absent on
+ * the email index, which makes concurrent writers of the same address race for it rather than both
+ * succeed. Every stored change gets the next version of the user, starting at 1 on create.
+ */
+public class InMemoryUserRepository implements UserRepository {
+
+  private final ConcurrentMap<UUID, User> users = new ConcurrentHashMap<>();
+  private final ConcurrentNavigableMap<BirthDateKey, User> birthDateIndex =
+      new ConcurrentSkipListMap<>();
+  private final ConcurrentMap<String, UUID> emailIndex = new ConcurrentHashMap<>();
+  private final NameIndex nameIndex = new NameIndex();
+
+  @Override
+  public User createUser(User user) {
+    Objects.requireNonNull(user.getBirthDate(), "birthDate");
+    User created = user.getVersion() == 1 ? user : user.toBuilder().version(1).build();
+    return users.compute(
+        created.getId(),
+        (id, existing) -> {
+          if (existing != null) {
+            throw new IllegalStateException("User already exists, id=" + id);
+          }
+          claimEmail(id, null, created);
+          birthDateIndex.put(BirthDateKey.of(created), created);
+          nameIndex.add(created);
+          return created;
+        });
+  }
+
+  /**
+   * Stores the user exactly as given, version included, whether it exists or not. The email is
+   * taken over from any other user, as a replayed log may briefly hold both.
+   */
+  public void restoreUser(User user) {
+    Objects.requireNonNull(user.getBirthDate(), "birthDate");
+    users.compute(
+        user.getId(),
+        (id, existing) -> {
+          if (existing != null) {
+            birthDateIndex.remove(BirthDateKey.of(existing));
+            releaseEmail(id, existing);
+            nameIndex.update(existing, user);
+          } else {
+            nameIndex.add(user);
+          }
+          String email = EmailKey.of(user.getEmail());
+          if (email != null) {
+            emailIndex.put(email, id);
+          }
+          birthDateIndex.put(BirthDateKey.of(user), user);
+          return user;
+        });
+  }
+
+  @Override
+  public User updateUser(UUID id, UnaryOperator<User> update) {
+    return store(id, update);
+  }
+
+  @Override
+  public User replaceUser(UUID id, User user) {
+    Objects.requireNonNull(user.getBirthDate(), "birthDate");
+    return store(id, existing -> user);
+  }
+
+  @Override
+  public User deleteUser(UUID id) {
+    User[] deleted = new User[1];
+    users.computeIfPresent(
+        id,
+        (key, existing) -> {
+          birthDateIndex.remove(BirthDateKey.of(existing));
+          releaseEmail(key, existing);
+          nameIndex.remove(existing);
+          deleted[0] = existing;
+          return null;
+        });
+    return deleted[0];
+  }
+
+  @Override
+  public User findUserById(UUID id) {
+    return users.get(id);
+  }
+
+  /** A user whose email is being changed is found by the new email once the change is stored. */
+  @Override
+  public User findUserByEmail(String email) {
+    String key = EmailKey.of(email);
+    UUID id = key == null ? null : emailIndex.get(key);
+    if (id == null) {
+      return null;
+    }
+    User user = users.get(id);
+    return user != null && key.equals(EmailKey.of(user.getEmail())) ? user : null;
+  }
+
+  @Override
+  public List<User> searchUsersByName(String query, int limit) {
+    return nameIndex.search(query, limit, users::get);
+  }
+
+  /**
+   * Range reads never lock. The index may briefly hold a moving user at both its old and new
+   * position, so only users still stored as read are kept: each user appears at most once, and one
+   * changed while the range is read may be left out.
+   */
+  @Override
+  public List<User> findUsersByBirthDateRange(LocalDateTime from, LocalDateTime to) {
+    List<User> range =
+        new ArrayList<>(
+            birthDateIndex
+                .subMap(BirthDateKey.lowest(from), true, BirthDateKey.highest(to), true)
+                .values());
+    range.removeIf(user -> users.get(user.getId()) != user);
+    return range;
+  }
+
+  @Override
+  public List<User> findUsersByBirthDateRange(
+      LocalDateTime from, LocalDateTime to, UserCursor after, int limit) {
+    BirthDateKey start = BirthDateKey.lowest(from);
+    boolean startInclusive = true;
+    if (after != null && !after.birthDate().isBefore(from)) {
+      start = new BirthDateKey(after.birthDate(), after.id());
+      startInclusive = false;
+    }
+    BirthDateKey end = BirthDateKey.highest(to);
+    if (start.compareTo(end) > 0) {
+      return new ArrayList<>();
+    }
+    List<User> page = new ArrayList<>(Math.min(limit, 1024));
+    Set<UUID> seen = new HashSet<>();
+    for (User user : birthDateIndex.subMap(start, startInclusive, end, true).values()) {
+      if (page.size() == limit) {
+        break;
+      }
+      if (users.get(user.getId()) == user && seen.add(user.getId())) {
+        page.add(user);
+      }
+    }
+    return page;
+  }
+
+  /** Visits every stored user once without going through the birth date index. */
+  public void forEachUser(Consumer<User> action) {
+    users.values().forEach(action);
+  }
+
+  private User store(UUID id, UnaryOperator<User> update) {
+    return users.computeIfPresent(
+        id,
+        (key, existing) -> {
+          User user = update.apply(existing);
+          Objects.requireNonNull(user.getBirthDate(), "birthDate");
+          User stored = user.toBuilder().id(key).version(existing.getVersion() + 1).build();
+          claimEmail(key, existing, stored);
+          birthDateIndex.remove(BirthDateKey.of(existing));
+          birthDateIndex.put(BirthDateKey.of(stored), stored);
+          nameIndex.update(existing, stored);
+          return stored;
+        });
+  }
+
+  /** Claims the email of {@code user} unless it is unchanged, then releases the previous one. */
+  private void claimEmail(UUID id, User existing, User user) {
+    String email = EmailKey.of(user.getEmail());
+    String previous = existing == null ? null : EmailKey.of(existing.getEmail());
+    if (email != null && !email.equals(previous)) {
+      UUID owner = emailIndex.putIfAbsent(email, id);
+      if (owner != null && !owner.equals(id)) {
+        throw new DuplicateEmailException(user.getEmail());
+      }
+    }
+    if (previous != null && !previous.equals(email)) {
+      emailIndex.remove(previous, id);
+    }
+  }
+
+  private void releaseEmail(UUID id, User existing) {
+    String email = EmailKey.of(existing.getEmail());
+    if (email != null) {
+      emailIndex.remove(email, id);
+    }
+  }
+}
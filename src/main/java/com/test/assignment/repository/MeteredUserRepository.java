@@ -0,0 +1,244 @@
+package com.test.assignment.repository;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Times every call to another {@link UserRepository} with a percentile histogram per method, counts
+ * lookups and writes that found no user, and records the sizes of birth date range results. The
+ * meters are registered up front, so a call costs two clock reads and the recording, without
+ * allocating.
+ */
+public class MeteredUserRepository implements UserRepository {
+  static final String CALLS = "user.repository.calls";
+  static final String NOT_FOUND = "user.repository.not.found";
+  static final String RANGE_SIZE = "user.repository.range.size";
+
+  private final UserRepository delegate;
+  private final Clock clock;
+  private final Timer create;
+  private final Timer update;
+  private final Timer replace;
+  private final Timer delete;
+  private final Timer findById;
+  private final Timer findByEmail;
+  private final Timer searchByName;
+  private final Timer findByRange;
+  private final Timer findPageByRange;
+  private final Timer createBatch;
+  private final Timer updateBatch;
+  private final Timer replaceBatch;
+  private final Timer deleteBatch;
+  private final Counter updateNotFound;
+  private final Counter replaceNotFound;
+  private final Counter deleteNotFound;
+  private final Counter findByIdNotFound;
+  private final Counter findByEmailNotFound;
+  private final DistributionSummary rangeSize;
+  private final DistributionSummary pageSize;
+
+  public MeteredUserRepository(UserRepository delegate, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.clock = registry.config().clock();
+    create = timer(registry, "createUser");
+    update = timer(registry, "updateUser");
+    replace = timer(registry, "replaceUser");
+    delete = timer(registry, "deleteUser");
+    findById = timer(registry, "findUserById");
+    findByEmail = timer(registry, "findUserByEmail");
+    searchByName = timer(registry, "searchUsersByName");
+    findByRange = timer(registry, "findUsersByBirthDateRange");
+    findPageByRange = timer(registry, "findUsersByBirthDateRangePage");
+    createBatch = timer(registry, "createUsers");
+    updateBatch = timer(registry, "updateUsers");
+    replaceBatch = timer(registry, "replaceUsers");
+    deleteBatch = timer(registry, "deleteUsers");
+    updateNotFound = notFound(registry, "updateUser");
+    replaceNotFound = notFound(registry, "replaceUser");
+    deleteNotFound = notFound(registry, "deleteUser");
+    findByIdNotFound = notFound(registry, "findUserById");
+    findByEmailNotFound = notFound(registry, "findUserByEmail");
+    rangeSize = rangeSize(registry, "findUsersByBirthDateRange");
+    pageSize = rangeSize(registry, "findUsersByBirthDateRangePage");
+  }
+
+  @Override
+  public User createUser(User user) {
+    long start = clock.monotonicTime();
+    try {
+      return delegate.createUser(user);
+    } finally {
+      record(create, start);
+    }
+  }
+
+  @Override
+  public User updateUser(UUID id, UnaryOperator<User> update) {
+    long start = clock.monotonicTime();
+    try {
+      return countMissing(delegate.updateUser(id, update), updateNotFound);
+    } finally {
+      record(this.update, start);
+    }
+  }
+
+  @Override
+  public User replaceUser(UUID id, User user) {
+    long start = clock.monotonicTime();
+    try {
+      return countMissing(delegate.replaceUser(id, user), replaceNotFound);
+    } finally {
+      record(replace, start);
+    }
+  }
+
+  @Override
+  public User deleteUser(UUID id) {
+    long start = clock.monotonicTime();
+    try {
+      return countMissing(delegate.deleteUser(id), deleteNotFound);
+    } finally {
+      record(delete, start);
+    }
+  }
+
+  @Override
+  public User findUserById(UUID id) {
+    long start = clock.monotonicTime();
+    try {
+      return countMissing(delegate.findUserById(id), findByIdNotFound);
+    } finally {
+      record(findById, start);
+    }
+  }
+
+  @Override
+  public User findUserByEmail(String email) {
+    long start = clock.monotonicTime();
+    try {
+      return countMissing(delegate.findUserByEmail(email), findByEmailNotFound);
+    } finally {
+      record(findByEmail, start);
+    }
+  }
+
+  @Override
+  public List<User> searchUsersByName(String query, int limit) {
+    long start = clock.monotonicTime();
+    try {
+      return delegate.searchUsersByName(query, limit);
+    } finally {
+      record(searchByName, start);
+    }
+  }
+
+  @Override
+  public List<User> findUsersByBirthDateRange(LocalDateTime from, LocalDateTime to) {
+    long start = clock.monotonicTime();
+    try {
+      List<User> users = delegate.findUsersByBirthDateRange(from, to);
+      rangeSize.record(users.size());
+      return users;
+    } finally {
+      record(findByRange, start);
+    }
+  }
+
+  @Override
+  public List<User> findUsersByBirthDateRange(
+      LocalDateTime from, LocalDateTime to, UserCursor after, int limit) {
+    long start = clock.monotonicTime();
+    try {
+      List<User> users = delegate.findUsersByBirthDateRange(from, to, after, limit);
+      pageSize.record(users.size());
+      return users;
+    } finally {
+      record(findPageByRange, start);
+    }
+  }
+
+  @Override
+  public List<UserWriteResult> createUsers(List<User> users) {
+    long start = clock.monotonicTime();
+    try {
+      return delegate.createUsers(users);
+    } finally {
+      record(createBatch, start);
+    }
+  }
+
+  @Override
+  public List<UserWriteResult> updateUsers(List<UUID> ids, List<UnaryOperator<User>> updates) {
+    long start = clock.monotonicTime();
+    try {
+      return delegate.updateUsers(ids, updates);
+    } finally {
+      record(updateBatch, start);
+    }
+  }
+
+  @Override
+  public List<UserWriteResult> replaceUsers(List<User> users) {
+    long start = clock.monotonicTime();
+    try {
+      return delegate.replaceUsers(users);
+    } finally {
+      record(replaceBatch, start);
+    }
+  }
+
+  @Override
+  public List<User> deleteUsers(List<UUID> ids) {
+    long start = clock.monotonicTime();
+    try {
+      return delegate.deleteUsers(ids);
+    } finally {
+      record(deleteBatch, start);
+    }
+  }
+
+  private void record(Timer timer, long start) {
+    timer.record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+  }
+
+  private static User countMissing(User user, Counter notFound) {
+    if (user == null) {
+      notFound.increment();
+    }
+    return user;
+  }
+
+  private static Timer timer(MeterRegistry registry, String method) {
+    return Timer.builder(CALLS)
+        .description("Calls to the user repository")
+        .tag("method", method)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  private static Counter notFound(MeterRegistry registry, String method) {
+    return Counter.builder(NOT_FOUND)
+        .description("Repository calls that found no user")
+        .tag("method", method)
+        .register(registry);
+  }
+
+  private static DistributionSummary rangeSize(MeterRegistry registry, String method) {
+    return DistributionSummary.builder(RANGE_SIZE)
+        .description("Users returned by a birth date range query")
+        .baseUnit("users")
+        .tag("method", method)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+}
@@ -0,0 +1,196 @@
+package com.test.assignment.repository;
+
+import com.test.assignment.domain.User;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Trigram inverted index over the words of first and last names for prefix and fuzzy search. Words
+ * are lower-cased and padded with two leading blanks, so the leading trigrams of a query word find
+ * every name that starts with it, while a typo still leaves most trigrams in common. The ids of a
+ * trigram are a concurrent set that is kept once created, so writers of different users only meet
+ * in the hash bins of that set and never block a search; a search that sees a change half applied
+ * ranks the user as currently stored.
+ */
+public class NameIndex {
+  /** Share of the query trigrams a name needs to be a fuzzy match. */
+  static final double MIN_SIMILARITY = 0.5;
+
+  private static final Comparator<Match> RANKING =
+      Comparator.comparingInt(Match::rank)
+          .thenComparing(Comparator.comparingDouble(Match::similarity).reversed())
+          .thenComparing(match -> match.user().getId());
+
+  private final ConcurrentMap<String, Set<UUID>> postings = new ConcurrentHashMap<>();
+
+  public void add(User user) {
+    trigrams(user).forEach(trigram -> post(trigram, user.getId()));
+  }
+
+  public void remove(User user) {
+    trigrams(user).forEach(trigram -> unpost(trigram, user.getId()));
+  }
+
+  /** Adds the new trigrams before removing old ones, so the user stays findable by either name. */
+  public void update(User previous, User current) {
+    Set<String> before = trigrams(previous);
+    Set<String> after = trigrams(current);
+    for (String trigram : after) {
+      if (!before.contains(trigram)) {
+        post(trigram, current.getId());
+      }
+    }
+    for (String trigram : before) {
+      if (!after.contains(trigram)) {
+        unpost(trigram, previous.getId());
+      }
+    }
+  }
+
+  /**
+   * Returns at most {@code limit} users: exact word matches first, then names starting with every
+   * query word, then by trigram similarity. {@code lookup} resolves the current user of an id, or
+   * null once it was deleted.
+   */
+  public List<User> search(String query, int limit, Function<UUID, User> lookup) {
+    return search(
+        query,
+        limit,
+        (String trigram, Consumer<UUID> hit) -> {
+          Set<UUID> ids = postings.get(trigram);
+          if (ids != null) {
+            ids.forEach(hit);
+          }
+        },
+        lookup);
+  }
+
+  /**
+   * Ranks like {@link #search(String, int, Function)} over postings kept elsewhere: {@code
+   * postings} passes every key posted under a trigram to the consumer, and {@code lookup} resolves
+   * a key to its current user, or null.
+   */
+  public static <K> List<User> search(
+      String query,
+      int limit,
+      BiConsumer<String, Consumer<K>> postings,
+      Function<K, User> lookup) {
+    List<String> words = words(query);
+    if (words.isEmpty()) {
+      return List.of();
+    }
+    Set<String> queryTrigrams = new HashSet<>();
+    words.forEach(word -> addTrigrams(word, false, queryTrigrams));
+
+    Map<K, Integer> hits = new HashMap<>();
+    for (String trigram : queryTrigrams) {
+      postings.accept(trigram, key -> hits.merge(key, 1, Integer::sum));
+    }
+
+    int required = (int) Math.ceil(queryTrigrams.size() * MIN_SIMILARITY);
+    List<Match> matches = new ArrayList<>();
+    hits.forEach(
+        (key, count) -> {
+          if (count >= required) {
+            User user = lookup.apply(key);
+            Match match = user == null ? null : Match.of(user, words, queryTrigrams);
+            if (match != null) {
+              matches.add(match);
+            }
+          }
+        });
+    matches.sort(RANKING);
+    return matches.stream().limit(limit).map(Match::user).toList();
+  }
+
+  /** Sets are never dropped when empty, so an id added to one cannot get lost with it. */
+  private void post(String trigram, UUID id) {
+    Set<UUID> ids = postings.get(trigram);
+    if (ids == null) {
+      ids = postings.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet());
+    }
+    ids.add(id);
+  }
+
+  private void unpost(String trigram, UUID id) {
+    Set<UUID> ids = postings.get(trigram);
+    if (ids != null) {
+      ids.remove(id);
+    }
+  }
+
+  /** The trigrams a user is posted under. */
+  public static Set<String> trigrams(User user) {
+    Set<String> trigrams = new HashSet<>();
+    for (String word : words(user)) {
+      addTrigrams(word, true, trigrams);
+    }
+    return trigrams;
+  }
+
+  /** Only whole words get the trailing blank; a query word may be the start of a longer one. */
+  private static void addTrigrams(String word, boolean whole, Set<String> trigrams) {
+    String padded = "  " + word + (whole ? " " : "");
+    for (int i = 0; i + 3 <= padded.length(); i++) {
+      trigrams.add(padded.substring(i, i + 3));
+    }
+  }
+
+  private static List<String> words(User user) {
+    List<String> words = new ArrayList<>(words(user.getFirstName()));
+    words.addAll(words(user.getLastName()));
+    return words;
+  }
+
+  static List<String> words(String text) {
+    List<String> words = new ArrayList<>();
+    if (text == null) {
+      return words;
+    }
+    String lowerCase = text.toLowerCase(Locale.ROOT);
+    int start = -1;
+    for (int i = 0; i <= lowerCase.length(); i++) {
+      boolean wordChar = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+      if (wordChar && start < 0) {
+        start = i;
+      } else if (!wordChar && start >= 0) {
+        words.add(lowerCase.substring(start, i));
+        start = -1;
+      }
+    }
+    return words;
+  }
+
+  /** Rank 0 when every query word is a name word, 1 when each starts one, 2 for fuzzy matches. */
+  private record Match(User user, int rank, double similarity) {
+
+    static Match of(User user, List<String> queryWords, Set<String> queryTrigrams) {
+      List<String> nameWords = words(user);
+      boolean exact = true;
+      boolean prefix = true;
+      for (String queryWord : queryWords) {
+        exact &= nameWords.contains(queryWord);
+        prefix &= nameWords.stream().anyMatch(word -> word.startsWith(queryWord));
+      }
+      Set<String> nameTrigrams = trigrams(user);
+      long shared = queryTrigrams.stream().filter(nameTrigrams::contains).count();
+      double similarity = (double) shared / queryTrigrams.size();
+      if (!prefix && similarity < MIN_SIMILARITY) {
+        return null;
+      }
+      return new Match(user, exact ? 0 : prefix ? 1 : 2, similarity);
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package com.test.assignment.repository;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Reports every change made through another {@link UserRepository} to the {@link
+ * UserChangeListener}s with the user before and after it. The user before is the stored user the
+ * change was applied to, captured inside the delegate's atomic write, so a replace is stored as an
+ * update that ignores it. Concurrent writes of the same user are reported as the chain of states
+ * they stored.
+ */
+public class NotifyingUserRepository implements UserRepository {
+
+  private final UserRepository delegate;
+  private final List<UserChangeListener> listeners;
+
+  public NotifyingUserRepository(UserRepository delegate, List<UserChangeListener> listeners) {
+    this.delegate = delegate;
+    this.listeners = List.copyOf(listeners);
+  }
+
+  @Override
+  public User createUser(User user) {
+    User created = delegate.createUser(user);
+    notify(null, created);
+    return created;
+  }
+
+  @Override
+  public User updateUser(UUID id, UnaryOperator<User> update) {
+    User[] before = new User[1];
+    User updated = delegate.updateUser(id, capturing(update, before, 0));
+    if (updated != null) {
+      notify(before[0], updated);
+    }
+    return updated;
+  }
+
+  @Override
+  public User replaceUser(UUID id, User user) {
+    return updateUser(id, existing -> user);
+  }
+
+  @Override
+  public User deleteUser(UUID id) {
+    User deleted = delegate.deleteUser(id);
+    if (deleted != null) {
+      notify(deleted, null);
+    }
+    return deleted;
+  }
+
+  @Override
+  public User findUserById(UUID id) {
+    return delegate.findUserById(id);
+  }
+
+  @Override
+  public User findUserByEmail(String email) {
+    return delegate.findUserByEmail(email);
+  }
+
+  @Override
+  public List<User> searchUsersByName(String query, int limit) {
+    return delegate.searchUsersByName(query, limit);
+  }
+
+  @Override
+  public List<User> findUsersByBirthDateRange(LocalDateTime from, LocalDateTime to) {
+    return delegate.findUsersByBirthDateRange(from, to);
+  }
+
+  @Override
+  public List<User> findUsersByBirthDateRange(
+      LocalDateTime from, LocalDateTime to, UserCursor after, int limit) {
+    return delegate.findUsersByBirthDateRange(from, to, after, limit);
+  }
+
+  @Override
+  public List<UserWriteResult> createUsers(List<User> users) {
+    List<UserWriteResult> results = delegate.createUsers(users);
+    for (UserWriteResult result : results) {
+      if (result.user() != null) {
+        notify(null, result.user());
+      }
+    }
+    return results;
+  }
+
+  @Override
+  public List<UserWriteResult> updateUsers(List<UUID> ids, List<UnaryOperator<User>> updates) {
+    User[] before = new User[ids.size()];
+    List<UserWriteResult> results =
+        delegate.updateUsers(
+            ids,
+            IntStream.range(0, updates.size())
+                .mapToObj(i -> capturing(updates.get(i), before, i))
+                .toList());
+    for (int i = 0; i < results.size(); i++) {
+      if (results.get(i).user() != null) {
+        notify(before[i], results.get(i).user());
+      }
+    }
+    return results;
+  }
+
+  @Override
+  public List<UserWriteResult> replaceUsers(List<User> users) {
+    return updateUsers(
+        users.stream().map(User::getId).toList(),
+        users.stream().<UnaryOperator<User>>map(user -> existing -> user).toList());
+  }
+
+  @Override
+  public List<User> deleteUsers(List<UUID> ids) {
+    List<User> deleted = delegate.deleteUsers(ids);
+    for (User user : deleted) {
+      if (user != null) {
+        notify(user, null);
+      }
+    }
+    return deleted;
+  }
+
+  private void notify(User before, User after) {
+    for (UserChangeListener listener : listeners) {
+      listener.onChange(before, after);
+    }
+  }
+
+  /** The update may be applied more than once when the write is retried; the last call counts. */
+  private static UnaryOperator<User> capturing(
+      UnaryOperator<User> update, User[] before, int index) {
+    return existing -> {
+      before[index] = existing;
+      return update.apply(existing);
+    };
+  }
+}
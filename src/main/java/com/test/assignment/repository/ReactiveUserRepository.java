@@ -0,0 +1,42 @@
+package com.test.assignment.repository;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link UserRepository} with the same semantics. Where the blocking
+ * contract returns null the publishers complete empty, and its exceptions become error signals.
+ */
+public interface ReactiveUserRepository {
+
+  Mono<User> createUser(User user);
+
+  /** See {@link UserRepository#updateUser}; empty when the user does not exist. */
+  Mono<User> updateUser(UUID id, UnaryOperator<User> update);
+
+  /** Empty when the user does not exist. */
+  Mono<User> replaceUser(UUID id, User user);
+
+  /** Emits the deleted user, empty when it did not exist. */
+  Mono<User> deleteUser(UUID id);
+
+  Mono<User> findUserById(UUID id);
+
+  Mono<User> findUserByEmail(String email);
+
+  /** See {@link UserRepository#searchUsersByName}. */
+  Mono<List<User>> searchUsersByName(String query, int limit);
+
+  /** Emits the users of the range in (birthDate, id) order, reading the next batch on demand. */
+  Flux<User> findUsersByBirthDateRange(LocalDateTime from, LocalDateTime to);
+
+  /** Emits one page of the range, starting right after {@code after} when it is not null. */
+  Mono<List<User>> findUsersByBirthDateRange(
+      LocalDateTime from, LocalDateTime to, UserCursor after, int limit);
+}
@@ -0,0 +1,88 @@
+package com.test.assignment.repository;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.function.UnaryOperator;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Exposes a {@link UserRepository} as a {@link ReactiveUserRepository}. Every call runs on {@code
+ * scheduler}, which keeps backends that wait on disk off the event loop; a backend that never
+ * blocks can use the immediate scheduler and run on the subscribing thread.
+ */
+@RequiredArgsConstructor
+public class ReactiveUserRepositoryAdapter implements ReactiveUserRepository {
+  static final int RANGE_BATCH_SIZE = 500;
+
+  private final UserRepository repository;
+  private final Scheduler scheduler;
+
+  @Override
+  public Mono<User> createUser(User user) {
+    return call(() -> repository.createUser(user));
+  }
+
+  @Override
+  public Mono<User> updateUser(UUID id, UnaryOperator<User> update) {
+    return call(() -> repository.updateUser(id, update));
+  }
+
+  @Override
+  public Mono<User> replaceUser(UUID id, User user) {
+    return call(() -> repository.replaceUser(id, user));
+  }
+
+  @Override
+  public Mono<User> deleteUser(UUID id) {
+    return call(() -> repository.deleteUser(id));
+  }
+
+  @Override
+  public Mono<User> findUserById(UUID id) {
+    return call(() -> repository.findUserById(id));
+  }
+
+  @Override
+  public Mono<User> findUserByEmail(String email) {
+    return call(() -> repository.findUserByEmail(email));
+  }
+
+  @Override
+  public Mono<List<User>> searchUsersByName(String query, int limit) {
+    return call(() -> repository.searchUsersByName(query, limit));
+  }
+
+  /** A batch is only read once the previous one was requested, so slow subscribers hold one. */
+  @Override
+  public Flux<User> findUsersByBirthDateRange(LocalDateTime from, LocalDateTime to) {
+    return batch(from, to, null)
+        .expand(
+            batch ->
+                batch.size() < RANGE_BATCH_SIZE
+                    ? Mono.empty()
+                    : batch(from, to, UserCursor.of(batch.get(batch.size() - 1))))
+        .concatMapIterable(batch -> batch);
+  }
+
+  @Override
+  public Mono<List<User>> findUsersByBirthDateRange(
+      LocalDateTime from, LocalDateTime to, UserCursor after, int limit) {
+    return call(() -> repository.findUsersByBirthDateRange(from, to, after, limit));
+  }
+
+  private Mono<List<User>> batch(LocalDateTime from, LocalDateTime to, UserCursor after) {
+    return call(() -> repository.findUsersByBirthDateRange(from, to, after, RANGE_BATCH_SIZE));
+  }
+
+  /** A null result completes empty. */
+  private <T> Mono<T> call(Callable<T> call) {
+    return Mono.fromCallable(call).subscribeOn(scheduler);
+  }
+}
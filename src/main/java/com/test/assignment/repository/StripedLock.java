@@ -0,0 +1,24 @@
+package com.test.assignment.repository;
+
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+public final class StripedLock {
+  private final Lock[] stripes;
+  private final int mask;
+
+  public StripedLock(int minStripes) {
+    int size = Integer.highestOneBit(Math.max(1, minStripes - 1)) << 1;
+    this.stripes = new Lock[size];
+    this.mask = size - 1;
+    for (int i = 0; i < size; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+  }
+
+  public Lock forId(UUID id) {
+    int hash = id.hashCode();
+    return stripes[(hash ^ (hash >>> 16)) & mask];
+  }
+}
@@ -0,0 +1,10 @@
+package com.test.assignment.repository;
+
+import com.test.assignment.domain.User;
+
+/** Told about every stored change by {@link NotifyingUserRepository}, after it is stored. */
+public interface UserChangeListener {
+
+  /** The user before and after the change; null on the side where the user did not exist. */
+  void onChange(User before, User after);
+}
@@ -1,23 +1,80 @@
 package com.test.assignment.repository;
 
+import com.test.assignment.domain.EmailKey;
 import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import com.test.assignment.exception.DuplicateEmailException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
 import org.springframework.stereotype.Repository;
 
+/**
+ * Emails are unique among users regardless of case, see {@link EmailKey}. Writes that would store
+ * an email already used by another user throw {@link DuplicateEmailException}.
+ */
 @Repository
 public interface UserRepository {
 
   User createUser(User user);
 
-  User updateUser(UUID id, User user);
+  /**
+   * Atomically applies {@code update} to the stored user and stores the result. Returns null,
+   * without calling {@code update}, when the user does not exist. The function may run while the
+   * user is locked, so it should only compute the new state.
+   */
+  User updateUser(UUID id, UnaryOperator<User> update);
 
+  /** Returns null when the user does not exist. */
   User replaceUser(UUID id, User user);
 
-  void deleteUser(UUID id);
+  /** Returns the deleted user, or null when it did not exist. */
+  User deleteUser(UUID id);
 
   User findUserById(UUID id);
 
+  /** Looks the user up by normalized email; null when no user has it. */
+  User findUserByEmail(String email);
+
+  /** Prefix and fuzzy search over first and last names with the best matches first. */
+  List<User> searchUsersByName(String query, int limit);
+
   List<User> findUsersByBirthDateRange(LocalDateTime from, LocalDateTime to);
+
+  /**
+   * Returns at most {@code limit} users of the range in (birthDate, id) order, starting right after
+   * {@code after}, or at the start of the range when it is null.
+   */
+  List<User> findUsersByBirthDateRange(
+      LocalDateTime from, LocalDateTime to, UserCursor after, int limit);
+
+  /**
+   * Batch variants apply every user in order and return one result per input. Implementations
+   * override them where a batch can share work, such as a single durable commit. A duplicate email
+   * fails only its own item.
+   */
+  default List<UserWriteResult> createUsers(List<User> users) {
+    return users.stream().map(user -> UserWriteResult.attempt(() -> createUser(user))).toList();
+  }
+
+  /** Applies the update at the same position to each id; no user where it does not exist. */
+  default List<UserWriteResult> updateUsers(List<UUID> ids, List<UnaryOperator<User>> updates) {
+    return IntStream.range(0, ids.size())
+        .mapToObj(i -> UserWriteResult.attempt(() -> updateUser(ids.get(i), updates.get(i))))
+        .toList();
+  }
+
+  /** Returns no user at the positions of users that do not exist. */
+  default List<UserWriteResult> replaceUsers(List<User> users) {
+    return users.stream()
+        .map(user -> UserWriteResult.attempt(() -> replaceUser(user.getId(), user)))
+        .toList();
+  }
+
+  /** Returns the deleted users, null at the positions of ids that did not exist. */
+  default List<User> deleteUsers(List<UUID> ids) {
+    return ids.stream().map(this::deleteUser).toList();
+  }
 }
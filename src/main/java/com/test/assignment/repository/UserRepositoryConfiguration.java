@@ -0,0 +1,115 @@
+package com.test.assignment.repository;
+
+import com.test.assignment.repository.mapped.MappedUserRepository;
+import com.test.assignment.repository.wal.WalUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class UserRepositoryConfiguration {
+  public static final String BACKEND = "userRepositoryBackend";
+
+  @Bean
+  @Qualifier(BACKEND)
+  @ConditionalOnProperty(name = "repository.type", havingValue = "memory", matchIfMissing = true)
+  public InMemoryUserRepository inMemoryUserRepository() {
+    return new InMemoryUserRepository();
+  }
+
+  @Bean(destroyMethod = "close")
+  @Qualifier(BACKEND)
+  @ConditionalOnProperty(name = "repository.type", havingValue = "wal")
+  public WalUserRepository walUserRepository(
+      @Value("${repository.wal.directory}") Path directory,
+      @Value("${repository.wal.groupCommitWindowMillis}") long groupCommitWindowMillis,
+      @Value("${repository.wal.snapshotAfterRecords}") long snapshotAfterRecords)
+      throws IOException {
+    return WalUserRepository.open(
+        directory, Duration.ofMillis(groupCommitWindowMillis), snapshotAfterRecords);
+  }
+
+  /** Down for good once the write-ahead log failed, the repository then rejects every call. */
+  @Bean
+  @ConditionalOnProperty(name = "repository.type", havingValue = "wal")
+  public HealthIndicator userWriteAheadLogHealthIndicator(WalUserRepository repository) {
+    return () -> {
+      IOException failure = repository.failure();
+      return failure == null ? Health.up().build() : Health.down(failure).build();
+    };
+  }
+
+  @Bean(destroyMethod = "close")
+  @Qualifier(BACKEND)
+  @ConditionalOnProperty(name = "repository.type", havingValue = "mapped")
+  public MappedUserRepository mappedUserRepository(
+      @Value("${repository.mapped.directory}") Path directory,
+      @Value("${repository.mapped.segmentSizeMegabytes}") int segmentSizeMegabytes)
+      throws IOException {
+    return MappedUserRepository.open(directory, segmentSizeMegabytes << 20);
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "repository.cache.enabled", havingValue = "true")
+  public CachingUserRepository cachingUserRepository(
+      @Qualifier(BACKEND) UserRepository backend,
+      MeterRegistry meterRegistry,
+      @Value("${repository.cache.maximumSize}") long maximumSize,
+      @Value("${repository.cache.expireAfterWriteSeconds}") long expireAfterWriteSeconds) {
+    CachingUserRepository repository =
+        CachingUserRepository.create(
+            backend, maximumSize, Duration.ofSeconds(expireAfterWriteSeconds));
+    CaffeineCacheMetrics.monitor(meterRegistry, repository.cache(), "users");
+    return repository;
+  }
+
+  /** Counted from the backend once, then kept up to date as a {@link UserChangeListener}. */
+  @Bean
+  public BirthDateHistogram birthDateHistogram(@Qualifier(BACKEND) UserRepository backend) {
+    return new BirthDateHistogram(backend);
+  }
+
+  /**
+   * The repository the application uses: the cache when it is enabled, else the backend, and in
+   * front of it the notification of any {@link UserChangeListener} beans.
+   */
+  @Bean
+  @Primary
+  public MeteredUserRepository meteredUserRepository(
+      @Qualifier(BACKEND) UserRepository backend,
+      ObjectProvider<CachingUserRepository> cachingUserRepository,
+      ObjectProvider<UserChangeListener> changeListeners,
+      MeterRegistry meterRegistry) {
+    UserRepository repository = cachingUserRepository.getIfAvailable(() -> backend);
+    List<UserChangeListener> listeners = changeListeners.orderedStream().toList();
+    if (!listeners.isEmpty()) {
+      repository = new NotifyingUserRepository(repository, listeners);
+    }
+    return new MeteredUserRepository(repository, meterRegistry);
+  }
+
+  /** Only the in-memory backend never waits on disk, so only it runs on the event loop. */
+  @Bean
+  @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+  public ReactiveUserRepository reactiveUserRepository(
+      UserRepository repository, @Value("${repository.type:memory}") String type) {
+    Scheduler scheduler =
+        type.equals("memory") ? Schedulers.immediate() : Schedulers.boundedElastic();
+    return new ReactiveUserRepositoryAdapter(repository, scheduler);
+  }
+}
@@ -0,0 +1,20 @@
+package com.test.assignment.repository;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.exception.DuplicateEmailException;
+import java.util.function.Supplier;
+
+/**
+ * Outcome of one item of a batch write: the stored user, a conflict that kept it from being stored,
+ * or neither when the user to change does not exist.
+ */
+public record UserWriteResult(User user, DuplicateEmailException conflict) {
+
+  public static UserWriteResult attempt(Supplier<User> write) {
+    try {
+      return new UserWriteResult(write.get(), null);
+    } catch (DuplicateEmailException e) {
+      return new UserWriteResult(null, e);
+    }
+  }
+}
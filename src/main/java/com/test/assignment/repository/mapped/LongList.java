@@ -0,0 +1,45 @@
+package com.test.assignment.repository.mapped;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+final class LongList {
+  private long[] values = new long[4];
+  private int size;
+
+  int size() {
+    return size;
+  }
+
+  long get(int index) {
+    return values[index];
+  }
+
+  void add(long value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, size + (size >> 1));
+    }
+    values[size++] = value;
+  }
+
+  boolean remove(long value) {
+    for (int i = 0; i < size; i++) {
+      if (values[i] == value) {
+        values[i] = values[--size];
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Keeps the order of the values that stay. */
+  void removeIf(LongPredicate filter) {
+    int kept = 0;
+    for (int i = 0; i < size; i++) {
+      if (!filter.test(values[i])) {
+        values[kept++] = values[i];
+      }
+    }
+    size = kept;
+  }
+}
@@ -0,0 +1,305 @@
+package com.test.assignment.repository.mapped;
+
+import com.test.assignment.domain.EmailKey;
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import com.test.assignment.exception.DuplicateEmailException;
+import com.test.assignment.repository.UserRepository;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * {@link UserRepository} that keeps user data off-heap in a {@link UserRecordStore} and only builds
+ * {@link User} objects on read. The heap holds a primitive id index, per-day buckets of record
+ * positions for birth date range scans, a primitive index from email hashes to record positions
+ * and trigram postings of record positions for name search. Changes append a new record and mark
+ * the old one deleted; {@link UserRecordStore} reclaims that space when the store is opened with
+ * more dead than live bytes, so a long-running instance grows with its update traffic until the
+ * next restart. Writers take one lock because they append to the same segment, so this backend
+ * trades write concurrency for heap footprint.
+ */
+@Log4j2
+public class MappedUserRepository implements UserRepository, Closeable {
+  private static final Comparator<User> BIRTH_DATE_ORDER =
+      Comparator.comparing(User::getBirthDate).thenComparing(User::getId);
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final UserRecordStore store;
+  private final UserIdIndex idIndex = new UserIdIndex(1024);
+  private final NavigableMap<Long, LongList> birthDayIndex = new TreeMap<>();
+  private final UserEmailIndex emailIndex = new UserEmailIndex(1024);
+  private final UserNameIndex nameIndex;
+
+  private MappedUserRepository(Path directory, int segmentSize) {
+    this.store = new UserRecordStore(directory, segmentSize);
+    this.nameIndex = new UserNameIndex(store::live);
+  }
+
+  public static MappedUserRepository open(Path directory, int segmentSize) throws IOException {
+    MappedUserRepository repository = new MappedUserRepository(directory, segmentSize);
+    repository.store.open(repository::recover);
+    log.info("Mapped user store opened, users={}", repository.idIndex.size());
+    return repository;
+  }
+
+  @Override
+  public User createUser(User user) {
+    lock.writeLock().lock();
+    try {
+      if (idIndex.get(user.getId()) != UserIdIndex.ABSENT) {
+        throw new IllegalStateException("User already exists, id=" + user.getId());
+      }
+      User created = user.getVersion() == 1 ? user : user.toBuilder().version(1).build();
+      requireFreeEmail(created);
+      long position = store.append(created);
+      index(position);
+      indexEmail(created, position);
+      nameIndex.add(created, position);
+      return created;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public User updateUser(UUID id, UnaryOperator<User> update) {
+    return write(id, update);
+  }
+
+  @Override
+  public User replaceUser(UUID id, User user) {
+    return write(id, existing -> user);
+  }
+
+  @Override
+  public User deleteUser(UUID id) {
+    lock.writeLock().lock();
+    try {
+      long position = idIndex.remove(id);
+      if (position == UserIdIndex.ABSENT) {
+        return null;
+      }
+      User deleted = store.read(position);
+      unindexEmail(deleted, position);
+      unindexBirthDay(position);
+      store.markDeleted(position);
+      nameIndex.remove(deleted);
+      return deleted;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public User findUserById(UUID id) {
+    lock.readLock().lock();
+    try {
+      long position = idIndex.get(id);
+      return position == UserIdIndex.ABSENT ? null : store.read(position);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public User findUserByEmail(String email) {
+    String key = EmailKey.of(email);
+    if (key == null) {
+      return null;
+    }
+    lock.readLock().lock();
+    try {
+      long position = findEmail(key);
+      return position == UserEmailIndex.ABSENT ? null : store.read(position);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<User> searchUsersByName(String query, int limit) {
+    lock.readLock().lock();
+    try {
+      return nameIndex.search(query, limit, store::read);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<User> findUsersByBirthDateRange(LocalDateTime from, LocalDateTime to) {
+    List<User> users = new ArrayList<>();
+    lock.readLock().lock();
+    try {
+      long fromDay = from.toLocalDate().toEpochDay();
+      long toDay = to.toLocalDate().toEpochDay();
+      for (LongList positions : birthDayIndex.subMap(fromDay, true, toDay, true).values()) {
+        for (int i = 0; i < positions.size(); i++) {
+          long position = positions.get(i);
+          LocalDateTime birthDate = store.birthDate(position);
+          if (!birthDate.isBefore(from) && !birthDate.isAfter(to)) {
+            users.add(store.read(position));
+          }
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    users.sort(BIRTH_DATE_ORDER);
+    return users;
+  }
+
+  /**
+   * Walks whole day buckets from the cursor's day on, so a page costs the same however deep it is:
+   * only the buckets that contribute to the page are read and sorted.
+   */
+  @Override
+  public List<User> findUsersByBirthDateRange(
+      LocalDateTime from, LocalDateTime to, UserCursor after, int limit) {
+    UserCursor start = after != null && !after.birthDate().isBefore(from) ? after : null;
+    List<User> page = new ArrayList<>(Math.min(limit, 1024));
+    lock.readLock().lock();
+    try {
+      long fromDay = (start == null ? from : start.birthDate()).toLocalDate().toEpochDay();
+      long toDay = to.toLocalDate().toEpochDay();
+      if (fromDay > toDay) {
+        return page;
+      }
+      for (LongList positions : birthDayIndex.subMap(fromDay, true, toDay, true).values()) {
+        List<User> day = new ArrayList<>(positions.size());
+        for (int i = 0; i < positions.size(); i++) {
+          long position = positions.get(i);
+          LocalDateTime birthDate = store.birthDate(position);
+          if (birthDate.isBefore(from) || birthDate.isAfter(to)) {
+            continue;
+          }
+          if (start != null && compare(birthDate, store.id(position), start) <= 0) {
+            continue;
+          }
+          day.add(store.read(position));
+        }
+        day.sort(BIRTH_DATE_ORDER);
+        for (User user : day) {
+          if (page.size() == limit) {
+            return page;
+          }
+          page.add(user);
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    return page;
+  }
+
+  @Override
+  public void close() {
+    lock.writeLock().lock();
+    try {
+      store.close();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private User write(UUID id, UnaryOperator<User> update) {
+    lock.writeLock().lock();
+    try {
+      long previous = idIndex.get(id);
+      if (previous == UserIdIndex.ABSENT) {
+        return null;
+      }
+      User existing = store.read(previous);
+      User user = update.apply(existing);
+      User stored = user.toBuilder().id(id).version(existing.getVersion() + 1).build();
+      requireFreeEmail(stored);
+      long position = store.append(stored);
+      unindexBirthDay(previous);
+      store.markDeleted(previous);
+      index(position);
+      unindexEmail(existing, previous);
+      indexEmail(stored, position);
+      nameIndex.remove(existing);
+      nameIndex.add(stored, position);
+      return stored;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void index(long position) {
+    idIndex.put(store.id(position), position);
+    birthDayIndex.computeIfAbsent(store.epochDay(position), day -> new LongList()).add(position);
+  }
+
+  private void requireFreeEmail(User user) {
+    String key = EmailKey.of(user.getEmail());
+    long owner = key == null ? UserEmailIndex.ABSENT : findEmail(key);
+    if (owner != UserEmailIndex.ABSENT && !store.id(owner).equals(user.getId())) {
+      throw new DuplicateEmailException(user.getEmail());
+    }
+  }
+
+  private long findEmail(String key) {
+    return emailIndex.find(
+        key.hashCode(), position -> key.equals(EmailKey.of(store.email(position))));
+  }
+
+  private void indexEmail(User user, long position) {
+    if (user.getEmail() != null) {
+      emailIndex.add(EmailKey.of(user.getEmail()).hashCode(), position);
+    }
+  }
+
+  private void unindexEmail(User user, long position) {
+    if (user.getEmail() != null) {
+      emailIndex.remove(EmailKey.of(user.getEmail()).hashCode(), position);
+    }
+  }
+
+  private static int compare(LocalDateTime birthDate, UUID id, UserCursor cursor) {
+    int byBirthDate = birthDate.compareTo(cursor.birthDate());
+    return byBirthDate != 0 ? byBirthDate : id.compareTo(cursor.id());
+  }
+
+  /** A crash between appending a new version and marking the old one leaves both live. */
+  private void recover(long position) {
+    long previous = idIndex.get(store.id(position));
+    User user = store.read(position);
+    if (previous != UserIdIndex.ABSENT) {
+      User replaced = store.read(previous);
+      unindexEmail(replaced, previous);
+      unindexBirthDay(previous);
+      store.markDeleted(previous);
+      nameIndex.remove(replaced);
+    }
+    index(position);
+    indexEmail(user, position);
+    nameIndex.add(user, position);
+  }
+
+  private void unindexBirthDay(long position) {
+    long day = store.epochDay(position);
+    LongList positions = birthDayIndex.get(day);
+    if (positions != null && positions.remove(position) && positions.size() == 0) {
+      birthDayIndex.remove(day);
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.test.assignment.repository.mapped;
+
+import java.util.function.LongPredicate;
+
+/**
+ * Open-addressing hash table from the hash of a normalized email to the position of the record
+ * holding it, in one primitive array each. The email itself stays in the record, so a lookup checks
+ * every position of a matching hash against it; an entry costs about twenty bytes instead of a map
+ * node with a key string and an id.
+ */
+final class UserEmailIndex {
+  static final long ABSENT = -1;
+  private static final long EMPTY = 0;
+  private static final double MAX_LOAD = 0.6;
+
+  private int[] hashes;
+  private long[] positions;
+  private int mask;
+  private int size;
+
+  UserEmailIndex(int expectedSize) {
+    allocate(Integer.highestOneBit(Math.max(16, (int) (expectedSize / MAX_LOAD)) - 1) << 1);
+  }
+
+  /** The first position of {@code hash} that {@code holdsEmail} accepts. */
+  long find(int hash, LongPredicate holdsEmail) {
+    for (int slot = home(hash); positions[slot] != EMPTY; slot = (slot + 1) & mask) {
+      if (hashes[slot] == hash && holdsEmail.test(positions[slot] - 1)) {
+        return positions[slot] - 1;
+      }
+    }
+    return ABSENT;
+  }
+
+  void add(int hash, long position) {
+    if (size + 1 > positions.length * MAX_LOAD) {
+      resize();
+    }
+    insert(hash, position + 1);
+    size++;
+  }
+
+  boolean remove(int hash, long position) {
+    int slot = home(hash);
+    while (positions[slot] != position + 1) {
+      if (positions[slot] == EMPTY) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+    // backward-shift deletion keeps probe sequences intact without tombstones
+    int hole = slot;
+    int next = hole;
+    while (true) {
+      next = (next + 1) & mask;
+      if (positions[next] == EMPTY) {
+        break;
+      }
+      int home = home(hashes[next]);
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        hashes[hole] = hashes[next];
+        positions[hole] = positions[next];
+        hole = next;
+      }
+    }
+    positions[hole] = EMPTY;
+    size--;
+    return true;
+  }
+
+  private void insert(int hash, long storedPosition) {
+    int slot = home(hash);
+    while (positions[slot] != EMPTY) {
+      slot = (slot + 1) & mask;
+    }
+    hashes[slot] = hash;
+    positions[slot] = storedPosition;
+  }
+
+  private void resize() {
+    int[] oldHashes = hashes;
+    long[] oldPositions = positions;
+    allocate(oldPositions.length << 1);
+    for (int i = 0; i < oldPositions.length; i++) {
+      if (oldPositions[i] != EMPTY) {
+        insert(oldHashes[i], oldPositions[i]);
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    hashes = new int[capacity];
+    positions = new long[capacity];
+    mask = capacity - 1;
+  }
+
+  private int home(int hash) {
+    long mixed = hash * 0xff51afd7ed558ccdL;
+    mixed ^= mixed >>> 33;
+    return (int) mixed & mask;
+  }
+}
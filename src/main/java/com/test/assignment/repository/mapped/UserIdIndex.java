@@ -0,0 +1,124 @@
+package com.test.assignment.repository.mapped;
+
+import java.util.UUID;
+
+/**
+ * Open-addressing hash table from user id to record position that stores everything in three
+ * primitive arrays, so an entry costs a few dozen bytes instead of a map node with boxed values.
+ */
+final class UserIdIndex {
+  static final long ABSENT = -1;
+  private static final long EMPTY = 0;
+  private static final double MAX_LOAD = 0.6;
+
+  private long[] mostSigBits;
+  private long[] leastSigBits;
+  private long[] positions;
+  private int mask;
+  private int size;
+
+  UserIdIndex(int expectedSize) {
+    allocate(Integer.highestOneBit(Math.max(16, (int) (expectedSize / MAX_LOAD)) - 1) << 1);
+  }
+
+  int size() {
+    return size;
+  }
+
+  long get(UUID id) {
+    int slot = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    return slot < 0 ? ABSENT : positions[slot] - 1;
+  }
+
+  long put(UUID id, long position) {
+    long msb = id.getMostSignificantBits();
+    long lsb = id.getLeastSignificantBits();
+    int slot = find(msb, lsb);
+    if (slot >= 0) {
+      long previous = positions[slot] - 1;
+      positions[slot] = position + 1;
+      return previous;
+    }
+    if (size + 1 > positions.length * MAX_LOAD) {
+      resize();
+    }
+    insert(msb, lsb, position + 1);
+    size++;
+    return ABSENT;
+  }
+
+  long remove(UUID id) {
+    int slot = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    if (slot < 0) {
+      return ABSENT;
+    }
+    long previous = positions[slot] - 1;
+    // backward-shift deletion keeps probe sequences intact without tombstones
+    int hole = slot;
+    int next = hole;
+    while (true) {
+      next = (next + 1) & mask;
+      if (positions[next] == EMPTY) {
+        break;
+      }
+      int home = home(mostSigBits[next], leastSigBits[next]);
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        mostSigBits[hole] = mostSigBits[next];
+        leastSigBits[hole] = leastSigBits[next];
+        positions[hole] = positions[next];
+        hole = next;
+      }
+    }
+    positions[hole] = EMPTY;
+    size--;
+    return previous;
+  }
+
+  private int find(long msb, long lsb) {
+    int slot = home(msb, lsb);
+    while (positions[slot] != EMPTY) {
+      if (mostSigBits[slot] == msb && leastSigBits[slot] == lsb) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private void insert(long msb, long lsb, long storedPosition) {
+    int slot = home(msb, lsb);
+    while (positions[slot] != EMPTY) {
+      slot = (slot + 1) & mask;
+    }
+    mostSigBits[slot] = msb;
+    leastSigBits[slot] = lsb;
+    positions[slot] = storedPosition;
+  }
+
+  private void resize() {
+    long[] oldMostSigBits = mostSigBits;
+    long[] oldLeastSigBits = leastSigBits;
+    long[] oldPositions = positions;
+    allocate(oldPositions.length << 1);
+    for (int i = 0; i < oldPositions.length; i++) {
+      if (oldPositions[i] != EMPTY) {
+        insert(oldMostSigBits[i], oldLeastSigBits[i], oldPositions[i]);
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    mostSigBits = new long[capacity];
+    leastSigBits = new long[capacity];
+    positions = new long[capacity];
+    mask = capacity - 1;
+  }
+
+  private int home(long msb, long lsb) {
+    long hash = msb ^ lsb;
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    return (int) hash & mask;
+  }
+}
@@ -0,0 +1,66 @@
+package com.test.assignment.repository.mapped;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.repository.NameIndex;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+
+/**
+ * Trigram postings of record positions searched and ranked like a {@link NameIndex}, with one
+ * primitive list per trigram instead of a set of ids, so a user costs about eight bytes per
+ * trigram. Positions of deleted records stay in their lists, skipped by searches, until they are
+ * half of a list, which is then compacted. Callers hold the repository lock, writers exclusively.
+ */
+final class UserNameIndex {
+  private final Map<String, Postings> postings = new HashMap<>();
+  private final LongPredicate live;
+
+  UserNameIndex(LongPredicate live) {
+    this.live = live;
+  }
+
+  void add(User user, long position) {
+    for (String trigram : NameIndex.trigrams(user)) {
+      postings.computeIfAbsent(trigram, key -> new Postings()).positions.add(position);
+    }
+  }
+
+  /** Called once the record of {@code user} is marked deleted. */
+  void remove(User user) {
+    for (String trigram : NameIndex.trigrams(user)) {
+      Postings trigramPostings = postings.get(trigram);
+      if (trigramPostings != null
+          && ++trigramPostings.deleted * 2 > trigramPostings.positions.size()) {
+        trigramPostings.positions.removeIf(position -> !live.test(position));
+        trigramPostings.deleted = 0;
+        if (trigramPostings.positions.size() == 0) {
+          postings.remove(trigram);
+        }
+      }
+    }
+  }
+
+  List<User> search(String query, int limit, LongFunction<User> read) {
+    return NameIndex.search(
+        query,
+        limit,
+        (String trigram, Consumer<Long> hit) -> {
+          Postings trigramPostings = postings.get(trigram);
+          if (trigramPostings != null) {
+            for (int i = 0; i < trigramPostings.positions.size(); i++) {
+              hit.accept(trigramPostings.positions.get(i));
+            }
+          }
+        },
+        (Long position) -> live.test(position) ? read.apply(position) : null);
+  }
+
+  private static final class Postings {
+    private final LongList positions = new LongList();
+    private int deleted;
+  }
+}
@@ -0,0 +1,335 @@
+package com.test.assignment.repository.mapped;
+
+import com.test.assignment.domain.User;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Append-only user records in memory-mapped segment files. A record is laid out as
+ *
+ * <pre>
+ * int length | byte state | long idMsb | long idLsb | long epochDay | long nanoOfDay |
+ * long version | 5 x (int byteLength | UTF-8 bytes) for firstName, lastName, email, address,
+ * phoneNumber
+ * </pre>
+ *
+ * A null string has byteLength -1. The length is written last, after a zero length behind the
+ * record, so a record that was only partially written before a crash ends the segment on the next
+ * scan, and so does the last record written over one. Positions are global: segment index
+ * times segment size plus the offset inside the segment.
+ *
+ * <p>Changed and deleted records stay in place until the store is opened with more dead bytes than
+ * live ones and than a segment. The live records are then copied into a sibling directory that
+ * replaces the store by two renames; a crash at any point leaves either the old or the compacted
+ * store to be picked up by the next open.
+ */
+@Log4j2
+final class UserRecordStore implements Closeable {
+  private static final String SEGMENT_PREFIX = "users-";
+  private static final String SEGMENT_SUFFIX = ".dat";
+  private static final byte LIVE = 1;
+  private static final byte DELETED = 2;
+  private static final int STATE_OFFSET = 4;
+  private static final int ID_OFFSET = 5;
+  private static final int BIRTH_DATE_OFFSET = 21;
+  private static final int VERSION_OFFSET = 37;
+  private static final int STRINGS_OFFSET = 45;
+  private static final int STRING_COUNT = 5;
+  private static final int EMAIL_STRING = 2;
+  private static final String COMPACTED_SUFFIX = ".compacted";
+  private static final String REPLACED_SUFFIX = ".replaced";
+
+  private final Path directory;
+  private final int segmentSize;
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+  private int writeOffset;
+
+  UserRecordStore(Path directory, int segmentSize) {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+  }
+
+  /**
+   * Maps the existing segments, compacting them first when most of their bytes are dead, and
+   * reports the position of every live record.
+   */
+  void open(LongConsumer liveRecords) throws IOException {
+    finishCompaction();
+    Files.createDirectories(directory);
+    mapSegments();
+    long[] liveBytes = {0};
+    long usedBytes = scan(position -> liveBytes[0] += segment(position).getInt(offset(position)));
+    if (usedBytes - liveBytes[0] > Math.max(liveBytes[0], segmentSize)) {
+      compact();
+      log.info(
+          "Compacted mapped user store, liveBytes={}, reclaimedBytes={}",
+          liveBytes[0],
+          usedBytes - liveBytes[0]);
+    }
+    scan(liveRecords::accept);
+  }
+
+  long append(User user) throws IOException {
+    byte[][] strings = {
+      utf8(user.getFirstName()),
+      utf8(user.getLastName()),
+      utf8(user.getEmail()),
+      utf8(user.getAddress()),
+      utf8(user.getPhoneNumber())
+    };
+    int length = STRINGS_OFFSET + STRING_COUNT * Integer.BYTES;
+    for (byte[] string : strings) {
+      length += string == null ? 0 : string.length;
+    }
+    if (length + Integer.BYTES > segmentSize) {
+      throw new IllegalArgumentException("User record does not fit a segment, id=" + user.getId());
+    }
+
+    int offset = reserve(length);
+    MappedByteBuffer segment = segments.get(segments.size() - 1);
+    segment.put(offset + STATE_OFFSET, LIVE);
+    segment.putLong(offset + ID_OFFSET, user.getId().getMostSignificantBits());
+    segment.putLong(offset + ID_OFFSET + Long.BYTES, user.getId().getLeastSignificantBits());
+    segment.putLong(offset + BIRTH_DATE_OFFSET, user.getBirthDate().toLocalDate().toEpochDay());
+    segment.putLong(
+        offset + BIRTH_DATE_OFFSET + Long.BYTES, user.getBirthDate().toLocalTime().toNanoOfDay());
+    segment.putLong(offset + VERSION_OFFSET, user.getVersion());
+    int cursor = offset + STRINGS_OFFSET;
+    for (byte[] string : strings) {
+      segment.putInt(cursor, string == null ? -1 : string.length);
+      cursor += Integer.BYTES;
+      if (string != null) {
+        segment.put(cursor, string);
+        cursor += string.length;
+      }
+    }
+    return complete(offset, length);
+  }
+
+  void markDeleted(long position) {
+    segment(position).put(offset(position) + STATE_OFFSET, DELETED);
+  }
+
+  boolean live(long position) {
+    return segment(position).get(offset(position) + STATE_OFFSET) == LIVE;
+  }
+
+  long epochDay(long position) {
+    return segment(position).getLong(offset(position) + BIRTH_DATE_OFFSET);
+  }
+
+  LocalDateTime birthDate(long position) {
+    MappedByteBuffer segment = segment(position);
+    int offset = offset(position) + BIRTH_DATE_OFFSET;
+    return LocalDateTime.of(
+        LocalDate.ofEpochDay(segment.getLong(offset)),
+        LocalTime.ofNanoOfDay(segment.getLong(offset + Long.BYTES)));
+  }
+
+  UUID id(long position) {
+    MappedByteBuffer segment = segment(position);
+    int offset = offset(position) + ID_OFFSET;
+    return new UUID(segment.getLong(offset), segment.getLong(offset + Long.BYTES));
+  }
+
+  /** Decodes only the email, skipping the strings before it. */
+  String email(long position) {
+    MappedByteBuffer segment = segment(position);
+    int cursor = offset(position) + STRINGS_OFFSET;
+    for (int i = 0; i < EMAIL_STRING; i++) {
+      cursor += Integer.BYTES + Math.max(segment.getInt(cursor), 0);
+    }
+    int length = segment.getInt(cursor);
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    segment.get(cursor + Integer.BYTES, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  User read(long position) {
+    MappedByteBuffer segment = segment(position);
+    String[] strings = new String[STRING_COUNT];
+    int cursor = offset(position) + STRINGS_OFFSET;
+    for (int i = 0; i < STRING_COUNT; i++) {
+      int length = segment.getInt(cursor);
+      cursor += Integer.BYTES;
+      if (length >= 0) {
+        byte[] bytes = new byte[length];
+        segment.get(cursor, bytes);
+        strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        cursor += length;
+      }
+    }
+    return User.builder()
+        .id(id(position))
+        .birthDate(birthDate(position))
+        .firstName(strings[0])
+        .lastName(strings[1])
+        .email(strings[2])
+        .address(strings[3])
+        .phoneNumber(strings[4])
+        .version(segment.getLong(offset(position) + VERSION_OFFSET))
+        .build();
+  }
+
+  @Override
+  public void close() {
+    segments.forEach(MappedByteBuffer::force);
+  }
+
+  /** The offset in the last segment where a record of {@code length} bytes is to be written. */
+  private int reserve(int length) throws IOException {
+    // keep room for a zero length terminator after the last record of a segment
+    if (writeOffset + length + Integer.BYTES > segmentSize) {
+      segments.add(map(segments.size()));
+      writeOffset = 0;
+    }
+    return writeOffset;
+  }
+
+  private long complete(int offset, int length) {
+    MappedByteBuffer segment = segments.get(segments.size() - 1);
+    // a torn longer record may have left bytes here that would read as the next length
+    segment.putInt(offset + length, 0);
+    segment.putInt(offset, length);
+    writeOffset += length;
+    return position(segments.size() - 1, offset);
+  }
+
+  private void copy(MappedByteBuffer source, int sourceOffset) throws IOException {
+    int length = source.getInt(sourceOffset);
+    int offset = reserve(length);
+    segments
+        .get(segments.size() - 1)
+        .put(offset + STATE_OFFSET, source, sourceOffset + STATE_OFFSET, length - STATE_OFFSET);
+    complete(offset, length);
+  }
+
+  private void mapSegments() throws IOException {
+    for (int index = 0; Files.exists(segmentPath(index)); index++) {
+      segments.add(map(index));
+    }
+    if (segments.isEmpty()) {
+      segments.add(map(0));
+    }
+  }
+
+  /** Visits every live record and returns the bytes taken by all records, live or dead. */
+  private long scan(RecordVisitor liveRecords) throws IOException {
+    long usedBytes = 0;
+    for (int index = 0; index < segments.size(); index++) {
+      MappedByteBuffer segment = segments.get(index);
+      int offset = 0;
+      while (offset + STRINGS_OFFSET <= segmentSize) {
+        int length = segment.getInt(offset);
+        if (length <= 0 || offset + length > segmentSize) {
+          break;
+        }
+        if (segment.get(offset + STATE_OFFSET) == LIVE) {
+          liveRecords.visit(position(index, offset));
+        }
+        offset += length;
+      }
+      usedBytes += offset;
+      writeOffset = offset;
+    }
+    return usedBytes;
+  }
+
+  private void compact() throws IOException {
+    Path compacted = sibling(COMPACTED_SUFFIX);
+    try (UserRecordStore target = new UserRecordStore(compacted, segmentSize)) {
+      Files.createDirectories(compacted);
+      target.mapSegments();
+      scan(position -> target.copy(segment(position), offset(position)));
+    }
+    Path replaced = sibling(REPLACED_SUFFIX);
+    Files.move(directory, replaced, StandardCopyOption.ATOMIC_MOVE);
+    Files.move(compacted, directory, StandardCopyOption.ATOMIC_MOVE);
+    deleteDirectory(replaced);
+    segments.clear();
+    mapSegments();
+  }
+
+  /** Completes the renames of a compaction that was written in full, or drops one that was not. */
+  private void finishCompaction() throws IOException {
+    Path replaced = sibling(REPLACED_SUFFIX);
+    if (Files.exists(replaced)) {
+      if (!Files.exists(directory)) {
+        Files.move(sibling(COMPACTED_SUFFIX), directory, StandardCopyOption.ATOMIC_MOVE);
+      }
+      deleteDirectory(replaced);
+    }
+    deleteDirectory(sibling(COMPACTED_SUFFIX));
+  }
+
+  private Path sibling(String suffix) {
+    return directory.resolveSibling(directory.getFileName() + suffix);
+  }
+
+  private static void deleteDirectory(Path path) throws IOException {
+    if (!Files.exists(path)) {
+      return;
+    }
+    try (Stream<Path> files = Files.walk(path)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  private MappedByteBuffer segment(long position) {
+    return segments.get((int) (position / segmentSize));
+  }
+
+  private int offset(long position) {
+    return (int) (position % segmentSize);
+  }
+
+  private long position(int segmentIndex, int offset) {
+    return (long) segmentIndex * segmentSize + offset;
+  }
+
+  private MappedByteBuffer map(int index) throws IOException {
+    try (FileChannel channel =
+        FileChannel.open(
+            segmentPath(index),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+  }
+
+  private Path segmentPath(int index) {
+    return directory.resolve(SEGMENT_PREFIX + "%05d".formatted(index) + SEGMENT_SUFFIX);
+  }
+
+  private static byte[] utf8(String value) {
+    return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @FunctionalInterface
+  private interface RecordVisitor {
+    void visit(long position) throws IOException;
+  }
+}
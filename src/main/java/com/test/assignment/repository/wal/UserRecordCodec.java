@@ -0,0 +1,111 @@
+package com.test.assignment.repository.wal;
+
+import com.test.assignment.domain.User;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+final class UserRecordCodec {
+
+  enum Operation {
+    CREATE,
+    UPDATE,
+    REPLACE,
+    DELETE
+  }
+
+  record LogRecord(Operation operation, UUID id, User user) {}
+
+  private UserRecordCodec() {}
+
+  static byte[] encode(Operation operation, User user) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(operation.ordinal());
+      writeId(out, user.getId());
+      writeUser(out, user);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  static byte[] encodeDelete(UUID id) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(17);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(Operation.DELETE.ordinal());
+      writeId(out, id);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  static LogRecord decode(byte[] payload) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+    Operation operation = Operation.values()[in.readUnsignedByte()];
+    UUID id = new UUID(in.readLong(), in.readLong());
+    User user = operation == Operation.DELETE ? null : readUser(in, id);
+    return new LogRecord(operation, id, user);
+  }
+
+  private static void writeId(DataOutputStream out, UUID id) throws IOException {
+    out.writeLong(id.getMostSignificantBits());
+    out.writeLong(id.getLeastSignificantBits());
+  }
+
+  private static void writeUser(DataOutputStream out, User user) throws IOException {
+    out.writeLong(user.getVersion());
+    out.writeLong(user.getBirthDate().toLocalDate().toEpochDay());
+    out.writeLong(user.getBirthDate().toLocalTime().toNanoOfDay());
+    writeString(out, user.getFirstName());
+    writeString(out, user.getLastName());
+    writeString(out, user.getEmail());
+    writeString(out, user.getAddress());
+    writeString(out, user.getPhoneNumber());
+  }
+
+  private static User readUser(DataInputStream in, UUID id) throws IOException {
+    long version = in.readLong();
+    LocalDateTime birthDate =
+        LocalDateTime.of(LocalDate.ofEpochDay(in.readLong()), LocalTime.ofNanoOfDay(in.readLong()));
+    return User.builder()
+        .id(id)
+        .birthDate(birthDate)
+        .firstName(readString(in))
+        .lastName(readString(in))
+        .email(readString(in))
+        .address(readString(in))
+        .phoneNumber(readString(in))
+        .version(version)
+        .build();
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
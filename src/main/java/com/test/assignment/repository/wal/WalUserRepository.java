@@ -0,0 +1,398 @@
+package com.test.assignment.repository.wal;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import com.test.assignment.exception.DuplicateEmailException;
+import com.test.assignment.repository.InMemoryUserRepository;
+import com.test.assignment.repository.StripedLock;
+import com.test.assignment.repository.UserRepository;
+import com.test.assignment.repository.UserWriteResult;
+import com.test.assignment.repository.wal.UserRecordCodec.LogRecord;
+import com.test.assignment.repository.wal.UserRecordCodec.Operation;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Durable {@link UserRepository}: users are served from an {@link InMemoryUserRepository} and every
+ * change is appended to a {@link WriteAheadLog} before the call returns. The log is compacted into
+ * a snapshot after a configurable number of records, which bounds how much is replayed on startup.
+ *
+ * <p>A change is applied to memory before it is durable, so once the log fails memory may hold
+ * changes a restart will not see. From then on every call, reads included, throws and {@link
+ * #failure()} reports the error until the repository is reopened from disk.
+ */
+@Log4j2
+public class WalUserRepository implements UserRepository, Closeable {
+  private static final String SNAPSHOT_PREFIX = "snapshot-";
+  private static final String SNAPSHOT_SUFFIX = ".snap";
+  private static final long NOT_LOGGED = 0;
+
+  private final InMemoryUserRepository state = new InMemoryUserRepository();
+  private final StripedLock locks = new StripedLock(1024);
+  private final AtomicLong recordsSinceSnapshot = new AtomicLong();
+  private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+  private final ExecutorService snapshotExecutor =
+      Executors.newSingleThreadExecutor(r -> new Thread(r, "user-wal-snapshot"));
+  private final Path directory;
+  private final long snapshotAfterRecords;
+  private final WriteAheadLog writeAheadLog;
+
+  private WalUserRepository(Path directory, Duration groupCommitWindow, long snapshotAfterRecords)
+      throws IOException {
+    this.directory = directory;
+    this.snapshotAfterRecords = snapshotAfterRecords;
+    this.writeAheadLog = new WriteAheadLog(directory, recover() + 1, groupCommitWindow);
+    if (recordsSinceSnapshot.get() >= snapshotAfterRecords) {
+      scheduleSnapshot();
+    }
+  }
+
+  public static WalUserRepository open(
+      Path directory, Duration groupCommitWindow, long snapshotAfterRecords) throws IOException {
+    Files.createDirectories(directory);
+    return new WalUserRepository(directory, groupCommitWindow, snapshotAfterRecords);
+  }
+
+  @Override
+  public User createUser(User user) {
+    Logged logged = logCreate(user);
+    commit(logged.sequence(), 1);
+    return logged.user();
+  }
+
+  @Override
+  public User updateUser(UUID id, UnaryOperator<User> update) {
+    Logged logged = logStore(Operation.UPDATE, id, update);
+    commit(logged.sequence(), 1);
+    return logged.user();
+  }
+
+  @Override
+  public User replaceUser(UUID id, User user) {
+    Logged logged = logStore(Operation.REPLACE, id, existing -> user);
+    commit(logged.sequence(), 1);
+    return logged.user();
+  }
+
+  @Override
+  public User deleteUser(UUID id) {
+    Logged logged = logDelete(id);
+    commit(logged.sequence(), 1);
+    return logged.user();
+  }
+
+  @Override
+  public List<UserWriteResult> createUsers(List<User> users) {
+    return commitAll(users.stream().map(user -> attempt(() -> logCreate(user))).toList());
+  }
+
+  @Override
+  public List<UserWriteResult> updateUsers(List<UUID> ids, List<UnaryOperator<User>> updates) {
+    return commitAll(
+        IntStream.range(0, ids.size())
+            .mapToObj(i -> attempt(() -> logStore(Operation.UPDATE, ids.get(i), updates.get(i))))
+            .toList());
+  }
+
+  @Override
+  public List<UserWriteResult> replaceUsers(List<User> users) {
+    return commitAll(
+        users.stream()
+            .map(user -> attempt(() -> logStore(Operation.REPLACE, user.getId(), existing -> user)))
+            .toList());
+  }
+
+  @Override
+  public List<User> deleteUsers(List<UUID> ids) {
+    List<UserWriteResult> deleted = commitAll(ids.stream().map(this::logDelete).toList());
+    return deleted.stream().map(UserWriteResult::user).toList();
+  }
+
+  @Override
+  public User findUserById(UUID id) {
+    writeAheadLog.requireIntact();
+    return state.findUserById(id);
+  }
+
+  @Override
+  public User findUserByEmail(String email) {
+    writeAheadLog.requireIntact();
+    return state.findUserByEmail(email);
+  }
+
+  @Override
+  public List<User> searchUsersByName(String query, int limit) {
+    writeAheadLog.requireIntact();
+    return state.searchUsersByName(query, limit);
+  }
+
+  @Override
+  public List<User> findUsersByBirthDateRange(LocalDateTime from, LocalDateTime to) {
+    writeAheadLog.requireIntact();
+    return state.findUsersByBirthDateRange(from, to);
+  }
+
+  @Override
+  public List<User> findUsersByBirthDateRange(
+      LocalDateTime from, LocalDateTime to, UserCursor after, int limit) {
+    writeAheadLog.requireIntact();
+    return state.findUsersByBirthDateRange(from, to, after, limit);
+  }
+
+  /** The error that stopped the write-ahead log, null while it works. */
+  public IOException failure() {
+    return writeAheadLog.failure();
+  }
+
+  @Override
+  public void close() throws IOException {
+    snapshotExecutor.shutdown();
+    try {
+      snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    writeAheadLog.close();
+  }
+
+  private Logged logCreate(User user) {
+    Lock lock = locks.forId(user.getId());
+    lock.lock();
+    try {
+      writeAheadLog.requireIntact();
+      User created = state.createUser(user);
+      long sequence = writeAheadLog.append(UserRecordCodec.encode(Operation.CREATE, created));
+      return new Logged(created, sequence);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private Logged logStore(Operation operation, UUID id, UnaryOperator<User> update) {
+    Lock lock = locks.forId(id);
+    lock.lock();
+    try {
+      writeAheadLog.requireIntact();
+      User stored = state.updateUser(id, update);
+      if (stored == null) {
+        return Logged.NOTHING;
+      }
+      return new Logged(stored, writeAheadLog.append(UserRecordCodec.encode(operation, stored)));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private Logged logDelete(UUID id) {
+    Lock lock = locks.forId(id);
+    lock.lock();
+    try {
+      writeAheadLog.requireIntact();
+      User deleted = state.deleteUser(id);
+      if (deleted == null) {
+        return Logged.NOTHING;
+      }
+      return new Logged(deleted, writeAheadLog.append(UserRecordCodec.encodeDelete(id)));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Nothing is logged for an item whose email is taken, the rest of the batch goes on. */
+  private static Logged attempt(Supplier<Logged> write) {
+    try {
+      return write.get();
+    } catch (DuplicateEmailException e) {
+      return new Logged(null, NOT_LOGGED, e);
+    }
+  }
+
+  /** Waits once for the last record of the batch; the log is durable in append order. */
+  private List<UserWriteResult> commitAll(List<Logged> batch) {
+    long sequence = 0;
+    int records = 0;
+    for (Logged logged : batch) {
+      if (logged.sequence() != NOT_LOGGED) {
+        sequence = Math.max(sequence, logged.sequence());
+        records++;
+      }
+    }
+    commit(sequence, records);
+    return batch.stream()
+        .map(logged -> new UserWriteResult(logged.user(), logged.conflict()))
+        .toList();
+  }
+
+  private void commit(long sequence, int records) {
+    if (sequence == NOT_LOGGED) {
+      return;
+    }
+    writeAheadLog.awaitDurable(sequence);
+    if (recordsSinceSnapshot.addAndGet(records) >= snapshotAfterRecords) {
+      scheduleSnapshot();
+    }
+  }
+
+  private void scheduleSnapshot() {
+    if (snapshotRunning.compareAndSet(false, true)) {
+      snapshotExecutor.execute(
+          () -> {
+            try {
+              snapshot();
+            } catch (IOException | UncheckedIOException e) {
+              log.error("Could not write user snapshot to {}", directory, e);
+            } finally {
+              snapshotRunning.set(false);
+            }
+          });
+    }
+  }
+
+  /**
+   * Everything logged up to the closed segment is already applied to memory, so the snapshot
+   * covers it. Changes racing with the snapshot land in later segments and replaying them over the
+   * snapshot is idempotent because every record carries the full user state.
+   */
+  private void snapshot() throws IOException {
+    long coveredSegment = writeAheadLog.rotate();
+    recordsSinceSnapshot.set(0);
+
+    Path target = snapshotPath(coveredSegment);
+    Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+    try (FileChannel channel =
+            FileChannel.open(
+                temporary,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel))) {
+      ByteArrayOutputStream frame = new ByteArrayOutputStream(256);
+      state.forEachUser(
+          user -> {
+            frame.reset();
+            WriteAheadLog.writeFrame(frame, UserRecordCodec.encode(Operation.CREATE, user));
+            try {
+              frame.writeTo(out);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+      out.flush();
+      channel.force(true);
+    }
+    // memory may hold changes that failed to reach the log
+    writeAheadLog.requireIntact();
+    Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : files.toList()) {
+        boolean obsoleteSegment =
+            WriteAheadLog.isSegment(file) && WriteAheadLog.segmentNumber(file) <= coveredSegment;
+        boolean obsoleteSnapshot = isSnapshot(file) && snapshotNumber(file) < coveredSegment;
+        if (obsoleteSegment || obsoleteSnapshot) {
+          Files.deleteIfExists(file);
+        }
+      }
+    }
+    log.info("User snapshot written, coveredSegment={}", coveredSegment);
+  }
+
+  /** Loads the latest snapshot and replays later segments. Returns the last segment number seen. */
+  private long recover() throws IOException {
+    List<Path> files;
+    try (Stream<Path> list = Files.list(directory)) {
+      files = list.sorted().toList();
+    }
+
+    long snapshotSegment = -1;
+    for (Path file : files) {
+      if (isSnapshot(file)) {
+        snapshotSegment = Math.max(snapshotSegment, snapshotNumber(file));
+      }
+    }
+    if (snapshotSegment >= 0) {
+      // snapshots are moved in place only once complete
+      long users = WriteAheadLog.readFrames(snapshotPath(snapshotSegment), this::apply, false);
+      log.info("Loaded user snapshot, coveredSegment={}, users={}", snapshotSegment, users);
+    }
+
+    long coveredSegment = snapshotSegment;
+    List<Path> segments =
+        files.stream()
+            .filter(WriteAheadLog::isSegment)
+            .filter(file -> WriteAheadLog.segmentNumber(file) > coveredSegment)
+            .toList();
+    long lastSegment = snapshotSegment;
+    for (int i = 0; i < segments.size(); i++) {
+      Path file = segments.get(i);
+      long records = WriteAheadLog.readFrames(file, this::apply, i == segments.size() - 1);
+      recordsSinceSnapshot.addAndGet(records);
+      lastSegment = WriteAheadLog.segmentNumber(file);
+    }
+    log.info("Replayed user write-ahead log, records={}", recordsSinceSnapshot.get());
+    return lastSegment;
+  }
+
+  private void apply(byte[] payload) {
+    LogRecord record;
+    try {
+      record = UserRecordCodec.decode(payload);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    if (record.operation() == Operation.DELETE) {
+      state.deleteUser(record.id());
+    } else {
+      state.restoreUser(record.user());
+    }
+  }
+
+  private Path snapshotPath(long segment) {
+    return directory.resolve(SNAPSHOT_PREFIX + "%020d".formatted(segment) + SNAPSHOT_SUFFIX);
+  }
+
+  private static boolean isSnapshot(Path file) {
+    String name = file.getFileName().toString();
+    return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+  }
+
+  private static long snapshotNumber(Path file) {
+    String name = file.getFileName().toString();
+    return Long.parseLong(
+        name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+  }
+
+  /** A change applied to memory and appended to the log, sequences start at 1. */
+  private record Logged(User user, long sequence, DuplicateEmailException conflict) {
+    static final Logged NOTHING = new Logged(null, NOT_LOGGED);
+
+    Logged(User user, long sequence) {
+      this(user, sequence, null);
+    }
+  }
+}
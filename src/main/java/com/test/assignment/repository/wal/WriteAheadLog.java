@@ -0,0 +1,297 @@
+package com.test.assignment.repository.wal;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Append-only log of framed records ({@code length, crc32, payload}). Appends are buffered in
+ * memory and a single flusher thread writes and fsyncs everything collected during the group commit
+ * window at once, waking up all appenders whose records became durable. The first failed write
+ * stops the log for good, so what is on disk stays a prefix of the appended records.
+ */
+@Log4j2
+final class WriteAheadLog implements Closeable {
+  private static final String SEGMENT_PREFIX = "wal-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final int FRAME_HEADER_BYTES = 8;
+
+  private final Path directory;
+  private final long groupCommitWindowNanos;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition hasPending = lock.newCondition();
+  private final Condition hasFlushed = lock.newCondition();
+  private final ReentrantLock channelLock = new ReentrantLock();
+  private final Thread flusher;
+
+  private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+  private long appendedSequence;
+  private long durableSequence;
+  private volatile IOException failure;
+  private boolean closed;
+
+  private FileChannel channel;
+  private long segment;
+
+  WriteAheadLog(Path directory, long firstSegment, Duration groupCommitWindow) throws IOException {
+    this.directory = directory;
+    this.groupCommitWindowNanos = groupCommitWindow.toNanos();
+    this.segment = firstSegment;
+    this.channel = openSegment(firstSegment);
+    this.flusher = new Thread(this::flushLoop, "user-wal-flusher");
+    this.flusher.setDaemon(true);
+    this.flusher.start();
+  }
+
+  /** The frame and its checksum are built before taking the lock shared by all writers. */
+  long append(byte[] payload) {
+    byte[] frame = frame(payload);
+    lock.lock();
+    try {
+      if (closed) {
+        throw new IllegalStateException("Write-ahead log is closed");
+      }
+      requireIntact();
+      pending.writeBytes(frame);
+      hasPending.signal();
+      return ++appendedSequence;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  void awaitDurable(long sequence) {
+    lock.lock();
+    try {
+      while (durableSequence < sequence && failure == null) {
+        hasFlushed.awaitUninterruptibly();
+      }
+      if (durableSequence < sequence) {
+        throw new UncheckedIOException("Could not persist user change", failure);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Throws once a write failed, none of the records appended since then will become durable. */
+  void requireIntact() {
+    IOException error = failure;
+    if (error != null) {
+      throw new UncheckedIOException("User write-ahead log failed", error);
+    }
+  }
+
+  /** The error that stopped the log, null while it works. */
+  IOException failure() {
+    return failure;
+  }
+
+  /** Starts a new segment and returns the number of the segment that was closed. */
+  long rotate() throws IOException {
+    channelLock.lock();
+    try {
+      channel.force(true);
+      channel.close();
+      long closedSegment = segment;
+      channel = openSegment(++segment);
+      return closedSegment;
+    } finally {
+      channelLock.unlock();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    lock.lock();
+    try {
+      closed = true;
+      hasPending.signal();
+    } finally {
+      lock.unlock();
+    }
+    try {
+      flusher.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    channelLock.lock();
+    try {
+      channel.close();
+    } finally {
+      channelLock.unlock();
+    }
+  }
+
+  static Path segmentPath(Path directory, long segment) {
+    return directory.resolve(SEGMENT_PREFIX + "%020d".formatted(segment) + SEGMENT_SUFFIX);
+  }
+
+  static boolean isSegment(Path file) {
+    String name = file.getFileName().toString();
+    return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+  }
+
+  static long segmentNumber(Path file) {
+    String name = file.getFileName().toString();
+    return Long.parseLong(
+        name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+  }
+
+  static void writeFrame(ByteArrayOutputStream out, byte[] payload) {
+    out.writeBytes(frame(payload));
+  }
+
+  private static byte[] frame(byte[] payload) {
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    return ByteBuffer.allocate(FRAME_HEADER_BYTES + payload.length)
+        .putInt(payload.length)
+        .putInt((int) crc.getValue())
+        .put(payload)
+        .array();
+  }
+
+  /**
+   * Feeds every intact frame of the file to the consumer. Only the file written last can hold a
+   * torn tail left by a crash; with {@code repairTail} that tail is cut off so the file ends at the
+   * last intact frame, otherwise a bad frame fails the read since later files depend on it.
+   */
+  static long readFrames(Path file, Consumer<byte[]> consumer, boolean repairTail)
+      throws IOException {
+    long fileSize = Files.size(file);
+    long frames = 0;
+    long validBytes = 0;
+    try (InputStream stream = Files.newInputStream(file);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+      while (true) {
+        byte[] payload;
+        int checksum;
+        try {
+          int length = in.readInt();
+          checksum = in.readInt();
+          if (length < 0 || validBytes + FRAME_HEADER_BYTES + length > fileSize) {
+            break;
+          }
+          payload = in.readNBytes(length);
+          if (payload.length < length) {
+            break;
+          }
+        } catch (EOFException e) {
+          break;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) {
+          break;
+        }
+        consumer.accept(payload);
+        validBytes += FRAME_HEADER_BYTES + payload.length;
+        frames++;
+      }
+    }
+    if (validBytes < fileSize && !repairTail) {
+      throw new IOException("Corrupt frame in " + file + " at byte " + validBytes);
+    }
+    if (validBytes < fileSize) {
+      log.warn("Truncating torn tail of {} at byte {}", file, validBytes);
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+        channel.truncate(validBytes);
+      }
+    }
+    return frames;
+  }
+
+  private FileChannel openSegment(long number) throws IOException {
+    return FileChannel.open(
+        segmentPath(directory, number),
+        StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND);
+  }
+
+  private void flushLoop() {
+    while (true) {
+      ByteArrayOutputStream batch;
+      long batchSequence;
+      lock.lock();
+      try {
+        while (pending.size() == 0 && !closed) {
+          hasPending.awaitUninterruptibly();
+        }
+        if (pending.size() == 0) {
+          return;
+        }
+        long deadline = System.nanoTime() + groupCommitWindowNanos;
+        long remaining;
+        while (!closed && (remaining = deadline - System.nanoTime()) > 0) {
+          hasPending.awaitNanos(remaining);
+        }
+        batch = pending;
+        batchSequence = appendedSequence;
+        pending = new ByteArrayOutputStream(batch.size());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        log.error("User write-ahead log flusher was interrupted");
+        fail(new InterruptedIOException("Write-ahead log flusher was interrupted"));
+        return;
+      } finally {
+        lock.unlock();
+      }
+
+      IOException error = write(batch);
+      lock.lock();
+      try {
+        if (error != null) {
+          fail(error);
+          return;
+        }
+        durableSequence = batchSequence;
+        hasFlushed.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /** Called holding the lock; the records still pending are dropped with the failure. */
+  private void fail(IOException error) {
+    failure = error;
+    pending = new ByteArrayOutputStream();
+    hasFlushed.signalAll();
+  }
+
+  private IOException write(ByteArrayOutputStream batch) {
+    channelLock.lock();
+    try {
+      ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(false);
+      return null;
+    } catch (IOException e) {
+      log.error("Could not write user changes to {}", segmentPath(directory, segment), e);
+      return e;
+    } finally {
+      channelLock.unlock();
+    }
+  }
+}
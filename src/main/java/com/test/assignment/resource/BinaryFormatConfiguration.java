@@ -0,0 +1,48 @@
+package com.test.assignment.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * CBOR for the {@code /users} API, chosen by {@code Accept} and {@code Content-Type} next to JSON.
+ * It uses the application's Jackson settings, except that dates are written as arrays of numbers
+ * instead of ISO strings; UUIDs are written as 16 raw bytes by the CBOR generator itself. Both
+ * forms of a date are accepted on input.
+ */
+@Configuration
+public class BinaryFormatConfiguration {
+
+  @Bean
+  @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+  }
+
+  /** Streams of users stay JSON or NDJSON, the CBOR encoder only writes single values. */
+  @Bean
+  @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+  public CodecCustomizer cborCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+    ObjectMapper mapper = cborMapper(builder);
+    return configurer -> {
+      configurer.customCodecs().register(new Jackson2CborDecoder(mapper));
+      configurer.customCodecs().register(new Jackson2CborEncoder(mapper));
+    };
+  }
+
+  static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+    return builder
+        .factory(new CBORFactory())
+        .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+  }
+}
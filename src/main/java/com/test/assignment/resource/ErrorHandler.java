@@ -1,8 +1,12 @@
 package com.test.assignment.resource;
 
+import com.test.assignment.exception.DuplicateEmailException;
 import com.test.assignment.exception.EntityNotFoundException;
 import com.test.assignment.exception.InvalidPathVariableException;
+import com.test.assignment.exception.PreconditionFailedException;
 import jakarta.validation.ConstraintViolationException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -10,18 +14,31 @@ import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+/**
+ * The response depends only on the class of the exception, so it is built once per class and the
+ * same immutable entity answers every later error of that class.
+ */
 @Order(-1)
 @ControllerAdvice
 public class ErrorHandler {
+  private final Map<Class<?>, ResponseEntity<Object>> responses = new ConcurrentHashMap<>();
 
   @ExceptionHandler(Exception.class)
   public ResponseEntity<Object> handle(Exception ex) {
+    return responses.computeIfAbsent(ex.getClass(), type -> buildResponse(ex));
+  }
+
+  private static ResponseEntity<Object> buildResponse(Exception ex) {
     HttpStatus status =
         ex instanceof ConstraintViolationException || ex instanceof InvalidPathVariableException
             ? HttpStatus.BAD_REQUEST
             : ex instanceof EntityNotFoundException
                 ? HttpStatus.NOT_FOUND
-                : HttpStatus.INTERNAL_SERVER_ERROR;
+                : ex instanceof PreconditionFailedException
+                    ? HttpStatus.PRECONDITION_FAILED
+                    : ex instanceof DuplicateEmailException
+                        ? HttpStatus.CONFLICT
+                        : HttpStatus.INTERNAL_SERVER_ERROR;
 
     ErrorResponse response = ErrorResponse.create(ex, status, "error");
     return new ResponseEntity<>(response, status);
@@ -0,0 +1,269 @@
+package com.test.assignment.resource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.test.assignment.domain.User;
+import com.test.assignment.repository.UserChangeListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Serves repeated {@code GET /users?from=&to=} pages from the encoded bytes of the first response,
+ * gzip-compressed as well when that is worth it, without reading the repository, mapping or
+ * serializing again. Entries are keyed by the dates, the page parameters and the {@code Accept}
+ * header, so a hit answers only what the handler answered with 200 for the same parameters and
+ * negotiation. Requests whose {@code Content-Type} the handler does not consume bypass the cache
+ * and are rejected by it. A change of a user whose old or new birth date falls inside the range of
+ * an entry removes it. Entries are indexed by the years their range touches, so a change only looks
+ * at the entries of the years of the old and new birth date and the few spanning more than {@value
+ * #MAX_INDEXED_YEARS} years; an entry is indexed and unindexed inside the cache's atomic write of
+ * its key. A response being built while any user changes is not stored, so an entry can never hold
+ * a state older than the last change reported.
+ */
+public class RangeResponseCacheFilter extends OncePerRequestFilter implements UserChangeListener {
+  private static final String USERS_PATH = "/users";
+  private static final String GZIP = "gzip";
+  private static final int MIN_COMPRESSED_SIZE = 1024;
+  private static final int MAX_INDEXED_YEARS = 100;
+  private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+  private static final List<MediaType> CONSUMED =
+      List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+
+  private final Cache<RangeKey, CachedRange> cache;
+  private final AtomicLong changes = new AtomicLong();
+  private final Map<Integer, Set<RangeKey>> keysByYear = new ConcurrentHashMap<>();
+  private final Set<RangeKey> wideKeys = ConcurrentHashMap.newKeySet();
+
+  public RangeResponseCacheFilter(long maximumSizeBytes) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(maximumSizeBytes)
+            .weigher((RangeKey key, CachedRange value) -> value.weight())
+            .evictionListener((RangeKey key, CachedRange value, RemovalCause cause) -> unindex(key))
+            .build();
+  }
+
+  @Override
+  public void onChange(User before, User after) {
+    changes.incrementAndGet();
+    LocalDateTime moved = before == null ? null : before.getBirthDate();
+    LocalDateTime stored = after == null ? null : after.getBirthDate();
+    Set<RangeKey> candidates = new HashSet<>(wideKeys);
+    for (LocalDateTime birthDate : new LocalDateTime[] {moved, stored}) {
+      if (birthDate != null) {
+        candidates.addAll(keysByYear.getOrDefault(birthDate.getYear(), Set.of()));
+      }
+    }
+    for (RangeKey key : candidates) {
+      if (key.contains(moved) || key.contains(stored)) {
+        cache.asMap().computeIfPresent(key, (k, value) -> remove(k));
+      }
+    }
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !HttpMethod.GET.matches(request.getMethod())
+        || !USERS_PATH.equals(
+            request.getRequestURI().substring(request.getContextPath().length()))
+        || request.getParameter("from") == null
+        || request.getParameter("to") == null;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    RangeKey key = RangeKey.of(request);
+    if (key == null) {
+      chain.doFilter(request, response);
+      return;
+    }
+    response.setHeader(HttpHeaders.VARY, VARY);
+    CachedRange cached = cache.getIfPresent(key);
+    if (cached != null) {
+      cached.writeTo(request, response);
+      return;
+    }
+    long changesBefore = changes.get();
+    ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+    chain.doFilter(request, wrapper);
+    if (wrapper.getStatus() == HttpStatus.OK.value() && !request.isAsyncStarted()) {
+      CachedRange built = CachedRange.of(wrapper);
+      cache.asMap().compute(key, (k, value) -> index(k, built));
+      if (changes.get() != changesBefore) {
+        cache.asMap().computeIfPresent(key, (k, value) -> value == built ? remove(k) : value);
+      }
+    }
+    wrapper.copyBodyToResponse();
+  }
+
+  private CachedRange index(RangeKey key, CachedRange value) {
+    if (key.years() > MAX_INDEXED_YEARS) {
+      wideKeys.add(key);
+      return value;
+    }
+    for (int year = key.from().getYear(); year <= key.to().getYear(); year++) {
+      keysByYear.compute(
+          year,
+          (y, keys) -> {
+            Set<RangeKey> indexed = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            indexed.add(key);
+            return indexed;
+          });
+    }
+    return value;
+  }
+
+  private CachedRange remove(RangeKey key) {
+    unindex(key);
+    return null;
+  }
+
+  private void unindex(RangeKey key) {
+    if (key.years() > MAX_INDEXED_YEARS) {
+      wideKeys.remove(key);
+      return;
+    }
+    for (int year = key.from().getYear(); year <= key.to().getYear(); year++) {
+      keysByYear.computeIfPresent(
+          year, (y, keys) -> keys.remove(key) && keys.isEmpty() ? null : keys);
+    }
+  }
+
+  /** Ranges cover whole days like the service queries them, so equal ranges share an entry. */
+  record RangeKey(
+      LocalDateTime from, LocalDateTime to, String limit, String cursor, String accept) {
+
+    static RangeKey of(HttpServletRequest request) {
+      String accept = request.getHeader(HttpHeaders.ACCEPT);
+      if ((accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE))
+          || !isConsumed(request.getContentType())) {
+        return null;
+      }
+      try {
+        return new RangeKey(
+            LocalDate.parse(request.getParameter("from")).atStartOfDay(),
+            LocalDate.parse(request.getParameter("to")).atTime(LocalTime.MAX),
+            request.getParameter("limit"),
+            request.getParameter("cursor"),
+            accept == null ? MediaType.ALL_VALUE : accept);
+      } catch (DateTimeParseException e) {
+        return null;
+      }
+    }
+
+    /** Matches like the {@code consumes} condition of the range handler. */
+    private static boolean isConsumed(String contentType) {
+      if (contentType == null) {
+        return false;
+      }
+      try {
+        MediaType type = MediaType.parseMediaType(contentType);
+        return CONSUMED.stream().anyMatch(consumed -> consumed.includes(type));
+      } catch (InvalidMediaTypeException e) {
+        return false;
+      }
+    }
+
+    /** Number of calendar years the range touches, zero when it is empty. */
+    long years() {
+      return from.isAfter(to) ? 0 : (long) to.getYear() - from.getYear() + 1;
+    }
+
+    boolean contains(LocalDateTime birthDate) {
+      return birthDate != null && !birthDate.isBefore(from) && !birthDate.isAfter(to);
+    }
+  }
+
+  record CachedRange(
+      byte[] body, byte[] gzipped, String contentType, String eTag, String nextCursor) {
+
+    static CachedRange of(ContentCachingResponseWrapper response) {
+      byte[] body = response.getContentAsByteArray();
+      return new CachedRange(
+          body,
+          body.length < MIN_COMPRESSED_SIZE ? null : gzip(body),
+          response.getContentType(),
+          response.getHeader(HttpHeaders.ETAG),
+          response.getHeader(UserController.NEXT_CURSOR_HEADER));
+    }
+
+    int weight() {
+      return body.length + (gzipped == null ? 0 : gzipped.length);
+    }
+
+    void writeTo(HttpServletRequest request, HttpServletResponse response) throws IOException {
+      if (eTag != null) {
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && matchesAny(ifNoneMatch, eTag)) {
+          response.setStatus(HttpStatus.NOT_MODIFIED.value());
+          return;
+        }
+      }
+      if (nextCursor != null) {
+        response.setHeader(UserController.NEXT_CURSOR_HEADER, nextCursor);
+      }
+      response.setContentType(contentType);
+      byte[] content = body;
+      String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+      if (gzipped != null && acceptEncoding != null && acceptEncoding.contains(GZIP)) {
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        content = gzipped;
+      }
+      response.setContentLength(content.length);
+      response.getOutputStream().write(content);
+    }
+
+    /** Weak comparison of each tag in the list, as {@code If-None-Match} asks for. */
+    static boolean matchesAny(String ifNoneMatch, String eTag) {
+      String tag = opaqueTag(eTag);
+      for (String candidate : ifNoneMatch.split(",")) {
+        String trimmed = candidate.trim();
+        if ("*".equals(trimmed) || opaqueTag(trimmed).equals(tag)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private static String opaqueTag(String eTag) {
+      return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    private static byte[] gzip(byte[] body) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+      try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+        gzip.write(body);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return out.toByteArray();
+    }
+  }
+}
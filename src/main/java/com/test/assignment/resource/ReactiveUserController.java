@@ -0,0 +1,226 @@
+package com.test.assignment.resource;
+
+import static com.test.assignment.resource.UserController.NEXT_CURSOR_HEADER;
+import static com.test.assignment.resource.UserController.eTag;
+import static com.test.assignment.resource.UserController.extractBucket;
+import static com.test.assignment.resource.UserController.extractCursor;
+import static com.test.assignment.resource.UserController.extractExpectedVersion;
+import static com.test.assignment.resource.UserController.extractId;
+import static com.test.assignment.resource.UserController.extractQuery;
+import static com.test.assignment.resource.UserController.pageETag;
+import static com.test.assignment.resource.UserController.requireBatchSize;
+import static com.test.assignment.resource.UserController.resolveLimit;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserPage;
+import com.test.assignment.domain.request.UserBatchRequest;
+import com.test.assignment.domain.request.UserCreateRequest;
+import com.test.assignment.domain.request.UserUpdateRequest;
+import com.test.assignment.domain.response.UserBatchResponse;
+import com.test.assignment.domain.response.UserCountResult;
+import com.test.assignment.domain.response.UserResponse;
+import com.test.assignment.service.ReactiveUserService;
+import com.test.assignment.service.UserCountService;
+import com.test.assignment.validator.UserRequestValidator;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@code /users} API of {@link UserController} on WebFlux, active when the application starts
+ * with {@code spring.main.web-application-type=reactive}. Requests are validated the same way and
+ * failures reach {@link ErrorHandler} as error signals. Range queries are paged by the same
+ * {@code limit} and {@code cursor} parameters and {@code X-Next-Cursor} header, while NDJSON
+ * streams every user of the range.
+ */
+@RestController
+@RequestMapping("/users")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserController {
+
+  private static final String ID_PATH_VAR = "/{id}";
+  private static final String BATCH_PATH = "/batch";
+  private static final String COUNTS_PATH = "/counts";
+  private static final String EMAIL_PARAM = "email";
+  private static final String SEARCH_PATH = "/search";
+  private final UserRequestValidator validator;
+  private final ReactiveUserService service;
+  private final UserCountService countService;
+
+  @Value("${pagination.defaultLimit}")
+  private int defaultLimit;
+
+  @Value("${pagination.maxLimit}")
+  private int maxLimit;
+
+  @Value("${batch.maxSize}")
+  private int maxBatchSize;
+
+  @GetMapping(
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+  public Mono<ResponseEntity<List<User>>> getUsersByBirthDateRange(
+      @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDateTime from,
+      @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDateTime to,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(required = false) String cursor,
+      ServerWebExchange exchange) {
+    validator.validateRangeRequestParam(from, to);
+    return service
+        .getUsersByBirthDateRange(
+            from, to, extractCursor(cursor), resolveLimit(limit, defaultLimit, maxLimit))
+        .flatMap(page -> withPageHeaders(page, exchange));
+  }
+
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<User> streamUsersByBirthDateRange(
+      @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDateTime from,
+      @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDateTime to) {
+    validator.validateRangeRequestParam(from, to);
+    return service.getUsersByBirthDateRange(from, to);
+  }
+
+  /**
+   * Answered from an in-memory histogram, so it is counted right on the event loop. A list rather
+   * than a stream, since CBOR is encoded as one value.
+   */
+  @GetMapping(
+      value = COUNTS_PATH,
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+  public Mono<List<UserCountResult>> countUsersByBirthDate(
+      @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDateTime from,
+      @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDateTime to,
+      @RequestParam(required = false) String bucket,
+      @RequestParam(defaultValue = "1") int size) {
+    validator.validateRangeRequestParam(from, to);
+    return Mono.just(countService.countUsersByBirthDate(from, to, extractBucket(bucket), size));
+  }
+
+  @GetMapping(
+      value = ID_PATH_VAR,
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+  public Mono<ResponseEntity<UserResponse>> getUser(
+      @PathVariable String id, ServerWebExchange exchange) {
+    return service.getUser(extractId(id)).flatMap(response -> withETag(response, exchange));
+  }
+
+  @GetMapping(
+      params = EMAIL_PARAM,
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+  public Mono<ResponseEntity<UserResponse>> getUserByEmail(
+      @RequestParam(EMAIL_PARAM) String email, ServerWebExchange exchange) {
+    return service.getUserByEmail(email).flatMap(response -> withETag(response, exchange));
+  }
+
+  @GetMapping(
+      value = SEARCH_PATH,
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+  public Mono<List<User>> searchUsers(
+      @RequestParam("q") String query, @RequestParam(required = false) Integer limit) {
+    return service.searchUsers(extractQuery(query), resolveLimit(limit, defaultLimit, maxLimit));
+  }
+
+  @PostMapping(
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+  public Mono<ResponseEntity<UserResponse>> createUser(
+      @RequestBody Mono<UserCreateRequest> request) {
+    return request
+        .doOnNext(validator::validate)
+        .flatMap(service::createUser)
+        .map(
+            response ->
+                ResponseEntity.status(HttpStatus.CREATED).eTag(eTag(response)).body(response));
+  }
+
+  @PostMapping(
+      value = BATCH_PATH,
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+  public Mono<UserBatchResponse> applyBatch(@RequestBody Mono<UserBatchRequest> request) {
+    return request
+        .doOnNext(batch -> requireBatchSize(batch, maxBatchSize))
+        .flatMap(service::applyBatch);
+  }
+
+  @PatchMapping(
+      value = ID_PATH_VAR,
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+  public Mono<ResponseEntity<UserResponse>> updateUser(
+      @PathVariable String id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      @RequestBody Mono<UserUpdateRequest> request) {
+    return request
+        .doOnNext(validator::validate)
+        .flatMap(
+            update -> service.updateUser(extractId(id), update, extractExpectedVersion(ifMatch)))
+        .map(response -> ResponseEntity.ok().eTag(eTag(response)).body(response));
+  }
+
+  @PutMapping(
+      value = ID_PATH_VAR,
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+  public Mono<ResponseEntity<UserResponse>> replaceUser(
+      @PathVariable String id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      @RequestBody Mono<UserCreateRequest> request) {
+    return request
+        .doOnNext(validator::validate)
+        .flatMap(
+            replace -> service.replaceUser(extractId(id), replace, extractExpectedVersion(ifMatch)))
+        .map(response -> ResponseEntity.ok().eTag(eTag(response)).body(response));
+  }
+
+  @DeleteMapping(ID_PATH_VAR)
+  public Mono<ResponseEntity<Void>> deleteUser(@PathVariable String id) {
+    return service.deleteUser(extractId(id)).then(Mono.just(ResponseEntity.ok().build()));
+  }
+
+  /** Completes empty when the client has the page already, the exchange then answers 304. */
+  private static Mono<ResponseEntity<List<User>>> withPageHeaders(
+      UserPage page, ServerWebExchange exchange) {
+    String eTag = pageETag(page);
+    if (exchange.checkNotModified(eTag)) {
+      return Mono.empty();
+    }
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag);
+    if (page.nextCursor() != null) {
+      response.header(NEXT_CURSOR_HEADER, page.nextCursor().encode());
+    }
+    return Mono.just(response.body(page.users()));
+  }
+
+  /** Completes empty when the client has the current version, the exchange then answers 304. */
+  private static Mono<ResponseEntity<UserResponse>> withETag(
+      UserResponse response, ServerWebExchange exchange) {
+    String eTag = eTag(response);
+    if (exchange.checkNotModified(eTag)) {
+      return Mono.empty();
+    }
+    return Mono.just(ResponseEntity.ok().eTag(eTag).body(response));
+  }
+}
@@ -0,0 +1,20 @@
+package com.test.assignment.resource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "response.cache.enabled", havingValue = "true")
+public class ResponseCacheConfiguration {
+
+  /** Registered as a servlet filter and, being a change listener, told about every write. */
+  @Bean
+  public RangeResponseCacheFilter rangeResponseCacheFilter(
+      @Value("${response.cache.maximumSizeMegabytes}") long maximumSizeMegabytes) {
+    return new RangeResponseCacheFilter(maximumSizeMegabytes << 20);
+  }
+}
@@ -1,17 +1,40 @@
 package com.test.assignment.resource;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.test.assignment.domain.BirthDateBucket;
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import com.test.assignment.domain.UserPage;
+import com.test.assignment.domain.UuidParser;
+import com.test.assignment.domain.request.UserBatchRequest;
 import com.test.assignment.domain.request.UserCreateRequest;
 import com.test.assignment.domain.request.UserUpdateRequest;
+import com.test.assignment.domain.response.UserBatchResponse;
+import com.test.assignment.domain.response.UserCountResult;
 import com.test.assignment.domain.response.UserResponse;
+import com.test.assignment.exception.ClientErrorLogLimiter;
 import com.test.assignment.exception.InvalidPathVariableException;
+import com.test.assignment.exception.PreconditionFailedException;
+import com.test.assignment.service.UserBatchService;
+import com.test.assignment.service.UserCountService;
 import com.test.assignment.service.UserService;
 import com.test.assignment.validator.UserRequestValidator;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -22,65 +45,197 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Log4j2
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserController {
 
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
   private static final String ID_PATH_VAR = "/{id}";
+  private static final String BATCH_PATH = "/batch";
+  private static final String EMAIL_PARAM = "email";
+  private static final String SEARCH_PATH = "/search";
+  private static final String COUNTS_PATH = "/counts";
+  private static final int MAX_QUERY_LENGTH = 100;
+  private static final ClientErrorLogLimiter INVALID_REQUEST_LOG = new ClientErrorLogLimiter(10);
   private final UserRequestValidator validator;
   private final UserService service;
+  private final UserBatchService batchService;
+  private final UserCountService countService;
+  private final ObjectMapper objectMapper;
+
+  @Value("${pagination.defaultLimit}")
+  private int defaultLimit;
+
+  @Value("${pagination.maxLimit}")
+  private int maxLimit;
+
+  @Value("${batch.maxSize}")
+  private int maxBatchSize;
 
   @GetMapping(
-      consumes = MediaType.APPLICATION_JSON_VALUE,
-      produces = MediaType.APPLICATION_JSON_VALUE)
-  public ResponseEntity<List<UserResponse>> getUsersByBirthDateRange(
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+  public ResponseEntity<List<User>> getUsersByBirthDateRange(
+      @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDateTime from,
+      @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDateTime to,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(required = false) String cursor,
+      WebRequest webRequest) {
+    validator.validateRangeRequestParam(from, to);
+    UserPage page =
+        service.getUsersByBirthDateRange(
+            from, to, extractCursor(cursor), resolveLimit(limit, defaultLimit, maxLimit));
+    if (webRequest.checkNotModified(pageETag(page))) {
+      return null;
+    }
+
+    HttpHeaders headers = new HttpHeaders();
+    if (page.nextCursor() != null) {
+      headers.set(NEXT_CURSOR_HEADER, page.nextCursor().encode());
+    }
+    return new ResponseEntity<>(page.users(), headers, HttpStatus.OK);
+  }
+
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamUsersByBirthDateRange(
       @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDateTime from,
       @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDateTime to) {
     validator.validateRangeRequestParam(from, to);
-    List<UserResponse> response = service.getUsersByBirthDateRange(from, to);
 
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    ObjectWriter userWriter =
+        objectMapper
+            .writerFor(User.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    // a slow client blocks the writes, which stops the lazy paging through the repository
+    StreamingResponseBody body =
+        out -> {
+          try (Stream<User> users = service.streamUsersByBirthDateRange(from, to);
+              JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+              userWriter.writeValue(generator, iterator.next());
+              generator.writeRaw('\n');
+            }
+          }
+        };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  /** Counts from a histogram kept up to date on every write, without reading any user. */
+  @GetMapping(
+      value = COUNTS_PATH,
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+  public ResponseEntity<List<UserCountResult>> countUsersByBirthDate(
+      @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDateTime from,
+      @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDateTime to,
+      @RequestParam(required = false) String bucket,
+      @RequestParam(defaultValue = "1") int size) {
+    validator.validateRangeRequestParam(from, to);
+    List<UserCountResult> counts =
+        countService.countUsersByBirthDate(from, to, extractBucket(bucket), size);
+
+    return new ResponseEntity<>(counts, HttpStatus.OK);
+  }
+
+  @GetMapping(
+      value = ID_PATH_VAR,
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+  public ResponseEntity<UserResponse> getUser(@PathVariable String id, WebRequest webRequest) {
+    UserResponse response = service.getUser(extractId(id));
+
+    String eTag = eTag(response);
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
+    return ResponseEntity.ok().eTag(eTag).body(response);
+  }
+
+  @GetMapping(
+      params = EMAIL_PARAM,
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+  public ResponseEntity<UserResponse> getUserByEmail(
+      @RequestParam(EMAIL_PARAM) String email, WebRequest webRequest) {
+    UserResponse response = service.getUserByEmail(email);
+
+    String eTag = eTag(response);
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
+    return ResponseEntity.ok().eTag(eTag).body(response);
+  }
+
+  @GetMapping(
+      value = SEARCH_PATH,
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+  public ResponseEntity<List<User>> searchUsers(
+      @RequestParam("q") String query, @RequestParam(required = false) Integer limit) {
+    List<User> users =
+        service.searchUsers(extractQuery(query), resolveLimit(limit, defaultLimit, maxLimit));
+
+    return new ResponseEntity<>(users, HttpStatus.OK);
   }
 
   @PostMapping(
-      consumes = MediaType.APPLICATION_JSON_VALUE,
-      produces = MediaType.APPLICATION_JSON_VALUE)
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
   public ResponseEntity<UserResponse> createUser(@RequestBody UserCreateRequest request) {
     validator.validate(request);
 
     UserResponse response = service.createUser(request);
 
-    return new ResponseEntity<>(response, HttpStatus.CREATED);
+    return ResponseEntity.status(HttpStatus.CREATED).eTag(eTag(response)).body(response);
+  }
+
+  @PostMapping(
+      value = BATCH_PATH,
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+  public ResponseEntity<UserBatchResponse> applyBatch(@RequestBody UserBatchRequest request) {
+    requireBatchSize(request, maxBatchSize);
+    UserBatchResponse response = batchService.applyBatch(request);
+
+    return new ResponseEntity<>(response, HttpStatus.OK);
   }
 
   @PatchMapping(
       value = ID_PATH_VAR,
-      consumes = MediaType.APPLICATION_JSON_VALUE,
-      produces = MediaType.APPLICATION_JSON_VALUE)
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
   public ResponseEntity<UserResponse> updateUser(
-      @PathVariable String id, @RequestBody UserUpdateRequest request) {
+      @PathVariable String id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      @RequestBody UserUpdateRequest request) {
     validator.validate(request);
-    UserResponse response = service.updateUser(extractId(id), request);
+    UserResponse response =
+        service.updateUser(extractId(id), request, extractExpectedVersion(ifMatch));
 
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    return ResponseEntity.ok().eTag(eTag(response)).body(response);
   }
 
   @PutMapping(
       value = ID_PATH_VAR,
-      consumes = MediaType.APPLICATION_JSON_VALUE,
-      produces = MediaType.APPLICATION_JSON_VALUE)
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
   public ResponseEntity<UserResponse> replaceUser(
-      @PathVariable String id, @RequestBody UserCreateRequest request) {
+      @PathVariable String id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      @RequestBody UserCreateRequest request) {
     validator.validate(request);
-    UserResponse response = service.replaceUser(extractId(id), request);
+    UserResponse response =
+        service.replaceUser(extractId(id), request, extractExpectedVersion(ifMatch));
 
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    return ResponseEntity.ok().eTag(eTag(response)).body(response);
   }
 
   @DeleteMapping(ID_PATH_VAR)
@@ -89,12 +244,106 @@ public class UserController {
     return ResponseEntity.ok().build();
   }
 
-  protected UUID extractId(String pathVariable) {
+  static int resolveLimit(Integer limit, int defaultLimit, int maxLimit) {
+    if (limit == null) {
+      return defaultLimit;
+    }
+    if (limit < 1) {
+      throw new InvalidPathVariableException("Invalid request! 'limit' should be positive!");
+    }
+    return Math.min(limit, maxLimit);
+  }
+
+  static String extractQuery(String query) {
+    if (query.isBlank() || query.length() > MAX_QUERY_LENGTH) {
+      throw new InvalidPathVariableException(
+          "Invalid request! 'q' should have 1 to " + MAX_QUERY_LENGTH + " characters!");
+    }
+    return query;
+  }
+
+  static void requireBatchSize(UserBatchRequest request, int maxBatchSize) {
+    if (request.size() > maxBatchSize) {
+      throw new InvalidPathVariableException(
+          "Invalid request! Batch should not exceed " + maxBatchSize + " items!");
+    }
+  }
+
+  static UserCursor extractCursor(String cursor) {
+    if (cursor == null) {
+      return null;
+    }
+    try {
+      return UserCursor.decode(cursor);
+    } catch (IllegalArgumentException | DateTimeException exception) {
+      long suppressed = INVALID_REQUEST_LOG.tryAcquire();
+      if (suppressed >= 0) {
+        log.warn("Invalid cursor for request! Got={}, suppressed={}", cursor, suppressed);
+      }
+      throw new InvalidPathVariableException(cursor);
+    }
+  }
+
+  /** Years when not given; the name of the bucket in any case. */
+  static BirthDateBucket extractBucket(String bucket) {
+    if (bucket == null) {
+      return BirthDateBucket.YEAR;
+    }
     try {
-      return UUID.fromString(pathVariable);
+      return BirthDateBucket.valueOf(bucket.trim().toUpperCase(Locale.ROOT));
     } catch (IllegalArgumentException exception) {
-      log.warn("Invalid path variable for request! Got=" + exception);
+      throw new InvalidPathVariableException(
+          "Invalid request! 'bucket' should be one of DAY, MONTH, YEAR or AGE, got=" + bucket);
+    }
+  }
+
+  /** Only a single strong ETag can match a version; "*" matches any existing user. */
+  static Long extractExpectedVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    String tag = ifMatch.trim();
+    try {
+      if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+        return Long.parseLong(tag, 1, tag.length() - 1, 10);
+      }
+    } catch (NumberFormatException exception) {
+      long suppressed = INVALID_REQUEST_LOG.tryAcquire();
+      if (suppressed >= 0) {
+        log.warn("Invalid If-Match header for request! Got={}, suppressed={}", tag, suppressed);
+      }
+    }
+    throw new PreconditionFailedException("Invalid request! If-Match does not match, got=" + tag);
+  }
+
+  static UUID extractId(String pathVariable) {
+    UUID id = UuidParser.parse(pathVariable);
+    if (id == null) {
+      long suppressed = INVALID_REQUEST_LOG.tryAcquire();
+      if (suppressed >= 0) {
+        log.warn(
+            "Invalid path variable for request! Got={}, suppressed={}", pathVariable, suppressed);
+      }
       throw new InvalidPathVariableException(pathVariable);
     }
+    return id;
+  }
+
+  static String eTag(UserResponse user) {
+    return "\"" + user.getVersion() + "\"";
+  }
+
+  /** Changes whenever a user of the page, its version or the next cursor changes. */
+  static String pageETag(UserPage page) {
+    long hash = 17;
+    for (User user : page.users()) {
+      hash = 31 * hash + user.getId().getMostSignificantBits();
+      hash = 31 * hash + user.getId().getLeastSignificantBits();
+      hash = 31 * hash + user.getVersion();
+    }
+    if (page.nextCursor() != null) {
+      hash = 31 * hash + page.nextCursor().encode().hashCode();
+    }
+    return "\"" + Long.toHexString(hash) + "\"";
   }
 }
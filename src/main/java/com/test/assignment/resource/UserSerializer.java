@@ -0,0 +1,38 @@
+package com.test.assignment.resource;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.response.UserResponse;
+import java.io.IOException;
+import org.springframework.boot.jackson.JsonComponent;
+
+/**
+ * Writes a {@link User} exactly like the {@link UserResponse} mapped from it, so lists of users can
+ * be answered without building a response object per user. The fields come in the order of {@link
+ * UserResponse}, and the id and the birth date go through the serializers configured for their
+ * types, so JSON and CBOR get the same bytes as for the response.
+ */
+@JsonComponent
+public class UserSerializer extends StdSerializer<User> {
+
+  public UserSerializer() {
+    super(User.class);
+  }
+
+  @Override
+  public void serialize(User user, JsonGenerator generator, SerializerProvider provider)
+      throws IOException {
+    generator.writeStartObject(user);
+    provider.defaultSerializeField("id", user.getId(), generator);
+    generator.writeStringField("firstName", user.getFirstName());
+    generator.writeStringField("lastName", user.getLastName());
+    generator.writeStringField("email", user.getEmail());
+    provider.defaultSerializeField("birthDate", user.getBirthDate(), generator);
+    generator.writeStringField("address", user.getAddress());
+    generator.writeStringField("phoneNumber", user.getPhoneNumber());
+    generator.writeNumberField("version", user.getVersion());
+    generator.writeEndObject();
+  }
+}
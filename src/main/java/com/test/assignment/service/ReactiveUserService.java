@@ -0,0 +1,151 @@
+package com.test.assignment.service;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import com.test.assignment.domain.UserPage;
+import com.test.assignment.domain.request.UserBatchRequest;
+import com.test.assignment.domain.request.UserCreateRequest;
+import com.test.assignment.domain.request.UserUpdateRequest;
+import com.test.assignment.domain.response.UserBatchResponse;
+import com.test.assignment.domain.response.UserResponse;
+import com.test.assignment.exception.EntityNotFoundException;
+import com.test.assignment.repository.ReactiveUserRepository;
+import com.test.assignment.service.mapper.UserMapper;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/** {@link UserService} for the reactive stack; failures are error signals with the same types. */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserService {
+
+  private final UserMapper mapper;
+  private final ReactiveUserRepository repository;
+  private final UserBatchService batchService;
+
+  public Mono<UserResponse> createUser(UserCreateRequest user) {
+    return repository
+        .createUser(mapper.toEntity(user))
+        .doOnNext(created -> log.info("User created successfully, id={}", created.getId()))
+        .map(mapper::toResponse);
+  }
+
+  /** A null {@code expectedVersion} updates whatever version is stored. */
+  public Mono<UserResponse> updateUser(UUID id, UserUpdateRequest user, Long expectedVersion) {
+    User requested = mapper.toEntity(id, user);
+    return repository
+        .updateUser(
+            id,
+            UserService.ifVersion(
+                id,
+                expectedVersion,
+                existing -> UserService.buildUserUpdate(existing, requested)))
+        .switchIfEmpty(notFound(id, "update"))
+        .doOnNext(updated -> log.info("User updated successfully, id={}", updated.getId()))
+        .map(mapper::toResponse);
+  }
+
+  /** A null {@code expectedVersion} replaces whatever version is stored. */
+  public Mono<UserResponse> replaceUser(UUID id, UserCreateRequest user, Long expectedVersion) {
+    User requested = mapper.toEntity(id, user);
+    Mono<User> replaced =
+        expectedVersion == null
+            ? repository.replaceUser(id, requested)
+            : repository.updateUser(
+                id, UserService.ifVersion(id, expectedVersion, existing -> requested));
+    return replaced
+        .switchIfEmpty(notFound(id, "replace"))
+        .doOnNext(updated -> log.info("User replaced successfully, id={}", updated.getId()))
+        .map(mapper::toResponse);
+  }
+
+  public Mono<Void> deleteUser(UUID id) {
+    return repository
+        .deleteUser(id)
+        .switchIfEmpty(notFound(id, "delete"))
+        .doOnNext(deleted -> log.info("User deleted successfully, id={}", id))
+        .then();
+  }
+
+  public Mono<UserResponse> getUser(UUID id) {
+    return repository.findUserById(id).switchIfEmpty(notFound(id, "find")).map(mapper::toResponse);
+  }
+
+  public Mono<UserResponse> getUserByEmail(String email) {
+    return repository
+        .findUserByEmail(email)
+        .switchIfEmpty(
+            Mono.error(
+                () -> {
+                  UserService.logEmailNotFound();
+                  return new EntityNotFoundException("User not found by email=" + email);
+                }))
+        .map(mapper::toResponse);
+  }
+
+  /** An empty list when nothing matches, search results are never an error. */
+  public Mono<List<User>> searchUsers(String query, int limit) {
+    return repository.searchUsersByName(query, limit);
+  }
+
+  /**
+   * A batch validates and writes up to thousands of users through the blocking {@link
+   * UserBatchService}, so it runs on the bounded elastic scheduler whatever the backend.
+   */
+  public Mono<UserBatchResponse> applyBatch(UserBatchRequest request) {
+    return Mono.fromCallable(() -> batchService.applyBatch(request))
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+
+  /** Pages like {@link UserService#getUsersByBirthDateRange}, failing when the range is empty. */
+  public Mono<UserPage> getUsersByBirthDateRange(
+      LocalDateTime from, LocalDateTime to, UserCursor cursor, int limit) {
+    return repository
+        .findUsersByBirthDateRange(
+            UserService.firstInstant(from), UserService.lastInstant(to), cursor, limit + 1)
+        .flatMap(
+            users -> {
+              if (users.isEmpty() && cursor == null) {
+                UserService.logRangeNotFound(from, to);
+                return Mono.error(
+                    new EntityNotFoundException(
+                        "Users not found by DateRange=" + from + " - " + to));
+              }
+              return Mono.just(UserService.page(users, limit));
+            });
+  }
+
+  /**
+   * Fails before anything is emitted when the range is empty, so the error still sets a status.
+   * The users are written by {@code UserSerializer} in the shape of {@link UserResponse}.
+   */
+  public Flux<User> getUsersByBirthDateRange(LocalDateTime from, LocalDateTime to) {
+    return repository
+        .findUsersByBirthDateRange(UserService.firstInstant(from), UserService.lastInstant(to))
+        .switchIfEmpty(
+            Flux.error(
+                () -> {
+                  UserService.logRangeNotFound(from, to);
+                  return new EntityNotFoundException(
+                      "Users not found by DateRange=" + from + " - " + to);
+                }));
+  }
+
+  private static Mono<User> notFound(UUID id, String action) {
+    return Mono.error(
+        () -> {
+          UserService.logNotFound(action, id);
+          return new EntityNotFoundException(id);
+        });
+  }
+}
@@ -0,0 +1,243 @@
+package com.test.assignment.service;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UuidParser;
+import com.test.assignment.domain.request.UserBatchItem;
+import com.test.assignment.domain.request.UserBatchRequest;
+import com.test.assignment.domain.request.UserCreateRequest;
+import com.test.assignment.domain.request.UserUpdateRequest;
+import com.test.assignment.domain.response.UserBatchResponse;
+import com.test.assignment.domain.response.UserBatchResult;
+import com.test.assignment.domain.response.UserBatchResult.Operation;
+import com.test.assignment.repository.UserRepository;
+import com.test.assignment.repository.UserWriteResult;
+import com.test.assignment.service.mapper.UserMapper;
+import com.test.assignment.validator.UserRequestValidator;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * Applies a batch of user changes: all items of a kind are validated together and written through a
+ * single batch call on the {@link UserRepository}. Invalid or missing items and duplicate emails
+ * fail on their own without affecting the rest of the batch.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class UserBatchService {
+  private static final SecureRandom ID_SOURCE = new SecureRandom();
+
+  private final UserMapper mapper;
+  private final UserRepository repository;
+  private final UserRequestValidator validator;
+
+  public UserBatchResponse applyBatch(UserBatchRequest request) {
+    List<UserBatchResult> results = new ArrayList<>(request.size());
+    results.addAll(create(request.create()));
+    results.addAll(replace(request.replace()));
+    results.addAll(update(request.update()));
+    results.addAll(delete(request.delete()));
+
+    int failed = (int) results.stream().filter(result -> result.error() != null).count();
+    log.info("User batch applied, items={}, failed={}", results.size(), failed);
+    return new UserBatchResponse(results.size() - failed, failed, results);
+  }
+
+  private List<UserBatchResult> create(List<UserCreateRequest> requests) {
+    UserBatchResult[] results = new UserBatchResult[requests.size()];
+    List<String> errors = validator.validateEach(requests);
+    UUID[] ids = randomIds(requests.size());
+
+    List<Integer> positions = new ArrayList<>(requests.size());
+    List<User> users = new ArrayList<>(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      if (errors.get(i) != null) {
+        results[i] = failed(Operation.CREATE, i, null, HttpStatus.BAD_REQUEST, errors.get(i));
+      } else {
+        positions.add(i);
+        users.add(mapper.toEntity(ids[i], requests.get(i)));
+      }
+    }
+
+    List<UserWriteResult> created = repository.createUsers(users);
+    for (int j = 0; j < created.size(); j++) {
+      int position = positions.get(j);
+      results[position] =
+          created.get(j).conflict() != null
+              ? conflict(Operation.CREATE, position, null, created.get(j))
+              : succeeded(Operation.CREATE, position, HttpStatus.CREATED, created.get(j).user());
+    }
+    return Arrays.asList(results);
+  }
+
+  private List<UserBatchResult> replace(List<UserBatchItem<UserCreateRequest>> items) {
+    UserBatchResult[] results = new UserBatchResult[items.size()];
+    List<String> errors = validator.validateEach(requests(items));
+
+    List<Integer> positions = new ArrayList<>(items.size());
+    List<User> users = new ArrayList<>(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      UserBatchItem<UserCreateRequest> item = items.get(i);
+      UUID id = item == null ? null : UuidParser.parse(item.id());
+      if (item == null) {
+        results[i] = failed(Operation.REPLACE, i, null, HttpStatus.BAD_REQUEST, errors.get(i));
+      } else if (id == null) {
+        results[i] = invalidId(Operation.REPLACE, i, item.id());
+      } else if (errors.get(i) != null) {
+        results[i] = failed(Operation.REPLACE, i, item.id(), HttpStatus.BAD_REQUEST, errors.get(i));
+      } else {
+        positions.add(i);
+        users.add(mapper.toEntity(id, item.user()));
+      }
+    }
+
+    List<UUID> ids = users.stream().map(User::getId).toList();
+    complete(Operation.REPLACE, positions, ids, repository.replaceUsers(users), results);
+    return Arrays.asList(results);
+  }
+
+  private List<UserBatchResult> update(List<UserBatchItem<UserUpdateRequest>> items) {
+    UserBatchResult[] results = new UserBatchResult[items.size()];
+    List<String> errors = validator.validateEach(requests(items));
+
+    List<Integer> positions = new ArrayList<>(items.size());
+    List<UUID> ids = new ArrayList<>(items.size());
+    List<UnaryOperator<User>> updates = new ArrayList<>(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      UserBatchItem<UserUpdateRequest> item = items.get(i);
+      UUID id = item == null ? null : UuidParser.parse(item.id());
+      if (item == null) {
+        results[i] = failed(Operation.UPDATE, i, null, HttpStatus.BAD_REQUEST, errors.get(i));
+      } else if (id == null) {
+        results[i] = invalidId(Operation.UPDATE, i, item.id());
+      } else if (errors.get(i) != null) {
+        results[i] = failed(Operation.UPDATE, i, item.id(), HttpStatus.BAD_REQUEST, errors.get(i));
+      } else {
+        User requested = mapper.toEntity(id, item.user());
+        positions.add(i);
+        ids.add(id);
+        updates.add(existing -> UserService.buildUserUpdate(existing, requested));
+      }
+    }
+
+    complete(Operation.UPDATE, positions, ids, repository.updateUsers(ids, updates), results);
+    return Arrays.asList(results);
+  }
+
+  private List<UserBatchResult> delete(List<String> rawIds) {
+    UserBatchResult[] results = new UserBatchResult[rawIds.size()];
+
+    List<Integer> positions = new ArrayList<>(rawIds.size());
+    List<UUID> ids = new ArrayList<>(rawIds.size());
+    for (int i = 0; i < rawIds.size(); i++) {
+      UUID id = UuidParser.parse(rawIds.get(i));
+      if (id == null) {
+        results[i] = invalidId(Operation.DELETE, i, rawIds.get(i));
+      } else {
+        positions.add(i);
+        ids.add(id);
+      }
+    }
+
+    List<User> deleted = repository.deleteUsers(ids);
+    for (int j = 0; j < deleted.size(); j++) {
+      int position = positions.get(j);
+      results[position] =
+          deleted.get(j) == null
+              ? notFound(Operation.DELETE, position, ids.get(j))
+              : UserBatchResult.builder()
+                  .operation(Operation.DELETE)
+                  .index(position)
+                  .id(ids.get(j).toString())
+                  .status(HttpStatus.OK.value())
+                  .build();
+    }
+    return Arrays.asList(results);
+  }
+
+  /** A missing item is passed on as a missing request, which the validator reports. */
+  private static <T> List<T> requests(List<UserBatchItem<T>> items) {
+    return items.stream().map(item -> item == null ? null : item.user()).toList();
+  }
+
+  private void complete(
+      Operation operation,
+      List<Integer> positions,
+      List<UUID> ids,
+      List<UserWriteResult> stored,
+      UserBatchResult[] results) {
+    for (int j = 0; j < stored.size(); j++) {
+      int position = positions.get(j);
+      UserWriteResult result = stored.get(j);
+      results[position] =
+          result.conflict() != null
+              ? conflict(operation, position, ids.get(j), result)
+              : result.user() == null
+                  ? notFound(operation, position, ids.get(j))
+                  : succeeded(operation, position, HttpStatus.OK, result.user());
+    }
+  }
+
+  private UserBatchResult succeeded(Operation operation, int index, HttpStatus status, User user) {
+    return UserBatchResult.builder()
+        .operation(operation)
+        .index(index)
+        .id(user.getId().toString())
+        .status(status.value())
+        .user(mapper.toResponse(user))
+        .build();
+  }
+
+  private static UserBatchResult notFound(Operation operation, int index, UUID id) {
+    return failed(
+        operation, index, id.toString(), HttpStatus.NOT_FOUND, "User not found by id=" + id);
+  }
+
+  private static UserBatchResult conflict(
+      Operation operation, int index, UUID id, UserWriteResult result) {
+    return failed(
+        operation,
+        index,
+        id == null ? null : id.toString(),
+        HttpStatus.CONFLICT,
+        result.conflict().getMessage());
+  }
+
+  private static UserBatchResult invalidId(Operation operation, int index, String id) {
+    return failed(operation, index, id, HttpStatus.BAD_REQUEST, "Invalid id=" + id);
+  }
+
+  private static UserBatchResult failed(
+      Operation operation, int index, String id, HttpStatus status, String error) {
+    return UserBatchResult.builder()
+        .operation(operation)
+        .index(index)
+        .id(id)
+        .status(status.value())
+        .error(error)
+        .build();
+  }
+
+  /** Draws the random bits of all ids at once instead of one {@link UUID#randomUUID()} each. */
+  static UUID[] randomIds(int count) {
+    byte[] bytes = new byte[count * 16];
+    ID_SOURCE.nextBytes(bytes);
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    UUID[] ids = new UUID[count];
+    for (int i = 0; i < count; i++) {
+      long msb = (buffer.getLong() & ~0xF000L) | 0x4000L;
+      long lsb = (buffer.getLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+      ids[i] = new UUID(msb, lsb);
+    }
+    return ids;
+  }
+}
@@ -0,0 +1,126 @@
+package com.test.assignment.service;
+
+import com.test.assignment.domain.BirthDateBucket;
+import com.test.assignment.domain.response.UserCountResult;
+import com.test.assignment.exception.InvalidPathVariableException;
+import com.test.assignment.repository.BirthDateHistogram;
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Counts users per bucket of birth days from the {@link BirthDateHistogram}, so an answer costs
+ * O(buckets) histogram lookups however many users there are. Days are whole, both ends of the
+ * window are included, and the first and last buckets are cut to the window.
+ */
+@Service
+public class UserCountService {
+  private final BirthDateHistogram histogram;
+  private final Clock clock;
+  private final int maxBuckets;
+
+  public UserCountService(
+      BirthDateHistogram histogram,
+      Clock clock,
+      @Value("${aggregation.maxBuckets}") int maxBuckets) {
+    this.histogram = histogram;
+    this.clock = clock;
+    this.maxBuckets = maxBuckets;
+  }
+
+  /**
+   * Day, month and year buckets of {@code size} units start at {@code from}; age buckets hold
+   * {@code size} ages each, aligned to multiples of {@code size}.
+   */
+  public List<UserCountResult> countUsersByBirthDate(
+      LocalDateTime from, LocalDateTime to, BirthDateBucket bucket, int size) {
+    if (size < 1) {
+      throw new InvalidPathVariableException("Invalid request! 'size' should be positive!");
+    }
+    LocalDate first = from.toLocalDate();
+    LocalDate last = to.toLocalDate();
+    return bucket == BirthDateBucket.AGE
+        ? countByAge(first, last, size)
+        : countByDate(first, last, bucket, size);
+  }
+
+  private List<UserCountResult> countByDate(
+      LocalDate first, LocalDate last, BirthDateBucket bucket, int size) {
+    List<UserCountResult> results = new ArrayList<>();
+    LocalDate start = first;
+    while (!start.isAfter(last)) {
+      LocalDate next = plus(start, bucket, size);
+      LocalDate end = next.isAfter(last) ? last : next.minusDays(1);
+      add(results, start, end, null);
+      start = next;
+    }
+    return results;
+  }
+
+  /** Youngest first; birth days after today are in no age bucket. */
+  private List<UserCountResult> countByAge(LocalDate first, LocalDate last, int size) {
+    LocalDate today = LocalDate.now(clock);
+    List<UserCountResult> results = new ArrayList<>();
+    long youngest = Math.max(ChronoUnit.YEARS.between(last, today) - 1, 0);
+    for (long age = youngest / size * size; ; age += size) {
+      LocalDate end = lastBornAtAge(today, age);
+      if (end.isBefore(first)) {
+        return results;
+      }
+      LocalDate start = lastBornAtAge(today, age + size).plusDays(1);
+      if (!start.isAfter(last)) {
+        add(
+            results,
+            start.isBefore(first) ? first : start,
+            end.isAfter(last) ? last : end,
+            (int) age);
+      }
+    }
+  }
+
+  private void add(List<UserCountResult> results, LocalDate from, LocalDate to, Integer age) {
+    if (results.size() == maxBuckets) {
+      throw new InvalidPathVariableException(
+          "Invalid request! Counts should not exceed " + maxBuckets + " buckets!");
+    }
+    results.add(
+        UserCountResult.builder()
+            .from(from)
+            .to(to)
+            .age(age)
+            .count(histogram.count(from, to))
+            .build());
+  }
+
+  private static LocalDate plus(LocalDate start, BirthDateBucket bucket, int size) {
+    try {
+      return switch (bucket) {
+        case DAY -> start.plusDays(size);
+        case MONTH -> start.plusMonths(size);
+        default -> start.plusYears(size);
+      };
+    } catch (DateTimeException e) {
+      return LocalDate.MAX;
+    }
+  }
+
+  /**
+   * The last birth day that is {@code age} years old today, by the same rule as the birth date
+   * validation: one born on February 29 turns a year older on February 28 of a common year.
+   */
+  static LocalDate lastBornAtAge(LocalDate today, long age) {
+    try {
+      LocalDate last = today.minusYears(age);
+      LocalDate next = last.plusDays(1);
+      return next.plusYears(age).isAfter(today) ? last : next;
+    } catch (DateTimeException e) {
+      return LocalDate.MIN;
+    }
+  }
+}
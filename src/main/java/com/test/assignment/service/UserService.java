@@ -1,24 +1,35 @@
 package com.test.assignment.service;
 
 import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import com.test.assignment.domain.UserPage;
 import com.test.assignment.domain.request.UserCreateRequest;
 import com.test.assignment.domain.request.UserUpdateRequest;
 import com.test.assignment.domain.response.UserResponse;
+import com.test.assignment.exception.ClientErrorLogLimiter;
 import com.test.assignment.exception.EntityNotFoundException;
+import com.test.assignment.exception.PreconditionFailedException;
 import com.test.assignment.repository.UserRepository;
 import com.test.assignment.service.mapper.UserMapper;
+import io.micrometer.core.annotation.Timed;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 
 @Log4j2
 @Service
+@Timed(value = "user.service", histogram = true)
 @RequiredArgsConstructor
 public class UserService {
+  static final int STREAM_BATCH_SIZE = 500;
+  private static final ClientErrorLogLimiter CLIENT_ERROR_LOG = new ClientErrorLogLimiter(10);
 
   private final UserMapper mapper;
   private final UserRepository repository;
@@ -31,56 +42,127 @@ public class UserService {
     return mapper.toResponse(created);
   }
 
-  public UserResponse updateUser(UUID id, UserUpdateRequest user) {
-    User existing = repository.findUserById(id);
-    if (existing == null) {
-      log.warn("Could not update not existing user id=" + id);
+  /** A null {@code expectedVersion} updates whatever version is stored. */
+  public UserResponse updateUser(UUID id, UserUpdateRequest user, Long expectedVersion) {
+    User requested = mapper.toEntity(id, user);
+    User updated =
+        repository.updateUser(
+            id, ifVersion(id, expectedVersion, existing -> buildUserUpdate(existing, requested)));
+    if (updated == null) {
+      logNotFound("update", id);
       throw new EntityNotFoundException(id);
     }
-
-    User requested = mapper.toEntity(id, user);
-    User updated = repository.updateUser(id, buildUserUpdate(existing, requested));
     log.info("User updated successfully, id={}", updated.getId());
 
     return mapper.toResponse(updated);
   }
 
-  public UserResponse replaceUser(UUID id, UserCreateRequest user) {
-    User existing = repository.findUserById(id);
-    if (existing == null) {
-      log.warn("Could not replace not existing user id=" + id);
+  /** A null {@code expectedVersion} replaces whatever version is stored. */
+  public UserResponse replaceUser(UUID id, UserCreateRequest user, Long expectedVersion) {
+    User requested = mapper.toEntity(id, user);
+    User updated =
+        expectedVersion == null
+            ? repository.replaceUser(id, requested)
+            : repository.updateUser(id, ifVersion(id, expectedVersion, existing -> requested));
+    if (updated == null) {
+      logNotFound("replace", id);
       throw new EntityNotFoundException(id);
     }
-
-    User requested = mapper.toEntity(id, user);
-    User updated = repository.replaceUser(id, requested);
     log.info("User replaced successfully, id={}", updated.getId());
 
     return mapper.toResponse(updated);
   }
 
   public void deleteUser(UUID id) {
-    User existing = repository.findUserById(id);
-    if (existing == null) {
-      log.warn("Could not delete not existing user id=" + id);
+    if (repository.deleteUser(id) == null) {
+      logNotFound("delete", id);
       throw new EntityNotFoundException(id);
     }
-
-    repository.deleteUser(id);
     log.info("User deleted successfully, id={}", id);
   }
 
-  public List<UserResponse> getUsersByBirthDateRange(LocalDateTime from, LocalDateTime to) {
-    List<User> users = repository.findUsersByBirthDateRange(from, to);
-    if (users.isEmpty()) {
-      log.warn("Could not find not users by range " + from + " - " + to);
+  public UserResponse getUser(UUID id) {
+    User user = repository.findUserById(id);
+    if (user == null) {
+      logNotFound("find", id);
+      throw new EntityNotFoundException(id);
+    }
+
+    return mapper.toResponse(user);
+  }
+
+  public UserResponse getUserByEmail(String email) {
+    User user = repository.findUserByEmail(email);
+    if (user == null) {
+      logEmailNotFound();
+      throw new EntityNotFoundException("User not found by email=" + email);
+    }
+
+    return mapper.toResponse(user);
+  }
+
+  /** An empty list when nothing matches, search results are never an error. */
+  public List<User> searchUsers(String query, int limit) {
+    return repository.searchUsersByName(query, limit);
+  }
+
+  /**
+   * Lists of users are answered with the stored users themselves, {@code UserSerializer} writes
+   * each one like its {@link UserResponse} without mapping it first. Ranges cover whole days, see
+   * {@link #firstInstant} and {@link #lastInstant}.
+   */
+  public UserPage getUsersByBirthDateRange(
+      LocalDateTime from, LocalDateTime to, UserCursor cursor, int limit) {
+    List<User> users =
+        repository.findUsersByBirthDateRange(
+            firstInstant(from), lastInstant(to), cursor, limit + 1);
+    if (users.isEmpty() && cursor == null) {
+      logRangeNotFound(from, to);
       throw new EntityNotFoundException("Users not found by DateRange=" + from + " - " + to);
     }
+    return page(users, limit);
+  }
+
+  /** The first {@code limit} of the users read, with a cursor when there were more. */
+  static UserPage page(List<User> users, int limit) {
+    boolean hasMore = users.size() > limit;
+    List<User> page = hasMore ? users.subList(0, limit) : users;
+    UserCursor nextCursor = hasMore ? UserCursor.of(page.get(limit - 1)) : null;
+    return new UserPage(page, nextCursor);
+  }
+
+  /**
+   * Lazily pages through the range, so only one batch is held at a time and the next batch is only
+   * read once the consumer has taken the previous one.
+   */
+  public Stream<User> streamUsersByBirthDateRange(LocalDateTime from, LocalDateTime to) {
+    LocalDateTime first = firstInstant(from);
+    LocalDateTime last = lastInstant(to);
+    return Stream.iterate(
+            repository.findUsersByBirthDateRange(first, last, null, STREAM_BATCH_SIZE),
+            batch -> !batch.isEmpty(),
+            batch ->
+                batch.size() < STREAM_BATCH_SIZE
+                    ? List.of()
+                    : repository.findUsersByBirthDateRange(
+                        first, last, UserCursor.of(batch.get(batch.size() - 1)), STREAM_BATCH_SIZE))
+        .flatMap(List::stream);
+  }
 
-    return mapper.toResponses(users);
+  /**
+   * Ranges hold every user born on the day of {@code from}, like the whole-day counts of {@link
+   * UserCountService}, so a count and the list of the same range agree.
+   */
+  static LocalDateTime firstInstant(LocalDateTime from) {
+    return from.toLocalDate().atStartOfDay();
   }
 
-  private User buildUserUpdate(User existing, User requested) {
+  /** Every user born on the day of {@code to}, not only those born at its midnight. */
+  static LocalDateTime lastInstant(LocalDateTime to) {
+    return to.toLocalDate().atTime(LocalTime.MAX);
+  }
+
+  static User buildUserUpdate(User existing, User requested) {
     return existing.toBuilder()
         .firstName(resolve(existing.getFirstName(), requested.getFirstName()))
         .lastName(resolve(existing.getLastName(), requested.getLastName()))
@@ -91,6 +173,44 @@ public class UserService {
         .build();
   }
 
+  /** The check runs inside the repository's atomic update, so no other write can slip in. */
+  static UnaryOperator<User> ifVersion(
+      UUID id, Long expectedVersion, UnaryOperator<User> update) {
+    return existing -> {
+      if (expectedVersion != null && existing.getVersion() != expectedVersion) {
+        long suppressed = CLIENT_ERROR_LOG.tryAcquire();
+        if (suppressed >= 0) {
+          log.warn(
+              "Could not change user id={}, version does not match, suppressed={}", id, suppressed);
+        }
+        throw new PreconditionFailedException(id, expectedVersion, existing.getVersion());
+      }
+      return update.apply(existing);
+    };
+  }
+
+  /** Unknown ids are expected client errors, so they are logged at a limited rate. */
+  static void logNotFound(String action, UUID id) {
+    long suppressed = CLIENT_ERROR_LOG.tryAcquire();
+    if (suppressed >= 0) {
+      log.warn("Could not {} not existing user id={}, suppressed={}", action, id, suppressed);
+    }
+  }
+
+  static void logEmailNotFound() {
+    long suppressed = CLIENT_ERROR_LOG.tryAcquire();
+    if (suppressed >= 0) {
+      log.warn("Could not find not existing user by email, suppressed={}", suppressed);
+    }
+  }
+
+  static void logRangeNotFound(LocalDateTime from, LocalDateTime to) {
+    long suppressed = CLIENT_ERROR_LOG.tryAcquire();
+    if (suppressed >= 0) {
+      log.warn("Could not find users by range {} - {}, suppressed={}", from, to, suppressed);
+    }
+  }
+
   private static <T> T resolve(T existing, T requested) {
     return Optional.ofNullable(requested).orElse(existing);
   }
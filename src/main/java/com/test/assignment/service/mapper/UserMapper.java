@@ -4,9 +4,11 @@ import com.test.assignment.domain.User;
 import com.test.assignment.domain.request.UserCreateRequest;
 import com.test.assignment.domain.request.UserUpdateRequest;
 import com.test.assignment.domain.response.UserResponse;
+import io.micrometer.core.annotation.Timed;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.mapstruct.AnnotateWith;
 import org.mapstruct.InjectionStrategy;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -14,6 +16,12 @@ import org.mapstruct.Mappings;
 import org.mapstruct.Named;
 import org.mapstruct.ReportingPolicy;
 
+@AnnotateWith(
+    value = Timed.class,
+    elements = {
+      @AnnotateWith.Element(name = "value", strings = "user.mapper"),
+      @AnnotateWith.Element(name = "histogram", booleans = true)
+    })
 @Mapper(
     componentModel = "spring",
     injectionStrategy = InjectionStrategy.CONSTRUCTOR,
@@ -27,7 +35,8 @@ public interface UserMapper {
         @Mapping(target = "email", source = "request.email", qualifiedByName = "trim"),
         @Mapping(target = "birthDate", source = "request.birthDate"),
         @Mapping(target = "address", source = "request.address"),
-        @Mapping(target = "phoneNumber", source = "request.phoneNumber")
+        @Mapping(target = "phoneNumber", source = "request.phoneNumber"),
+        @Mapping(target = "version", ignore = true)
       })
   User toEntity(UserCreateRequest request);
 
@@ -39,7 +48,8 @@ public interface UserMapper {
         @Mapping(target = "email", source = "request.email", qualifiedByName = "trim"),
         @Mapping(target = "birthDate", source = "request.birthDate"),
         @Mapping(target = "address", source = "request.address"),
-        @Mapping(target = "phoneNumber", source = "request.phoneNumber")
+        @Mapping(target = "phoneNumber", source = "request.phoneNumber"),
+        @Mapping(target = "version", ignore = true)
       })
   User toEntity(UUID requestedId, UserCreateRequest request);
 
@@ -51,7 +61,8 @@ public interface UserMapper {
         @Mapping(target = "email", source = "request.email", qualifiedByName = "trim"),
         @Mapping(target = "birthDate", source = "request.birthDate"),
         @Mapping(target = "address", source = "request.address"),
-        @Mapping(target = "phoneNumber", source = "request.phoneNumber")
+        @Mapping(target = "phoneNumber", source = "request.phoneNumber"),
+        @Mapping(target = "version", ignore = true)
       })
   User toEntity(UUID requestedId, UserUpdateRequest request);
 
@@ -63,7 +74,8 @@ public interface UserMapper {
         @Mapping(target = "email", source = "entity.email"),
         @Mapping(target = "birthDate", source = "entity.birthDate"),
         @Mapping(target = "address", source = "entity.address"),
-        @Mapping(target = "phoneNumber", source = "entity.phoneNumber")
+        @Mapping(target = "phoneNumber", source = "entity.phoneNumber"),
+        @Mapping(target = "version", source = "entity.version")
       })
   UserResponse toResponse(User entity);
 
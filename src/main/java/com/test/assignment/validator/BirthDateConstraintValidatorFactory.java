@@ -0,0 +1,45 @@
+package com.test.assignment.validator;
+
+import jakarta.validation.Configuration;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorFactory;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Bean Validation outside Spring: creates every {@link BirthDateValidator} for the given {@link
+ * BirthDateCutoff} and leaves the other constraint validators to the provider's factory. Time
+ * constraints such as {@code @Past} read the cutoff's clock as well.
+ */
+public class BirthDateConstraintValidatorFactory implements ConstraintValidatorFactory {
+  private final ConstraintValidatorFactory delegate;
+  private final BirthDateCutoff cutoff;
+
+  private BirthDateConstraintValidatorFactory(
+      ConstraintValidatorFactory delegate, BirthDateCutoff cutoff) {
+    this.delegate = delegate;
+    this.cutoff = cutoff;
+  }
+
+  public static ValidatorFactory buildValidatorFactory(BirthDateCutoff cutoff) {
+    Configuration<?> configuration = Validation.byDefaultProvider().configure();
+    return configuration
+        .constraintValidatorFactory(
+            new BirthDateConstraintValidatorFactory(
+                configuration.getDefaultConstraintValidatorFactory(), cutoff))
+        .clockProvider(cutoff::getClock)
+        .buildValidatorFactory();
+  }
+
+  @Override
+  public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+    return key == BirthDateValidator.class
+        ? key.cast(new BirthDateValidator(cutoff))
+        : delegate.getInstance(key);
+  }
+
+  @Override
+  public void releaseInstance(ConstraintValidator<?, ?> instance) {
+    delegate.releaseInstance(instance);
+  }
+}
@@ -0,0 +1,100 @@
+package com.test.assignment.validator;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Decides whether a birth date is at least {@code minAllowedAge} years before now, exactly like
+ * {@code birthDate.plusYears(minAllowedAge)} not being after now, without that allocation. The
+ * dates at the edge of the allowed range are computed once per day of {@code clock}, so a birth
+ * date on any other day is one date comparison; only the edge days compare the time of day. The
+ * edge is recomputed on the first check on another day, also after the clock was set back, and
+ * whenever the age changes, which takes effect without a restart.
+ */
+@Log4j2
+public class BirthDateCutoff {
+  public static final long DEFAULT_MIN_ALLOWED_AGE = 18;
+
+  private final Clock clock;
+  private final AtomicReference<Edge> edge;
+
+  public BirthDateCutoff(Clock clock, long minAllowedAge) {
+    this.clock = clock;
+    this.edge = new AtomicReference<>(Edge.of(minAllowedAge, clock.millis(), clock));
+  }
+
+  public static BirthDateCutoff systemDefault() {
+    return new BirthDateCutoff(Clock.systemDefaultZone(), DEFAULT_MIN_ALLOWED_AGE);
+  }
+
+  /** The clock any other check of the same request must read as well. */
+  public Clock getClock() {
+    return clock;
+  }
+
+  public long getMinAllowedAge() {
+    return edge.get().minAllowedAge();
+  }
+
+  public void setMinAllowedAge(long minAllowedAge) {
+    edge.set(Edge.of(minAllowedAge, clock.millis(), clock));
+    log.info("Minimal allowed age changed, minAllowedAge={}", minAllowedAge);
+  }
+
+  /** Reads the clock once, so both the day and the time of day refer to the same instant. */
+  public boolean isOldEnough(LocalDateTime birthDate) {
+    long now = clock.millis();
+    Edge current = edge.get();
+    if (now < current.validFrom() || now >= current.validUntil()) {
+      Edge next = Edge.of(current.minAllowedAge(), now, clock);
+      edge.compareAndSet(current, next);
+      current = next;
+    }
+    LocalDate date = birthDate.toLocalDate();
+    if (date.isBefore(current.first())) {
+      return true;
+    }
+    if (date.isAfter(current.last())) {
+      return false;
+    }
+    LocalTime timeOfDay = LocalTime.ofInstant(Instant.ofEpochMilli(now), clock.getZone());
+    return !birthDate.toLocalTime().isAfter(timeOfDay);
+  }
+
+  /**
+   * Birth dates from {@code first} to {@code last} turn {@code minAllowedAge} today and are only
+   * old enough once their time of day has passed. That is a single day, except on February 28 of a
+   * common year, when those born on February 29 of a leap year turn the same age, and on February
+   * 29 counting back to a common year, when those born on February 28 turned it yesterday and
+   * nobody is on the edge.
+   */
+  private record Edge(
+      long minAllowedAge, LocalDate first, LocalDate last, long validFrom, long validUntil) {
+
+    static Edge of(long minAllowedAge, long now, Clock clock) {
+      LocalDate today = LocalDate.ofInstant(Instant.ofEpochMilli(now), clock.getZone());
+      LocalDate first = today.minusYears(minAllowedAge);
+      LocalDate last = first;
+      if (today.getMonth() == Month.FEBRUARY && today.isLeapYear() != first.isLeapYear()) {
+        if (today.getDayOfMonth() == 28 && first.isLeapYear()) {
+          last = first.plusDays(1);
+        } else if (today.getDayOfMonth() == 29) {
+          first = first.plusDays(1);
+          last = first.minusDays(1);
+        }
+      }
+      return new Edge(
+          minAllowedAge,
+          first,
+          last,
+          today.atStartOfDay(clock.getZone()).toInstant().toEpochMilli(),
+          today.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli());
+    }
+  }
+}
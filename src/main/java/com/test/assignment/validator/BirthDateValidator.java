@@ -3,31 +3,19 @@ package com.test.assignment.validator;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import java.time.LocalDateTime;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.PropertySource;
+import lombok.RequiredArgsConstructor;
 
-@PropertySource("classpath:application.properties")
+/**
+ * Checks the age against the shared {@link BirthDateCutoff} bean, so a change of the minimal
+ * allowed age applies to validators already created. Outside Spring the cutoff comes from a
+ * {@link BirthDateConstraintValidatorFactory}.
+ */
+@RequiredArgsConstructor
 public class BirthDateValidator implements ConstraintValidator<ValidBirthDate, LocalDateTime> {
-  private static final long DEFAULT_AGE = 18;
-
-  @Value("${validation.minAllowedAge}")
-  private long minAllowedAge;
-
-  @Override
-  public void initialize(ValidBirthDate constraintAnnotation) {
-    ConstraintValidator.super.initialize(constraintAnnotation);
-    if (minAllowedAge == 0) {
-      minAllowedAge = DEFAULT_AGE;
-    }
-  }
+  private final BirthDateCutoff cutoff;
 
   @Override
   public boolean isValid(LocalDateTime value, ConstraintValidatorContext context) {
-    if (value == null) {
-      return true;
-    }
-
-    var calculated = value.plusYears(minAllowedAge);
-    return calculated.isBefore(LocalDateTime.now()) || calculated.isEqual(LocalDateTime.now());
+    return value == null || cutoff.isOldEnough(value);
   }
 }
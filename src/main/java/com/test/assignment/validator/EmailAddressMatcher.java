@@ -0,0 +1,95 @@
+package com.test.assignment.validator;
+
+/**
+ * Linear time matcher of the email grammar of {@link UserRequestValidator#EMAIL_REGEX}: one or more
+ * dot separated runs of {@code [a-zA-Z0-9_+&*-]}, a single '@', then at least two dot separated
+ * labels of {@code [a-zA-Z0-9-]} of which the last is 2 to 7 ASCII letters. Every char is looked at
+ * once or twice and nothing is allocated, where the regex backtracks through its nested groups and
+ * recurses once per repetition, which overflows the stack on long input.
+ */
+public final class EmailAddressMatcher {
+  private static final int MIN_TOP_LEVEL_DOMAIN_LENGTH = 2;
+  private static final int MAX_TOP_LEVEL_DOMAIN_LENGTH = 7;
+
+  private EmailAddressMatcher() {}
+
+  /** Whether the whole of {@code email} is an address of the grammar; null is not. */
+  public static boolean matches(CharSequence email) {
+    if (email == null) {
+      return false;
+    }
+    int at = indexOf(email, '@');
+    if (at < 1) {
+      return false;
+    }
+    boolean segmentStart = true;
+    for (int i = 0; i < at; i++) {
+      char c = email.charAt(i);
+      if (c == '.' && !segmentStart) {
+        segmentStart = true;
+      } else if (isLocalChar(c)) {
+        segmentStart = false;
+      } else {
+        return false;
+      }
+    }
+    if (segmentStart) {
+      return false;
+    }
+
+    int labels = 0;
+    int labelStart = at + 1;
+    int lastLabelStart = labelStart;
+    for (int i = labelStart; i <= email.length(); i++) {
+      if (i == email.length() || email.charAt(i) == '.') {
+        if (i == labelStart) {
+          return false;
+        }
+        labels++;
+        lastLabelStart = labelStart;
+        labelStart = i + 1;
+      } else if (!isDomainChar(email.charAt(i))) {
+        return false;
+      }
+    }
+    int topLevelDomainLength = email.length() - lastLabelStart;
+    if (labels < 2
+        || topLevelDomainLength < MIN_TOP_LEVEL_DOMAIN_LENGTH
+        || topLevelDomainLength > MAX_TOP_LEVEL_DOMAIN_LENGTH) {
+      return false;
+    }
+    for (int i = lastLabelStart; i < email.length(); i++) {
+      if (!isAsciiLetter(email.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int indexOf(CharSequence value, char c) {
+    for (int i = 0; i < value.length(); i++) {
+      if (value.charAt(i) == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isLocalChar(char c) {
+    return isAsciiLetter(c)
+        || c >= '0' && c <= '9'
+        || c == '_'
+        || c == '+'
+        || c == '&'
+        || c == '*'
+        || c == '-';
+  }
+
+  private static boolean isDomainChar(char c) {
+    return isAsciiLetter(c) || c >= '0' && c <= '9' || c == '-';
+  }
+
+  private static boolean isAsciiLetter(char c) {
+    return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+  }
+}
@@ -0,0 +1,62 @@
+package com.test.assignment.validator;
+
+import com.test.assignment.domain.request.UserCreateRequest;
+import com.test.assignment.domain.request.UserUpdateRequest;
+import java.time.LocalDateTime;
+
+/**
+ * The constraints of {@link UserCreateRequest} and {@link UserUpdateRequest} written out against
+ * their components, so the common valid request is accepted without reflection and without
+ * allocating violations. It only tells whether a request is valid; a rejected request goes through
+ * Bean Validation to build the messages. The checks must follow the annotations on both records,
+ * including {@link ValidEmail} and {@link BirthDateValidator}.
+ */
+public final class FastUserRequestValidator {
+  private static final int MIN_NAME_LENGTH = 2;
+  private static final int MAX_NAME_LENGTH = 30;
+
+  private FastUserRequestValidator() {}
+
+  /** False for any other type of request, which then always gets the full validation. */
+  public static boolean isValid(Object request, BirthDateCutoff cutoff) {
+    if (request instanceof UserCreateRequest create) {
+      return create.firstName() != null
+          && create.lastName() != null
+          && create.email() != null
+          && create.birthDate() != null
+          && isValidName(create.firstName())
+          && isValidName(create.lastName())
+          && isValidEmail(create.email())
+          && isValidBirthDate(create.birthDate(), cutoff);
+    }
+    if (request instanceof UserUpdateRequest update) {
+      return isValidName(update.firstName())
+          && isValidName(update.lastName())
+          && isValidEmail(update.email())
+          && isValidBirthDate(update.birthDate(), cutoff);
+    }
+    return false;
+  }
+
+  /** {@code @Size(min = 2, max = 30)}, which counts UTF-16 chars like {@link String#length}. */
+  private static boolean isValidName(String name) {
+    return name == null || name.length() >= MIN_NAME_LENGTH && name.length() <= MAX_NAME_LENGTH;
+  }
+
+  private static boolean isValidEmail(String email) {
+    return email == null || EmailAddressMatcher.matches(email);
+  }
+
+  /**
+   * {@code @ValidBirthDate}, which for an age of at least a year also implies {@code @Past}, so
+   * only an age of zero reads the cutoff's clock again.
+   */
+  private static boolean isValidBirthDate(LocalDateTime birthDate, BirthDateCutoff cutoff) {
+    if (birthDate == null) {
+      return true;
+    }
+    return cutoff.isOldEnough(birthDate)
+        && (cutoff.getMinAllowedAge() > 0
+            || birthDate.isBefore(LocalDateTime.now(cutoff.getClock())));
+  }
+}
@@ -1,10 +1,15 @@
 package com.test.assignment.validator;
 
+import com.test.assignment.exception.ClientErrorLogLimiter;
 import com.test.assignment.exception.InvalidPathVariableException;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
@@ -13,27 +18,80 @@ import org.springframework.stereotype.Service;
 
 @Log4j2
 @Service
+@Timed(value = "user.validator", histogram = true)
 @RequiredArgsConstructor
 public class UserRequestValidator {
+  /** Grammar of a valid email, matched in linear time by {@link EmailAddressMatcher}. */
   public static final String EMAIL_REGEX =
       "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
+  private static final ClientErrorLogLimiter FAILED_VALIDATION_LOG = new ClientErrorLogLimiter(10);
+  private static final String VALIDATION_FAILURES = "user.validation.failures";
   private final Validator validator;
+  private final BirthDateCutoff birthDateCutoff;
+  private final MeterRegistry meterRegistry;
 
+  /**
+   * Accepts valid user requests through {@link FastUserRequestValidator}; only a request it rejects
+   * pays for Bean Validation, which also produces the messages.
+   */
   public <T> void validate(T request) {
+    if (isValidFast(request)) {
+      return;
+    }
     Set<ConstraintViolation<T>> violations = validator.validate(request);
     if (!violations.isEmpty()) {
-      log.error(
-          "Request failed validation: {}",
-          violations.stream()
-              .map(ConstraintViolation::getMessage)
-              .collect(Collectors.joining(". ")));
+      meterRegistry.counter(VALIDATION_FAILURES).increment();
+      long suppressed = FAILED_VALIDATION_LOG.tryAcquire();
+      if (suppressed >= 0) {
+        log.error(
+            "Request failed validation: {}, suppressed={}",
+            violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining(". ")),
+            suppressed);
+      }
       throw new ConstraintViolationException(violations);
     }
   }
 
+  /**
+   * Validates every request and returns the joined violation messages per position, null for a
+   * valid request. Failures are logged once for the whole list.
+   */
+  public <T> List<String> validateEach(List<T> requests) {
+    List<String> errors = new ArrayList<>(requests.size());
+    int failed = 0;
+    for (T request : requests) {
+      String error = request == null ? "Request must not be null" : violations(request);
+      errors.add(error);
+      failed += error == null ? 0 : 1;
+    }
+    if (failed > 0) {
+      meterRegistry.counter(VALIDATION_FAILURES).increment(failed);
+      log.error("Batch requests failed validation: {} of {}", failed, requests.size());
+    }
+    return errors;
+  }
+
   public void validateRangeRequestParam(LocalDateTime from, LocalDateTime to) {
     if (from.isAfter(to)) {
       throw new InvalidPathVariableException("Invalid request! 'From' date should be before 'to'!");
     }
   }
+
+  private boolean isValidFast(Object request) {
+    return FastUserRequestValidator.isValid(request, birthDateCutoff);
+  }
+
+  private <T> String violations(T request) {
+    if (isValidFast(request)) {
+      return null;
+    }
+    Set<ConstraintViolation<T>> violations = validator.validate(request);
+    return violations.isEmpty()
+        ? null
+        : violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .collect(Collectors.joining(". "));
+  }
 }
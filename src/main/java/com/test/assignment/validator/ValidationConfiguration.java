@@ -0,0 +1,24 @@
+package com.test.assignment.validator;
+
+import java.time.Clock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ValidationConfiguration {
+
+  @Bean
+  @ConditionalOnMissingBean
+  public Clock clock() {
+    return Clock.systemDefaultZone();
+  }
+
+  @Bean
+  public BirthDateCutoff birthDateCutoff(
+      Clock clock, @Value("${validation.minAllowedAge:0}") long minAllowedAge) {
+    return new BirthDateCutoff(
+        clock, minAllowedAge == 0 ? BirthDateCutoff.DEFAULT_MIN_ALLOWED_AGE : minAllowedAge);
+  }
+}
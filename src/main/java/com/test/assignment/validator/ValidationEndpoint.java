@@ -0,0 +1,39 @@
+package com.test.assignment.validator;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads and changes the minimal allowed age of the running application. A change is not written
+ * back to the properties and is lost on restart. The endpoint is exposed over JMX only; add it to
+ * {@code management.endpoints.web.exposure.include} only behind a separate management port
+ * ({@code management.server.port}) or with security in front of it.
+ */
+@Component
+@Endpoint(id = "validation")
+@RequiredArgsConstructor
+public class ValidationEndpoint {
+  private static final String MIN_ALLOWED_AGE = "minAllowedAge";
+
+  private final BirthDateCutoff birthDateCutoff;
+
+  @ReadOperation
+  public Map<String, Long> settings() {
+    return Map.of(MIN_ALLOWED_AGE, birthDateCutoff.getMinAllowedAge());
+  }
+
+  @WriteOperation
+  public Map<String, Long> updateMinAllowedAge(long minAllowedAge) {
+    if (minAllowedAge < 0) {
+      throw new InvalidEndpointRequestException(
+          "Minimal allowed age must not be negative", "Negative minAllowedAge");
+    }
+    birthDateCutoff.setMinAllowedAge(minAllowedAge);
+    return settings();
+  }
+}
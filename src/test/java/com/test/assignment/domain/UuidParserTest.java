@@ -0,0 +1,39 @@
+package com.test.assignment.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class UuidParserTest {
+
+  @Test
+  void testShouldParseCanonicalUuidsLikeFromString() {
+    IntStream.range(0, 10_000)
+        .mapToObj(i -> UUID.randomUUID())
+        .forEach(
+            id -> {
+              assertThat(UuidParser.parse(id.toString())).isEqualTo(id);
+              assertThat(UuidParser.parse(id.toString().toUpperCase(Locale.ROOT))).isEqualTo(id);
+            });
+    UUID allBitsSet = new UUID(-1, -1);
+    assertThat(UuidParser.parse(allBitsSet.toString())).isEqualTo(allBitsSet);
+    assertThat(UuidParser.parse("00000000-0000-0000-0000-000000000000"))
+        .isEqualTo(new UUID(0, 0));
+  }
+
+  @Test
+  void testShouldReturnNullForInvalidValues() {
+    assertThat(UuidParser.parse(null)).isNull();
+    assertThat(UuidParser.parse("")).isNull();
+    assertThat(UuidParser.parse("1-2-3-4-5")).isNull();
+    assertThat(UuidParser.parse("34ae7f06-c206-4bc1-96c6-1a79d871f9e")).isNull();
+    assertThat(UuidParser.parse("34ae7f06-c206-4bc1-96c6-1a79d871f9ebb")).isNull();
+    assertThat(UuidParser.parse("34ae7f06xc206-4bc1-96c6-1a79d871f9eb")).isNull();
+    assertThat(UuidParser.parse("34ae7f06-c206-4bc1-96c6-1a79d871f9eg")).isNull();
+    assertThat(UuidParser.parse("+4ae7f06-c206-4bc1-96c6-1a79d871f9eb")).isNull();
+    assertThat(UuidParser.parse("34ae7f06-c206-4bc1-96c6-1a79d871f9éb")).isNull();
+  }
+}
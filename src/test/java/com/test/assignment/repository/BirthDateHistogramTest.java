@@ -0,0 +1,149 @@
+package com.test.assignment.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.test.assignment.domain.User;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class BirthDateHistogramTest {
+  private static final LocalDateTime BASE_DATE = LocalDateTime.of(1990, 1, 1, 12, 0);
+
+  private final InMemoryUserRepository repository = new InMemoryUserRepository();
+
+  @Test
+  void testShouldCountUsersStoredBeforeItWasBuilt() {
+    for (int i = 0; i < 25_000; i++) {
+      repository.createUser(buildTestUser(BASE_DATE.plusDays(i % 10)));
+    }
+
+    BirthDateHistogram testable = new BirthDateHistogram(repository);
+
+    assertThat(testable.count(LocalDate.of(1990, 1, 1), LocalDate.of(1990, 1, 10)))
+        .isEqualTo(25_000);
+    assertThat(testable.count(LocalDate.of(1990, 1, 3), LocalDate.of(1990, 1, 3)))
+        .isEqualTo(2_500);
+    assertThat(testable.count(LocalDate.of(1990, 1, 11), LocalDate.of(2000, 1, 1))).isZero();
+  }
+
+  @Test
+  void testShouldFollowReportedChanges() {
+    BirthDateHistogram testable = new BirthDateHistogram(repository);
+    NotifyingUserRepository notifying = new NotifyingUserRepository(repository, List.of(testable));
+    User user = notifying.createUser(buildTestUser(BASE_DATE));
+    LocalDate day = BASE_DATE.toLocalDate();
+
+    assertThat(testable.count(day, day)).isEqualTo(1);
+
+    notifying.updateUser(
+        user.getId(), existing -> existing.toBuilder().birthDate(BASE_DATE.plusYears(1)).build());
+    assertThat(testable.count(day, day)).isZero();
+    assertThat(testable.count(day.plusYears(1), day.plusYears(1))).isEqualTo(1);
+
+    notifying.deleteUser(user.getId());
+    assertThat(testable.count(LocalDate.MIN, LocalDate.MAX)).isZero();
+  }
+
+  @Test
+  void testShouldCountDaysOutsideTheTree() {
+    BirthDateHistogram testable = new BirthDateHistogram(repository);
+    LocalDateTime ancient = LocalDateTime.of(1066, 10, 14, 0, 0);
+    LocalDateTime future = LocalDateTime.of(2200, 1, 1, 0, 0);
+
+    testable.onChange(null, buildTestUser(ancient));
+    testable.onChange(null, buildTestUser(future));
+    testable.onChange(null, buildTestUser(BASE_DATE));
+
+    assertThat(testable.count(LocalDate.MIN, LocalDate.MAX)).isEqualTo(3);
+    assertThat(testable.count(LocalDate.of(1000, 1, 1), LocalDate.of(1899, 12, 31))).isEqualTo(1);
+    assertThat(testable.count(LocalDate.of(1066, 10, 15), LocalDate.of(2199, 12, 31)))
+        .isEqualTo(1);
+
+    testable.onChange(buildTestUser(ancient), null);
+    assertThat(testable.count(LocalDate.MIN, BirthDateHistogram.FIRST_DAY)).isZero();
+  }
+
+  @Test
+  void testShouldAgreeWithRangeQueries() {
+    Random random = new Random(25);
+    for (int i = 0; i < 2_000; i++) {
+      repository.createUser(buildTestUser(BASE_DATE.plusDays(random.nextInt(3_000) - 1_500)));
+    }
+    BirthDateHistogram testable = new BirthDateHistogram(repository);
+
+    for (int i = 0; i < 200; i++) {
+      LocalDate from = BASE_DATE.toLocalDate().plusDays(random.nextInt(4_000) - 2_000);
+      LocalDate to = from.plusDays(random.nextInt(500));
+
+      assertThat(testable.count(from, to))
+          .as("Users born from %s to %s", from, to)
+          .isEqualTo(
+              repository
+                  .findUsersByBirthDateRange(from.atStartOfDay(), to.plusDays(1).atStartOfDay())
+                  .stream()
+                  .filter(user -> !user.getBirthDate().toLocalDate().isAfter(to))
+                  .count());
+    }
+  }
+
+  @Test
+  void testShouldStayExactUnderConcurrentChangesOfSameUsers() throws InterruptedException {
+    BirthDateHistogram testable = new BirthDateHistogram(repository);
+    NotifyingUserRepository notifying = new NotifyingUserRepository(repository, List.of(testable));
+    List<UUID> ids =
+        IntStream.range(0, 20)
+            .mapToObj(i -> notifying.createUser(buildTestUser(BASE_DATE)).getId())
+            .toList();
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    for (int thread = 0; thread < 8; thread++) {
+      Random random = new Random(thread);
+      executor.execute(
+          () -> {
+            for (int i = 0; i < 5_000; i++) {
+              UUID id = ids.get(random.nextInt(ids.size()));
+              LocalDateTime birthDate = BASE_DATE.plusDays(random.nextInt(100));
+              if (random.nextBoolean()) {
+                notifying.replaceUser(id, buildTestUser(birthDate).toBuilder().id(id).build());
+              } else {
+                notifying.updateUser(
+                    id, existing -> existing.toBuilder().birthDate(birthDate).build());
+              }
+            }
+          });
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+    for (int i = 0; i < 100; i++) {
+      LocalDate day = BASE_DATE.toLocalDate().plusDays(i);
+      assertThat(testable.count(day, day))
+          .as("Users born on %s", day)
+          .isEqualTo(
+              repository
+                  .findUsersByBirthDateRange(day.atStartOfDay(), day.atTime(LocalTime.MAX))
+                  .size());
+    }
+    assertThat(testable.count(LocalDate.MIN, LocalDate.MAX)).isEqualTo(ids.size());
+  }
+
+  private User buildTestUser(LocalDateTime birthDate) {
+    UUID id = UUID.randomUUID();
+    return User.builder()
+        .id(id)
+        .firstName("TestFirstName")
+        .lastName("TestLastName")
+        .email(id + "@test.com")
+        .birthDate(birthDate)
+        .build();
+  }
+}
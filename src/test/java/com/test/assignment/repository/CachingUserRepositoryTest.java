@@ -0,0 +1,108 @@
+package com.test.assignment.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.assignment.domain.User;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class CachingUserRepositoryTest {
+  private static final LocalDateTime BASE_DATE = LocalDateTime.of(1990, 1, 1, 0, 0);
+  private static final int MAXIMUM_SIZE = 10;
+  private static final Duration TTL = Duration.ofMinutes(5);
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final UserRepository delegate = spy(new InMemoryUserRepository());
+  private final CachingUserRepository testable =
+      new CachingUserRepository(
+          delegate,
+          Caffeine.newBuilder()
+              .maximumSize(MAXIMUM_SIZE)
+              .expireAfterWrite(TTL)
+              .ticker(nanos::get)
+              .executor(Runnable::run)
+              .recordStats()
+              .build());
+
+  @Test
+  void testShouldServeRepeatedLookupsFromCache() {
+    User user = testable.createUser(buildTestUser(UUID.randomUUID()));
+
+    assertThat(testable.findUserById(user.getId())).isEqualTo(user);
+    assertThat(testable.findUserById(user.getId())).isEqualTo(user);
+
+    verify(delegate, times(1)).findUserById(user.getId());
+    assertThat(testable.cache().stats().hitCount()).isEqualTo(1);
+    assertThat(testable.cache().stats().missCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testShouldNotCacheMissingUser() {
+    UUID id = UUID.randomUUID();
+
+    assertThat(testable.findUserById(id)).isNull();
+    User created = testable.createUser(buildTestUser(id));
+
+    assertThat(testable.findUserById(id)).isEqualTo(created);
+  }
+
+  @Test
+  void testShouldInvalidateOnEveryChange() {
+    User user = testable.createUser(buildTestUser(UUID.randomUUID()));
+    testable.findUserById(user.getId());
+
+    User updated =
+        testable.updateUser(user.getId(), existing -> existing.toBuilder().firstName("A").build());
+    assertThat(testable.findUserById(user.getId())).isEqualTo(updated);
+
+    User replaced = testable.replaceUser(user.getId(), buildTestUser(user.getId()));
+    assertThat(testable.findUserById(user.getId())).isEqualTo(replaced);
+
+    testable.deleteUsers(List.of(user.getId()));
+    assertThat(testable.findUserById(user.getId())).isNull();
+    verify(delegate, times(4)).findUserById(user.getId());
+  }
+
+  @Test
+  void testShouldExpireEntriesAfterTtl() {
+    User user = testable.createUser(buildTestUser(UUID.randomUUID()));
+    testable.findUserById(user.getId());
+
+    nanos.addAndGet(TTL.plusSeconds(1).toNanos());
+    testable.findUserById(user.getId());
+
+    verify(delegate, times(2)).findUserById(user.getId());
+  }
+
+  @Test
+  void testShouldEvictBeyondMaximumSize() {
+    IntStream.range(0, 100)
+        .mapToObj(i -> testable.createUser(buildTestUser(UUID.randomUUID())))
+        .forEach(user -> testable.findUserById(user.getId()));
+    testable.cache().cleanUp();
+
+    assertThat(testable.cache().estimatedSize()).isLessThanOrEqualTo(MAXIMUM_SIZE);
+    assertThat(testable.cache().stats().evictionCount()).isPositive();
+  }
+
+  private User buildTestUser(UUID id) {
+    return User.builder()
+        .id(id)
+        .firstName("TestFirstName")
+        .lastName("TestLastName")
+        .email(id + "@test.com")
+        .birthDate(BASE_DATE)
+        .address("Brooklyn Street, 18")
+        .phoneNumber("+3805553535")
+        .build();
+  }
+}
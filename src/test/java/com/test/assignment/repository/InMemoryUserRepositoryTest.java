@@ -0,0 +1,279 @@
+package com.test.assignment.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import com.test.assignment.exception.DuplicateEmailException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class InMemoryUserRepositoryTest {
+  private static final LocalDateTime BASE_DATE = LocalDateTime.of(1990, 1, 1, 0, 0);
+
+  private final InMemoryUserRepository testable = new InMemoryUserRepository();
+
+  @Test
+  void testShouldCreateAndFindUserById() {
+    User user = buildTestUser(UUID.randomUUID(), BASE_DATE);
+
+    testable.createUser(user);
+
+    assertThat(testable.findUserById(user.getId())).isEqualTo(user);
+    assertThat(testable.findUserById(UUID.randomUUID())).isNull();
+  }
+
+  @Test
+  void testShouldRejectCreatingUserWithExistingId() {
+    User user = buildTestUser(UUID.randomUUID(), BASE_DATE);
+    testable.createUser(user);
+
+    assertThrows(IllegalStateException.class, () -> testable.createUser(user));
+  }
+
+  @Test
+  void testShouldFindUsersInInclusiveBirthDateRangeOrderedByBirthDate() {
+    User first = testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE));
+    User second = testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE.plusDays(1)));
+    User third = testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE.plusDays(2)));
+    testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE.plusDays(3)));
+
+    List<User> actual = testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE.plusDays(2));
+
+    assertThat(actual).containsExactly(first, second, third);
+  }
+
+  @Test
+  void testShouldPageThroughRangeWithCursor() {
+    List<User> expected =
+        IntStream.range(0, 25)
+            .mapToObj(i -> testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE)))
+            .sorted((a, b) -> a.getId().compareTo(b.getId()))
+            .toList();
+
+    List<User> actual = new ArrayList<>();
+    UserCursor cursor = null;
+    List<User> page;
+    do {
+      page = testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE, cursor, 10);
+      actual.addAll(page);
+      cursor = page.isEmpty() ? null : UserCursor.of(page.get(page.size() - 1));
+    } while (page.size() == 10);
+
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void testShouldMoveUserInBirthDateIndexOnReplace() {
+    UUID id = UUID.randomUUID();
+    testable.createUser(buildTestUser(id, BASE_DATE));
+    User replaced = buildTestUser(id, BASE_DATE.plusYears(1)).toBuilder().version(2).build();
+
+    assertThat(testable.replaceUser(id, buildTestUser(id, BASE_DATE.plusYears(1))))
+        .isEqualTo(replaced);
+    assertThat(testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE.plusDays(1))).isEmpty();
+    assertThat(testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE.plusYears(1)))
+        .containsExactly(replaced);
+  }
+
+  @Test
+  void testShouldNotStoreReplacementOfNonExistentUser() {
+    UUID id = UUID.randomUUID();
+
+    assertThat(testable.replaceUser(id, buildTestUser(id, BASE_DATE))).isNull();
+    assertThat(testable.updateUser(id, existing -> buildTestUser(id, BASE_DATE))).isNull();
+    assertThat(testable.findUserById(id)).isNull();
+    assertThat(testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE)).isEmpty();
+  }
+
+  @Test
+  void testShouldRemoveUserFromBothStructuresOnDelete() {
+    User user = testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE));
+
+    assertThat(testable.deleteUser(user.getId())).isEqualTo(user);
+
+    assertThat(testable.deleteUser(user.getId())).isNull();
+    assertThat(testable.findUserById(user.getId())).isNull();
+    assertThat(testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE)).isEmpty();
+  }
+
+  @Test
+  void testShouldApplyConcurrentUpdatesAtomically() throws InterruptedException {
+    User user = testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE));
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    IntStream.range(0, 8_000)
+        .forEach(
+            i ->
+                executor.execute(
+                    () ->
+                        testable.updateUser(
+                            user.getId(),
+                            existing ->
+                                existing.toBuilder()
+                                    .birthDate(existing.getBirthDate().plusSeconds(1))
+                                    .build())));
+    executor.shutdown();
+    assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+    User actual = testable.findUserById(user.getId());
+    assertThat(actual.getBirthDate()).isEqualTo(BASE_DATE.plusSeconds(8_000));
+    assertThat(testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE.plusDays(1)))
+        .containsExactly(actual);
+  }
+
+  @Test
+  void testShouldKeepIndexConsistentUnderConcurrentWrites() throws InterruptedException {
+    List<UUID> ids = IntStream.range(0, 64).mapToObj(i -> UUID.randomUUID()).toList();
+    ids.forEach(id -> testable.createUser(buildTestUser(id, BASE_DATE)));
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    IntStream.range(0, 10_000)
+        .forEach(
+            i ->
+                executor.execute(
+                    () -> {
+                      UUID id = ids.get(i % ids.size());
+                      testable.replaceUser(id, buildTestUser(id, BASE_DATE.plusDays(i % 365)));
+                    }));
+    executor.shutdown();
+    assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+    List<User> indexed = testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE.plusYears(1));
+    assertThat(indexed).hasSameSizeAs(ids);
+    indexed.forEach(u -> assertThat(testable.findUserById(u.getId())).isEqualTo(u));
+  }
+
+  @Test
+  void testShouldFindUserByEmailIgnoringCase() {
+    User user =
+        testable.createUser(
+            buildTestUser(UUID.randomUUID(), BASE_DATE).toBuilder()
+                .email("Bob.John@Email.com")
+                .build());
+
+    assertThat(testable.findUserByEmail(" bob.john@email.COM ")).isEqualTo(user);
+    assertThat(testable.findUserByEmail("other@email.com")).isNull();
+    assertThat(testable.findUserByEmail(null)).isNull();
+  }
+
+  @Test
+  void testShouldRejectDuplicateEmailOnCreateReplaceAndUpdate() {
+    User first = testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE));
+    User second = testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE));
+    String taken = first.getEmail().toUpperCase(Locale.ROOT);
+
+    assertThrows(
+        DuplicateEmailException.class,
+        () ->
+            testable.createUser(
+                buildTestUser(UUID.randomUUID(), BASE_DATE).toBuilder().email(taken).build()));
+    assertThrows(
+        DuplicateEmailException.class,
+        () -> testable.replaceUser(second.getId(), second.toBuilder().email(taken).build()));
+    assertThrows(
+        DuplicateEmailException.class,
+        () ->
+            testable.updateUser(
+                second.getId(), existing -> existing.toBuilder().email(taken).build()));
+
+    assertThat(testable.findUserById(second.getId())).isEqualTo(second);
+    assertThat(testable.findUserByEmail(second.getEmail())).isEqualTo(second);
+    assertThat(testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE)).hasSize(2);
+  }
+
+  @Test
+  void testShouldReleaseEmailOnChangeAndDelete() {
+    User first = testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE));
+    User second = testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE));
+    String email = first.getEmail();
+
+    User moved =
+        testable.updateUser(
+            first.getId(), existing -> existing.toBuilder().email("moved@test.com").build());
+    assertThat(testable.findUserByEmail(email)).isNull();
+    assertThat(testable.findUserByEmail("moved@test.com")).isEqualTo(moved);
+
+    User taken = testable.replaceUser(second.getId(), second.toBuilder().email(email).build());
+    assertThat(testable.findUserByEmail(email)).isEqualTo(taken);
+
+    testable.deleteUser(second.getId());
+    assertThat(testable.findUserByEmail(email)).isNull();
+    assertThat(
+            testable.createUser(
+                buildTestUser(UUID.randomUUID(), BASE_DATE).toBuilder().email(email).build()))
+        .isNotNull();
+  }
+
+  @Test
+  void testShouldKeepEmailsUniqueUnderConcurrentWrites() throws InterruptedException {
+    List<UUID> ids = IntStream.range(0, 64).mapToObj(i -> UUID.randomUUID()).toList();
+    ids.forEach(id -> testable.createUser(buildTestUser(id, BASE_DATE)));
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    IntStream.range(0, 10_000)
+        .forEach(
+            i ->
+                executor.execute(
+                    () -> {
+                      String email = "contended" + i % 16 + "@test.com";
+                      try {
+                        if (i % 2 == 0) {
+                          testable.createUser(
+                              buildTestUser(UUID.randomUUID(), BASE_DATE).toBuilder()
+                                  .email(email)
+                                  .build());
+                        } else {
+                          testable.updateUser(
+                              ids.get(i % ids.size()),
+                              existing -> existing.toBuilder().email(email).build());
+                        }
+                      } catch (DuplicateEmailException e) {
+                        // another writer holds the email
+                      }
+                    }));
+    executor.shutdown();
+    assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+    List<User> stored = testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE);
+    assertThat(stored.stream().map(User::getEmail).distinct()).hasSameSizeAs(stored);
+    stored.forEach(u -> assertThat(testable.findUserByEmail(u.getEmail())).isEqualTo(u));
+  }
+
+  @Test
+  void testShouldSearchByNameAsUsersChange() {
+    User bob = testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE));
+    User renamed =
+        testable.updateUser(
+            bob.getId(), existing -> existing.toBuilder().firstName("Robert").build());
+    User other = testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE));
+
+    assertThat(testable.searchUsersByName("rob", 10)).containsExactly(renamed);
+    assertThat(testable.searchUsersByName("testfirst", 10)).containsExactly(other);
+
+    testable.deleteUser(bob.getId());
+    assertThat(testable.searchUsersByName("rob", 10)).isEmpty();
+  }
+
+  private User buildTestUser(UUID id, LocalDateTime birthDate) {
+    return User.builder()
+        .id(id)
+        .firstName("TestFirstName")
+        .lastName("TestLastName")
+        .email(id + "@test.com")
+        .birthDate(birthDate)
+        .address("Brooklyn Street, 18")
+        .phoneNumber("+3805553535")
+        .version(1)
+        .build();
+  }
+}
@@ -0,0 +1,99 @@
+package com.test.assignment.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.exception.DuplicateEmailException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class MeteredUserRepositoryTest {
+  private static final LocalDateTime BASE_DATE = LocalDateTime.of(1990, 1, 1, 0, 0);
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final MeteredUserRepository testable =
+      new MeteredUserRepository(new InMemoryUserRepository(), registry);
+
+  @Test
+  void testShouldTimeEveryCallPerMethod() {
+    User user = testable.createUser(buildTestUser(BASE_DATE));
+    testable.findUserById(user.getId());
+    testable.findUserById(user.getId());
+
+    assertThat(timerCount("createUser")).isEqualTo(1);
+    assertThat(timerCount("findUserById")).isEqualTo(2);
+    assertThat(timerCount("deleteUser")).isZero();
+  }
+
+  @Test
+  void testShouldCountCallsThatFoundNoUser() {
+    User user = testable.createUser(buildTestUser(BASE_DATE));
+
+    testable.findUserById(user.getId());
+    testable.findUserById(UUID.randomUUID());
+    testable.deleteUser(UUID.randomUUID());
+    testable.findUserByEmail("nobody@test.com");
+
+    assertThat(notFoundCount("findUserById")).isEqualTo(1);
+    assertThat(notFoundCount("deleteUser")).isEqualTo(1);
+    assertThat(notFoundCount("findUserByEmail")).isEqualTo(1);
+    assertThat(notFoundCount("updateUser")).isZero();
+  }
+
+  @Test
+  void testShouldRecordRangeResultSizes() {
+    IntStream.range(0, 5).forEach(i -> testable.createUser(buildTestUser(BASE_DATE.plusDays(i))));
+
+    testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE.plusDays(2));
+    testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE.plusDays(10), null, 4);
+
+    assertThat(rangeSizeTotal("findUsersByBirthDateRange")).isEqualTo(3);
+    assertThat(rangeSizeTotal("findUsersByBirthDateRangePage")).isEqualTo(4);
+  }
+
+  @Test
+  void testShouldStillTimeFailedCalls() {
+    User user = testable.createUser(buildTestUser(BASE_DATE));
+
+    assertThatThrownBy(
+            () ->
+                testable.createUser(
+                    buildTestUser(BASE_DATE).toBuilder().email(user.getEmail()).build()))
+        .isInstanceOf(DuplicateEmailException.class);
+
+    assertThat(timerCount("createUser")).isEqualTo(2);
+  }
+
+  private long timerCount(String method) {
+    return registry.get(MeteredUserRepository.CALLS).tag("method", method).timer().count();
+  }
+
+  private double notFoundCount(String method) {
+    return registry.get(MeteredUserRepository.NOT_FOUND).tag("method", method).counter().count();
+  }
+
+  private double rangeSizeTotal(String method) {
+    return registry
+        .get(MeteredUserRepository.RANGE_SIZE)
+        .tag("method", method)
+        .summary()
+        .totalAmount();
+  }
+
+  private User buildTestUser(LocalDateTime birthDate) {
+    UUID id = UUID.randomUUID();
+    return User.builder()
+        .id(id)
+        .firstName("TestFirstName")
+        .lastName("TestLastName")
+        .email(id + "@test.com")
+        .birthDate(birthDate)
+        .address("Brooklyn Street, 18")
+        .phoneNumber("+3805553535")
+        .build();
+  }
+}
@@ -0,0 +1,96 @@
+package com.test.assignment.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.test.assignment.domain.User;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class NameIndexTest {
+  private final NameIndex testable = new NameIndex();
+  private final Map<UUID, User> users = new HashMap<>();
+
+  @Test
+  void testShouldRankExactBeforePrefixBeforeFuzzyMatches() {
+    User fuzzy = add("Jon", "Smith");
+    User prefix = add("Johnny", "Walker");
+    User exact = add("John", "Doe");
+    add("Mary", "Jane");
+
+    assertThat(search("john", 10)).containsExactly(exact, prefix, fuzzy);
+  }
+
+  @Test
+  void testShouldFindByPrefixOfEitherNameIgnoringCase() {
+    User first = add("Bob", "Johnson");
+    User last = add("Alice", "Bobrova");
+
+    assertThat(search("BO", 10)).containsExactlyInAnyOrder(first, last);
+    assertThat(search("joh", 10)).containsExactly(first);
+  }
+
+  @Test
+  void testShouldToleratePrefixTypo() {
+    User user = add("Alexander", "Petrenko");
+
+    assertThat(search("petrneko", 10)).containsExactly(user);
+    assertThat(search("xyz", 10)).isEmpty();
+  }
+
+  @Test
+  void testShouldRequireEveryWordOfQueryForPrefixMatch() {
+    User both = add("Bob", "John");
+    add("Bob", "Smith");
+
+    assertThat(search("bob jo", 10)).first().isEqualTo(both);
+  }
+
+  @Test
+  void testShouldFollowUpdatesAndRemovals() {
+    User user = add("Bob", "John");
+    User renamed = user.toBuilder().firstName("Robert").build();
+    testable.update(user, renamed);
+    users.put(renamed.getId(), renamed);
+
+    assertThat(search("bob", 10)).isEmpty();
+    assertThat(search("rob", 10)).containsExactly(renamed);
+
+    testable.remove(renamed);
+    assertThat(search("rob", 10)).isEmpty();
+  }
+
+  @Test
+  void testShouldSkipDeletedUsersAndApplyLimit() {
+    User deleted = add("Anna", "First");
+    add("Anna", "Second");
+    add("Anna", "Third");
+    users.remove(deleted.getId());
+
+    assertThat(search("anna", 10)).hasSize(2).doesNotContain(deleted);
+    assertThat(search("anna", 1)).hasSize(1);
+    assertThat(search("  ", 10)).isEmpty();
+  }
+
+  private List<User> search(String query, int limit) {
+    return testable.search(query, limit, users::get);
+  }
+
+  private User add(String firstName, String lastName) {
+    User user =
+        User.builder()
+            .id(UUID.randomUUID())
+            .firstName(firstName)
+            .lastName(lastName)
+            .email(firstName + "." + lastName + "@test.com")
+            .birthDate(LocalDateTime.of(1990, 1, 1, 0, 0))
+            .version(1)
+            .build();
+    users.put(user.getId(), user);
+    testable.add(user);
+    return user;
+  }
+}
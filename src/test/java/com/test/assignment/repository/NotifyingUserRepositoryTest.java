@@ -0,0 +1,106 @@
+package com.test.assignment.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.test.assignment.domain.User;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Test;
+
+class NotifyingUserRepositoryTest {
+  private static final LocalDateTime BASE_DATE = LocalDateTime.of(1990, 1, 1, 0, 0);
+
+  private final List<User[]> changes = new ArrayList<>();
+  private final UserChangeListener listener =
+      (before, after) -> changes.add(new User[] {before, after});
+  private final NotifyingUserRepository testable =
+      new NotifyingUserRepository(new InMemoryUserRepository(), List.of(listener));
+
+  @Test
+  void testShouldReportUserBeforeAndAfterEveryChange() {
+    User created = testable.createUser(buildTestUser());
+    User updated =
+        testable.updateUser(
+            created.getId(),
+            existing -> existing.toBuilder().birthDate(BASE_DATE.plusDays(1)).build());
+    User replaced = testable.replaceUser(created.getId(), buildTestUser());
+    testable.deleteUser(created.getId());
+
+    assertThat(changes)
+        .containsExactly(
+            new User[] {null, created},
+            new User[] {created, updated},
+            new User[] {updated, replaced},
+            new User[] {replaced, null});
+  }
+
+  @Test
+  void testShouldReportEveryReplacedUserOfBatch() {
+    User first = testable.createUser(buildTestUser());
+    User second = testable.createUser(buildTestUser());
+    changes.clear();
+
+    List<UserWriteResult> results =
+        testable.replaceUsers(
+            List.of(
+                buildTestUser().toBuilder().id(first.getId()).build(),
+                buildTestUser(),
+                buildTestUser().toBuilder().id(second.getId()).build()));
+
+    assertThat(results.get(1).user()).isNull();
+    assertThat(changes)
+        .containsExactly(
+            new User[] {first, results.get(0).user()}, new User[] {second, results.get(2).user()});
+  }
+
+  @Test
+  void testShouldNotReportMissingUsers() {
+    testable.updateUser(UUID.randomUUID(), existing -> existing);
+    testable.replaceUser(UUID.randomUUID(), buildTestUser());
+    testable.deleteUsers(List.of(UUID.randomUUID()));
+
+    assertThat(changes).isEmpty();
+  }
+
+  @Test
+  void testShouldReportStoredUserThatReplaceOverwroteWithoutReadingIt() {
+    NotifyingUserRepository racing =
+        new NotifyingUserRepository(
+            new InMemoryUserRepository() {
+              @Override
+              public User findUserById(UUID id) {
+                throw new AssertionError("A change must not read the user first");
+              }
+
+              @Override
+              public User updateUser(UUID id, UnaryOperator<User> update) {
+                super.updateUser(id, existing -> existing.toBuilder().firstName("Other").build());
+                return super.updateUser(id, update);
+              }
+            },
+            List.of(listener));
+    User created = racing.createUser(buildTestUser());
+
+    User replaced = racing.replaceUser(created.getId(), buildTestUser());
+
+    User overwritten = changes.get(1)[0];
+    assertThat(overwritten.getFirstName()).isEqualTo("Other");
+    assertThat(overwritten.getVersion()).isEqualTo(2);
+    assertThat(changes.get(1)[1]).isEqualTo(replaced);
+    assertThat(replaced.getVersion()).isEqualTo(3);
+  }
+
+  private User buildTestUser() {
+    UUID id = UUID.randomUUID();
+    return User.builder()
+        .id(id)
+        .firstName("TestFirstName")
+        .lastName("TestLastName")
+        .email(id + "@test.com")
+        .birthDate(BASE_DATE)
+        .build();
+  }
+}
@@ -0,0 +1,95 @@
+package com.test.assignment.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import com.test.assignment.exception.DuplicateEmailException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+class ReactiveUserRepositoryAdapterTest {
+  private static final LocalDateTime BASE_DATE = LocalDateTime.of(1990, 1, 1, 0, 0);
+
+  private final InMemoryUserRepository repository = new InMemoryUserRepository();
+  private final ReactiveUserRepositoryAdapter testable =
+      new ReactiveUserRepositoryAdapter(repository, Schedulers.boundedElastic());
+
+  @Test
+  void testShouldCompleteEmptyWhereRepositoryReturnsNull() {
+    User user = buildTestUser(UUID.randomUUID(), BASE_DATE);
+
+    StepVerifier.create(testable.createUser(user)).expectNext(user).verifyComplete();
+    StepVerifier.create(testable.findUserById(user.getId())).expectNext(user).verifyComplete();
+    StepVerifier.create(testable.findUserById(UUID.randomUUID())).verifyComplete();
+    StepVerifier.create(testable.replaceUser(UUID.randomUUID(), user)).verifyComplete();
+    StepVerifier.create(testable.deleteUser(user.getId())).expectNext(user).verifyComplete();
+    StepVerifier.create(testable.findUserByEmail(user.getEmail())).verifyComplete();
+  }
+
+  @Test
+  void testShouldSignalRepositoryExceptionsAsErrors() {
+    User user = testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE)).block();
+    User sameEmail =
+        buildTestUser(UUID.randomUUID(), BASE_DATE).toBuilder().email(user.getEmail()).build();
+
+    StepVerifier.create(testable.createUser(sameEmail))
+        .expectError(DuplicateEmailException.class)
+        .verify();
+    StepVerifier.create(testable.createUser(user))
+        .expectError(IllegalStateException.class)
+        .verify();
+  }
+
+  @Test
+  void testShouldStreamWholeRangeAcrossBatchesInOrder() {
+    int count = ReactiveUserRepositoryAdapter.RANGE_BATCH_SIZE * 2 + 7;
+    List<User> expected =
+        IntStream.range(0, count)
+            .mapToObj(i -> repository.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE)))
+            .sorted(Comparator.comparing(User::getId))
+            .toList();
+    repository.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE.plusDays(1)));
+
+    List<User> actual =
+        testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE).collectList().block();
+
+    assertThat(actual).containsExactlyElementsOf(expected);
+    LocalDateTime empty = BASE_DATE.minusDays(1);
+    StepVerifier.create(testable.findUsersByBirthDateRange(empty, empty)).verifyComplete();
+  }
+
+  @Test
+  void testShouldReadOnePageAndSearchNames() {
+    User first = repository.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE));
+    User second = repository.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE.plusDays(1)));
+
+    StepVerifier.create(
+            testable.findUsersByBirthDateRange(
+                BASE_DATE, BASE_DATE.plusDays(1), UserCursor.of(first), 10))
+        .expectNext(List.of(second))
+        .verifyComplete();
+    StepVerifier.create(testable.searchUsersByName("testfirst", 1))
+        .assertNext(users -> assertThat(users).hasSize(1))
+        .verifyComplete();
+  }
+
+  private User buildTestUser(UUID id, LocalDateTime birthDate) {
+    return User.builder()
+        .id(id)
+        .firstName("TestFirstName")
+        .lastName("TestLastName")
+        .email(id + "@test.com")
+        .birthDate(birthDate)
+        .address("Brooklyn Street, 18")
+        .phoneNumber("+3805553535")
+        .version(1)
+        .build();
+  }
+}
@@ -0,0 +1,179 @@
+package com.test.assignment.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import com.test.assignment.exception.DuplicateEmailException;
+import com.test.assignment.repository.mapped.MappedUserRepository;
+import com.test.assignment.repository.wal.WalUserRepository;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Runs writers of overlapping users against readers of the birth date range and checks that every
+ * read is free of duplicates and that no change is lost or left half indexed.
+ */
+class UserRepositoryStressTest {
+  private static final LocalDateTime BASE_DATE = LocalDateTime.of(1990, 1, 1, 0, 0);
+  private static final int RANGE_MINUTES = 30 * 24 * 60;
+  private static final int WRITERS = 16;
+  private static final int READERS = 4;
+  private static final int OPERATIONS_PER_WRITER = 2_000;
+  private static final int COUNTED_USERS = 32;
+  private static final int CHURNED_USERS = 256;
+
+  @TempDir Path directory;
+
+  @ParameterizedTest
+  @ValueSource(strings = {"memory", "wal", "mapped"})
+  void testShouldStayConsistentUnderConcurrentWritesAndReads(String backend) throws Exception {
+    UserRepository testable = open(backend);
+    try {
+      List<UUID> counted =
+          IntStream.range(0, COUNTED_USERS)
+              .mapToObj(i -> testable.createUser(buildTestUser(UUID.randomUUID())).getId())
+              .toList();
+      AtomicLongArray updates = new AtomicLongArray(COUNTED_USERS);
+      List<UUID> churned =
+          IntStream.range(0, CHURNED_USERS).mapToObj(i -> UUID.randomUUID()).toList();
+
+      AtomicBoolean writing = new AtomicBoolean(true);
+      ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+      List<Future<Object>> readers =
+          IntStream.range(0, READERS)
+              .mapToObj(
+                  i ->
+                      executor.submit(
+                          () -> {
+                            while (writing.get()) {
+                              assertRangeReadsAreConsistent(testable);
+                            }
+                            return null;
+                          }))
+              .toList();
+      List<Future<Object>> writers =
+          IntStream.range(0, WRITERS)
+              .mapToObj(
+                  i ->
+                      executor.submit(
+                          () -> {
+                            write(testable, counted, updates, churned);
+                            return null;
+                          }))
+              .toList();
+      for (Future<Object> writer : writers) {
+        writer.get(2, TimeUnit.MINUTES);
+      }
+      writing.set(false);
+      for (Future<Object> reader : readers) {
+        reader.get(1, TimeUnit.MINUTES);
+      }
+      executor.shutdown();
+
+      for (int i = 0; i < COUNTED_USERS; i++) {
+        assertThat(testable.findUserById(counted.get(i)).getVersion())
+            .isEqualTo(1 + updates.get(i));
+      }
+      List<User> stored =
+          testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE.plusMinutes(RANGE_MINUTES));
+      long churnedLeft = churned.stream().filter(id -> testable.findUserById(id) != null).count();
+      assertThat(stored).hasSize(COUNTED_USERS + (int) churnedLeft);
+      assertThat(stored)
+          .allSatisfy(
+              user -> {
+                assertThat(testable.findUserById(user.getId())).isEqualTo(user);
+                assertThat(testable.findUserByEmail(user.getEmail())).isEqualTo(user);
+              });
+    } finally {
+      if (testable instanceof Closeable closeable) {
+        closeable.close();
+      }
+    }
+  }
+
+  private void write(
+      UserRepository testable, List<UUID> counted, AtomicLongArray updates, List<UUID> churned) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int operation = 0; operation < OPERATIONS_PER_WRITER; operation++) {
+      LocalDateTime birthDate = BASE_DATE.plusMinutes(random.nextInt(RANGE_MINUTES));
+      if (random.nextBoolean()) {
+        int index = random.nextInt(COUNTED_USERS);
+        User updated =
+            testable.updateUser(
+                counted.get(index), existing -> existing.toBuilder().birthDate(birthDate).build());
+        assertThat(updated).isNotNull();
+        updates.incrementAndGet(index);
+        continue;
+      }
+      UUID id = churned.get(random.nextInt(CHURNED_USERS));
+      try {
+        switch (random.nextInt(3)) {
+          case 0 -> testable.createUser(buildTestUser(id).toBuilder().birthDate(birthDate).build());
+          case 1 ->
+              testable.replaceUser(
+                  id,
+                  buildTestUser(id).toBuilder()
+                      .email("shared" + random.nextInt(8) + "@test.com")
+                      .birthDate(birthDate)
+                      .build());
+          default -> testable.deleteUser(id);
+        }
+      } catch (IllegalStateException | DuplicateEmailException e) {
+        // the user exists already or another one holds the email
+      }
+    }
+  }
+
+  private void assertRangeReadsAreConsistent(UserRepository testable) {
+    LocalDateTime to = BASE_DATE.plusMinutes(RANGE_MINUTES);
+    List<User> range = testable.findUsersByBirthDateRange(BASE_DATE, to);
+    assertThat(range.stream().map(User::getId).distinct()).hasSameSizeAs(range);
+
+    List<User> page = testable.findUsersByBirthDateRange(BASE_DATE, to, null, 50);
+    while (!page.isEmpty()) {
+      assertThat(page.stream().map(User::getId).distinct()).hasSameSizeAs(page);
+      assertThat(page)
+          .allSatisfy(user -> assertThat(user.getBirthDate()).isBetween(BASE_DATE, to));
+      UserCursor cursor = UserCursor.of(page.get(page.size() - 1));
+      page = testable.findUsersByBirthDateRange(BASE_DATE, to, cursor, 50);
+    }
+  }
+
+  private UserRepository open(String backend) throws IOException {
+    return switch (backend) {
+      case "wal" -> WalUserRepository.open(directory, Duration.ofMillis(1), 1_000_000);
+      case "mapped" -> MappedUserRepository.open(directory, 4 << 20);
+      default -> new InMemoryUserRepository();
+    };
+  }
+
+  private User buildTestUser(UUID id) {
+    return User.builder()
+        .id(id)
+        .firstName("TestFirstName")
+        .lastName("TestLastName")
+        .email(id + "@test.com")
+        .birthDate(BASE_DATE)
+        .address("Brooklyn Street, 18")
+        .phoneNumber("+3805553535")
+        .version(1)
+        .build();
+  }
+}
@@ -0,0 +1,320 @@
+package com.test.assignment.repository.mapped;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import com.test.assignment.exception.DuplicateEmailException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedUserRepositoryTest {
+  private static final LocalDateTime BASE_DATE = LocalDateTime.of(1990, 1, 1, 10, 30, 15, 123);
+  private static final int SEGMENT_SIZE = 64 * 1024;
+
+  @TempDir Path directory;
+
+  @Test
+  void testShouldStoreAndMaterializeUser() throws IOException {
+    User user = buildTestUser(UUID.randomUUID(), BASE_DATE).toBuilder().address(null).build();
+
+    try (MappedUserRepository testable = MappedUserRepository.open(directory, SEGMENT_SIZE)) {
+      testable.createUser(user);
+
+      assertThat(testable.findUserById(user.getId())).isEqualTo(user);
+      assertThat(testable.findUserById(UUID.randomUUID())).isNull();
+      assertThrows(IllegalStateException.class, () -> testable.createUser(user));
+    }
+  }
+
+  @Test
+  void testShouldFindUsersInBirthDateRangeWithTimeOfDayPrecision() throws IOException {
+    try (MappedUserRepository testable = MappedUserRepository.open(directory, SEGMENT_SIZE)) {
+      User early = testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE.minusHours(1)));
+      User inside = testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE));
+      User later = testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE.plusDays(2)));
+
+      assertThat(testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE.plusDays(1)))
+          .containsExactly(inside);
+      assertThat(testable.findUsersByBirthDateRange(BASE_DATE.minusDays(1), BASE_DATE.plusDays(3)))
+          .containsExactly(early, inside, later);
+    }
+  }
+
+  @Test
+  void testShouldPageAcrossDayBucketsInBirthDateOrder() throws IOException {
+    try (MappedUserRepository testable = MappedUserRepository.open(directory, SEGMENT_SIZE)) {
+      for (int i = 0; i < 30; i++) {
+        testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE.plusHours(i * 5L)));
+      }
+      LocalDateTime to = BASE_DATE.plusDays(10);
+      List<User> expected = testable.findUsersByBirthDateRange(BASE_DATE, to);
+
+      List<User> actual = new ArrayList<>();
+      UserCursor cursor = null;
+      List<User> page;
+      do {
+        page = testable.findUsersByBirthDateRange(BASE_DATE, to, cursor, 7);
+        actual.addAll(page);
+        cursor = page.isEmpty() ? null : UserCursor.of(page.get(page.size() - 1));
+      } while (page.size() == 7);
+
+      assertThat(actual).hasSize(30).containsExactlyElementsOf(expected);
+    }
+  }
+
+  @Test
+  void testShouldReopenWithLatestVersionOfEveryUser() throws IOException {
+    Map<UUID, User> expected = new HashMap<>();
+    Random random = new Random(42);
+
+    try (MappedUserRepository testable = MappedUserRepository.open(directory, SEGMENT_SIZE)) {
+      for (int i = 0; i < 5_000; i++) {
+        UUID id = UUID.randomUUID();
+        expected.put(id, testable.createUser(buildTestUser(id, BASE_DATE.plusDays(i % 400))));
+      }
+      List<UUID> ids = List.copyOf(expected.keySet());
+      for (int i = 0; i < 2_000; i++) {
+        UUID id = ids.get(random.nextInt(ids.size()));
+        if (!expected.containsKey(id)) {
+          assertThat(testable.replaceUser(id, buildTestUser(id, BASE_DATE))).isNull();
+        } else if (random.nextBoolean()) {
+          assertThat(testable.deleteUser(id)).isEqualTo(expected.remove(id));
+        } else {
+          User replacement = buildTestUser(id, BASE_DATE.plusDays(random.nextInt(400)));
+          expected.put(id, testable.replaceUser(id, replacement));
+        }
+      }
+    }
+
+    try (MappedUserRepository testable = MappedUserRepository.open(directory, SEGMENT_SIZE)) {
+      expected.forEach((id, user) -> assertThat(testable.findUserById(id)).isEqualTo(user));
+      assertThat(testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE.plusYears(2)))
+          .hasSameSizeAs(expected.values());
+    }
+  }
+
+  @Test
+  void testShouldReopenAfterTornRecordWasOverwrittenByShorterOne() throws IOException {
+    User first = buildTestUser(UUID.randomUUID(), BASE_DATE);
+    // read from the fifth address byte on, the torn record holds live looking 64 byte records
+    User torn =
+        buildTestUser(UUID.randomUUID(), BASE_DATE)
+            .toBuilder()
+            .address("tail" + "\0\0\0@\1\0\0\0".repeat(32))
+            .build();
+    User shorter =
+        buildTestUser(UUID.randomUUID(), BASE_DATE)
+            .toBuilder()
+            .address("")
+            .phoneNumber(null)
+            .build();
+
+    try (MappedUserRepository testable = MappedUserRepository.open(directory, SEGMENT_SIZE)) {
+      testable.createUser(first);
+      testable.createUser(torn);
+    }
+    try (FileChannel segment =
+        FileChannel.open(
+            directory.resolve("users-00000.dat"),
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      ByteBuffer firstLength = ByteBuffer.allocate(Integer.BYTES);
+      segment.read(firstLength, 0);
+      segment.write(ByteBuffer.allocate(Integer.BYTES), firstLength.getInt(0));
+    }
+
+    try (MappedUserRepository testable = MappedUserRepository.open(directory, SEGMENT_SIZE)) {
+      assertThat(testable.findUserById(torn.getId())).isNull();
+      testable.createUser(shorter);
+    }
+
+    try (MappedUserRepository testable = MappedUserRepository.open(directory, SEGMENT_SIZE)) {
+      assertThat(testable.findUsersByBirthDateRange(LocalDateTime.MIN, LocalDateTime.MAX))
+          .containsExactlyInAnyOrder(first, shorter);
+    }
+  }
+
+  @Test
+  void testShouldKeepEmailIndexAcrossChangesAndReopen() throws IOException {
+    User first = buildTestUser(UUID.randomUUID(), BASE_DATE);
+    User second = buildTestUser(UUID.randomUUID(), BASE_DATE);
+
+    try (MappedUserRepository testable = MappedUserRepository.open(directory, SEGMENT_SIZE)) {
+      testable.createUser(first);
+      testable.createUser(second);
+      String taken = first.getEmail().toUpperCase(Locale.ROOT);
+
+      assertThrows(
+          DuplicateEmailException.class,
+          () -> testable.replaceUser(second.getId(), second.toBuilder().email(taken).build()));
+      testable.updateUser(
+          first.getId(), existing -> existing.toBuilder().email("moved@test.com").build());
+
+      assertThat(testable.findUserByEmail(first.getEmail())).isNull();
+      assertThat(testable.findUserByEmail(second.getEmail())).isEqualTo(second);
+    }
+
+    try (MappedUserRepository testable = MappedUserRepository.open(directory, SEGMENT_SIZE)) {
+      assertThat(testable.searchUsersByName("testfirst", 10)).hasSize(2);
+      assertThat(testable.findUserByEmail("MOVED@test.com").getId()).isEqualTo(first.getId());
+      assertThat(testable.findUserByEmail(second.getEmail())).isEqualTo(second);
+      assertThat(testable.findUserByEmail(first.getEmail())).isNull();
+    }
+  }
+
+  @Test
+  void testShouldSearchNamesOfCurrentRecordsOnly() throws IOException {
+    User renamed = buildTestUser(UUID.randomUUID(), BASE_DATE);
+    User deleted = buildTestUser(UUID.randomUUID(), BASE_DATE);
+
+    try (MappedUserRepository testable = MappedUserRepository.open(directory, SEGMENT_SIZE)) {
+      testable.createUser(renamed);
+      testable.createUser(deleted);
+      for (int i = 0; i < 10; i++) {
+        String firstName = "Name" + i;
+        testable.updateUser(
+            renamed.getId(), existing -> existing.toBuilder().firstName(firstName).build());
+      }
+      testable.deleteUser(deleted.getId());
+
+      assertThat(testable.searchUsersByName("TestFirstName", 10))
+          .extracting(User::getId)
+          .containsExactly(renamed.getId());
+      assertThat(testable.searchUsersByName("name9", 10))
+          .extracting(User::getFirstName)
+          .containsExactly("Name9");
+    }
+  }
+
+  @Test
+  void testShouldTellApartEmailsWithSameHash() throws IOException {
+    // "a~" and "b_" have the same String hash code
+    User first =
+        buildTestUser(UUID.randomUUID(), BASE_DATE).toBuilder().email("a~@test.com").build();
+    User second =
+        buildTestUser(UUID.randomUUID(), BASE_DATE).toBuilder().email("b_@test.com").build();
+
+    try (MappedUserRepository testable = MappedUserRepository.open(directory, SEGMENT_SIZE)) {
+      testable.createUser(first);
+      testable.createUser(second);
+
+      assertThat(testable.findUserByEmail("A~@test.com")).isEqualTo(first);
+      assertThat(testable.findUserByEmail("b_@test.com")).isEqualTo(second);
+      assertThat(testable.findUserByEmail("c@test.com")).isNull();
+      testable.updateUser(
+          second.getId(), existing -> existing.toBuilder().phoneNumber("1").build());
+      testable.deleteUser(first.getId());
+
+      assertThat(testable.findUserByEmail("a~@test.com")).isNull();
+      assertThat(testable.findUserByEmail("b_@test.com").getPhoneNumber()).isEqualTo("1");
+      assertThat(testable.createUser(first.toBuilder().id(UUID.randomUUID()).build())).isNotNull();
+    }
+  }
+
+  @Test
+  void testShouldCompactStoreOnOpenOnceMostBytesAreDead() throws IOException {
+    Path store = directory.resolve("users");
+    Map<UUID, User> expected = new HashMap<>();
+
+    try (MappedUserRepository testable = MappedUserRepository.open(store, SEGMENT_SIZE)) {
+      for (int i = 0; i < 100; i++) {
+        UUID id = UUID.randomUUID();
+        expected.put(id, testable.createUser(buildTestUser(id, BASE_DATE.plusDays(i))));
+      }
+      for (int round = 0; round < 20; round++) {
+        for (UUID id : expected.keySet()) {
+          String phoneNumber = "+380" + round;
+          expected.put(
+              id,
+              testable.updateUser(
+                  id, existing -> existing.toBuilder().phoneNumber(phoneNumber).build()));
+        }
+      }
+    }
+    assertThat(segmentCount(store)).isGreaterThan(1);
+
+    try (MappedUserRepository testable = MappedUserRepository.open(store, SEGMENT_SIZE)) {
+      assertThat(segmentCount(store)).isEqualTo(1);
+      expected.forEach((id, user) -> assertThat(testable.findUserById(id)).isEqualTo(user));
+      User any = expected.values().iterator().next();
+      assertThat(testable.findUserByEmail(any.getEmail())).isEqualTo(any);
+      assertThat(testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE.plusYears(1)))
+          .hasSize(100);
+      testable.deleteUser(any.getId());
+      expected.remove(any.getId());
+    }
+
+    try (MappedUserRepository testable = MappedUserRepository.open(store, SEGMENT_SIZE)) {
+      expected.forEach((id, user) -> assertThat(testable.findUserById(id)).isEqualTo(user));
+      assertThat(testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE.plusYears(1)))
+          .hasSize(99);
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files.map(file -> file.getFileName().toString())).containsExactly("users");
+    }
+  }
+
+  @Test
+  void testShouldPickUpStoreLeftByInterruptedCompaction() throws IOException {
+    Path store = directory.resolve("users");
+    User user = buildTestUser(UUID.randomUUID(), BASE_DATE);
+    try (MappedUserRepository testable = MappedUserRepository.open(store, SEGMENT_SIZE)) {
+      testable.createUser(user);
+    }
+    // renamed away, but the compacted copy was not moved in yet
+    Path compacted = directory.resolve("users.compacted");
+    Files.createDirectories(compacted);
+    Files.copy(store.resolve("users-00000.dat"), compacted.resolve("users-00000.dat"));
+    Files.move(store, directory.resolve("users.replaced"));
+
+    try (MappedUserRepository testable = MappedUserRepository.open(store, SEGMENT_SIZE)) {
+      assertThat(testable.findUserById(user.getId())).isEqualTo(user);
+    }
+    // copying had not finished
+    Files.createDirectories(compacted);
+    Files.write(compacted.resolve("users-00000.dat"), new byte[] {1});
+
+    try (MappedUserRepository testable = MappedUserRepository.open(store, SEGMENT_SIZE)) {
+      assertThat(testable.findUserById(user.getId())).isEqualTo(user);
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files.map(file -> file.getFileName().toString())).containsExactly("users");
+    }
+  }
+
+  private static long segmentCount(Path store) throws IOException {
+    try (Stream<Path> files = Files.list(store)) {
+      return files.count();
+    }
+  }
+
+  private User buildTestUser(UUID id, LocalDateTime birthDate) {
+    return User.builder()
+        .id(id)
+        .firstName("TestFirstName")
+        .lastName("TestLastName")
+        .email(id + "@test.com")
+        .birthDate(birthDate)
+        .address("Brooklyn Street, 18")
+        .phoneNumber("+3805553535")
+        .version(1)
+        .build();
+  }
+}
@@ -0,0 +1,229 @@
+package com.test.assignment.repository.wal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.exception.DuplicateEmailException;
+import com.test.assignment.repository.UserWriteResult;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WalUserRepositoryTest {
+  private static final LocalDateTime BASE_DATE = LocalDateTime.of(1990, 1, 1, 10, 30);
+  private static final Duration WINDOW = Duration.ofMillis(1);
+
+  @TempDir Path directory;
+
+  @Test
+  void testShouldRecoverAllChangesAfterReopen() throws IOException {
+    UUID kept = UUID.randomUUID();
+    UUID replaced = UUID.randomUUID();
+    UUID deleted = UUID.randomUUID();
+    User replacement =
+        buildTestUser(replaced, BASE_DATE.plusYears(1)).toBuilder().address(null).build();
+
+    try (WalUserRepository testable = WalUserRepository.open(directory, WINDOW, 1_000)) {
+      testable.createUser(buildTestUser(kept, BASE_DATE));
+      testable.createUser(buildTestUser(replaced, BASE_DATE));
+      testable.createUser(buildTestUser(deleted, BASE_DATE));
+      testable.replaceUser(replaced, replacement);
+      testable.deleteUser(deleted);
+    }
+
+    try (WalUserRepository testable = WalUserRepository.open(directory, WINDOW, 1_000)) {
+      assertThat(testable.findUserById(kept)).isEqualTo(buildTestUser(kept, BASE_DATE));
+      assertThat(testable.findUserById(replaced))
+          .isEqualTo(replacement.toBuilder().version(2).build());
+      assertThat(testable.findUserById(deleted)).isNull();
+      assertThat(testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE.plusYears(2))).hasSize(2);
+    }
+  }
+
+  @Test
+  void testShouldCompactLogIntoSnapshot() throws Exception {
+    List<UUID> ids = IntStream.range(0, 50).mapToObj(i -> UUID.randomUUID()).toList();
+
+    try (WalUserRepository testable = WalUserRepository.open(directory, WINDOW, 10)) {
+      ids.forEach(id -> testable.createUser(buildTestUser(id, BASE_DATE)));
+    }
+
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files.map(f -> f.getFileName().toString()))
+          .anyMatch(name -> name.endsWith(".snap"));
+    }
+    try (WalUserRepository testable = WalUserRepository.open(directory, WINDOW, 10)) {
+      ids.forEach(id -> assertThat(testable.findUserById(id)).isNotNull());
+    }
+  }
+
+  @Test
+  void testShouldIgnoreTornTailOfLog() throws IOException {
+    UUID id = UUID.randomUUID();
+    try (WalUserRepository testable = WalUserRepository.open(directory, WINDOW, 1_000)) {
+      testable.createUser(buildTestUser(id, BASE_DATE));
+    }
+    Path segment;
+    try (Stream<Path> files = Files.list(directory)) {
+      segment =
+          files
+              .filter(WriteAheadLog::isSegment)
+              .filter(this::isNotEmpty)
+              .findFirst()
+              .orElseThrow();
+    }
+    Files.write(segment, new byte[] {0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+    try (WalUserRepository testable = WalUserRepository.open(directory, WINDOW, 1_000)) {
+      assertThat(testable.findUserById(id)).isEqualTo(buildTestUser(id, BASE_DATE));
+    }
+  }
+
+  @Test
+  void testShouldFailRecoveryWhenSegmentBeforeLastIsCorrupt() throws IOException {
+    // every open starts a new segment
+    for (int i = 0; i < 3; i++) {
+      try (WalUserRepository testable = WalUserRepository.open(directory, WINDOW, 1_000)) {
+        testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE));
+      }
+    }
+    Path middle;
+    try (Stream<Path> files = Files.list(directory)) {
+      middle = files.filter(WriteAheadLog::isSegment).sorted().skip(1).findFirst().orElseThrow();
+    }
+    byte[] content = Files.readAllBytes(middle);
+    content[content.length - 1] ^= 1;
+    Files.write(middle, content);
+
+    assertThrows(IOException.class, () -> WalUserRepository.open(directory, WINDOW, 1_000));
+    assertThat(Files.readAllBytes(middle)).isEqualTo(content);
+  }
+
+  @Test
+  void testShouldPersistBatchWritesWithResultPerItem() throws IOException {
+    List<User> users =
+        IntStream.range(0, 200).mapToObj(i -> buildTestUser(UUID.randomUUID(), BASE_DATE)).toList();
+    UUID missing = UUID.randomUUID();
+
+    try (WalUserRepository testable = WalUserRepository.open(directory, WINDOW, 100_000)) {
+      assertThat(testable.createUsers(users))
+          .extracting(UserWriteResult::user)
+          .isEqualTo(users);
+      User replacement = buildTestUser(users.get(0).getId(), BASE_DATE.plusDays(1));
+      assertThat(testable.replaceUsers(List.of(replacement, buildTestUser(missing, BASE_DATE))))
+          .extracting(UserWriteResult::user)
+          .containsExactly(replacement.toBuilder().version(2).build(), null);
+      assertThat(testable.deleteUsers(List.of(users.get(1).getId(), missing)))
+          .containsExactly(users.get(1), null);
+    }
+
+    try (WalUserRepository testable = WalUserRepository.open(directory, WINDOW, 100_000)) {
+      assertThat(testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE)).hasSize(198);
+      assertThat(testable.findUserById(users.get(0).getId()).getBirthDate())
+          .isEqualTo(BASE_DATE.plusDays(1));
+      assertThat(testable.findUserById(users.get(1).getId())).isNull();
+      assertThat(testable.findUserById(missing)).isNull();
+    }
+  }
+
+  @Test
+  void testShouldFailOnlyDuplicateEmailInBatchAndRecoverEmailIndex() throws IOException {
+    User first = buildTestUser(UUID.randomUUID(), BASE_DATE);
+    User duplicate =
+        buildTestUser(UUID.randomUUID(), BASE_DATE).toBuilder()
+            .email(first.getEmail().toUpperCase(Locale.ROOT))
+            .build();
+
+    try (WalUserRepository testable = WalUserRepository.open(directory, WINDOW, 1_000)) {
+      List<UserWriteResult> actual = testable.createUsers(List.of(first, duplicate));
+
+      assertThat(actual.get(0).user()).isEqualTo(first);
+      assertThat(actual.get(1).user()).isNull();
+      assertThat(actual.get(1).conflict()).isInstanceOf(DuplicateEmailException.class);
+    }
+
+    try (WalUserRepository testable = WalUserRepository.open(directory, WINDOW, 1_000)) {
+      assertThat(testable.findUserByEmail(duplicate.getEmail())).isEqualTo(first);
+      assertThat(testable.findUserById(duplicate.getId())).isNull();
+      assertThrows(DuplicateEmailException.class, () -> testable.createUser(duplicate));
+    }
+  }
+
+  @Test
+  void testShouldPersistConcurrentWritesWithGroupCommit() throws Exception {
+    List<UUID> ids = IntStream.range(0, 500).mapToObj(i -> UUID.randomUUID()).toList();
+
+    try (WalUserRepository testable = WalUserRepository.open(directory, WINDOW, 100_000)) {
+      ExecutorService executor = Executors.newFixedThreadPool(16);
+      ids.forEach(id -> executor.execute(() -> testable.createUser(buildTestUser(id, BASE_DATE))));
+      executor.shutdown();
+      assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+
+    try (WalUserRepository testable = WalUserRepository.open(directory, WINDOW, 100_000)) {
+      assertThat(testable.findUsersByBirthDateRange(BASE_DATE, BASE_DATE)).hasSameSizeAs(ids);
+    }
+  }
+
+  @Test
+  void testShouldRejectEveryCallOnceLogFailedAndRecoverDurableChanges() throws IOException {
+    UUID id = UUID.randomUUID();
+    User created;
+
+    try (WalUserRepository testable = WalUserRepository.open(directory, WINDOW, 1_000)) {
+      created = testable.createUser(buildTestUser(id, BASE_DATE));
+      Thread.getAllStackTraces().keySet().stream()
+          .filter(thread -> thread.getName().equals("user-wal-flusher"))
+          .forEach(Thread::interrupt);
+
+      User replacement = buildTestUser(id, BASE_DATE.plusYears(1));
+      assertThrows(UncheckedIOException.class, () -> testable.replaceUser(id, replacement));
+      assertThrows(UncheckedIOException.class, () -> testable.findUserById(id));
+      assertThrows(
+          UncheckedIOException.class,
+          () -> testable.createUser(buildTestUser(UUID.randomUUID(), BASE_DATE)));
+      assertThat(testable.failure()).isNotNull();
+    }
+
+    try (WalUserRepository testable = WalUserRepository.open(directory, WINDOW, 1_000)) {
+      assertThat(testable.failure()).isNull();
+      assertThat(testable.findUserById(id)).isEqualTo(created);
+    }
+  }
+
+  private boolean isNotEmpty(Path file) {
+    try {
+      return Files.size(file) > 0;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private User buildTestUser(UUID id, LocalDateTime birthDate) {
+    return User.builder()
+        .id(id)
+        .firstName("TestFirstName")
+        .lastName("TestLastName")
+        .email(id + "@test.com")
+        .birthDate(birthDate)
+        .address("Brooklyn Street, 18")
+        .phoneNumber("+3805553535")
+        .version(1)
+        .build();
+  }
+}
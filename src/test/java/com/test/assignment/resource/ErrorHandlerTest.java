@@ -0,0 +1,45 @@
+package com.test.assignment.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.test.assignment.exception.DuplicateEmailException;
+import com.test.assignment.exception.EntityNotFoundException;
+import com.test.assignment.exception.InvalidPathVariableException;
+import com.test.assignment.exception.PreconditionFailedException;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class ErrorHandlerTest {
+  private final ErrorHandler testable = new ErrorHandler();
+
+  @Test
+  void testShouldMapClientErrorsToStatuses() {
+    assertThat(testable.handle(new InvalidPathVariableException("1-2-3")).getStatusCode())
+        .isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(testable.handle(new EntityNotFoundException(UUID.randomUUID())).getStatusCode())
+        .isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(testable.handle(new PreconditionFailedException("stale")).getStatusCode())
+        .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    assertThat(testable.handle(new DuplicateEmailException("bob@email.com")).getStatusCode())
+        .isEqualTo(HttpStatus.CONFLICT);
+    assertThat(testable.handle(new IllegalStateException()).getStatusCode())
+        .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+  }
+
+  @Test
+  void testShouldReuseResponsePerExceptionClass() {
+    ResponseEntity<Object> first = testable.handle(new EntityNotFoundException(UUID.randomUUID()));
+    ResponseEntity<Object> second = testable.handle(new EntityNotFoundException(UUID.randomUUID()));
+
+    assertThat(second).isSameAs(first);
+    assertThat(testable.handle(new InvalidPathVariableException("1-2-3"))).isNotSameAs(first);
+  }
+
+  @Test
+  void testShouldCreateClientErrorsWithoutStackTrace() {
+    assertThat(new EntityNotFoundException(UUID.randomUUID()).getStackTrace()).isEmpty();
+    assertThat(new InvalidPathVariableException("1-2-3").getStackTrace()).isEmpty();
+  }
+}
@@ -0,0 +1,230 @@
+package com.test.assignment.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.test.assignment.domain.User;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RangeResponseCacheFilterTest {
+  private static final String BODY = "[" + "{\"firstName\":\"Bob\"},".repeat(100) + "{}]";
+
+  private final RangeResponseCacheFilter testable = new RangeResponseCacheFilter(1 << 20);
+  private final AtomicInteger renders = new AtomicInteger();
+  private Runnable duringRender = () -> {};
+
+  @Test
+  void testShouldServeRepeatedRangeFromCache() throws Exception {
+    MockHttpServletResponse first = perform(rangeRequest("1990-01-01", "1990-12-31"));
+    MockHttpServletResponse second = perform(rangeRequest("1990-01-01", "1990-12-31"));
+
+    assertThat(renders).hasValue(1);
+    assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo(BODY);
+    assertThat(second.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+    assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo("\"1\"");
+    assertThat(second.getHeader(UserController.NEXT_CURSOR_HEADER)).isEqualTo("next");
+  }
+
+  @Test
+  void testShouldServeCompressedCopyWhenAccepted() throws Exception {
+    perform(rangeRequest("1990-01-01", "1990-12-31"));
+    MockHttpServletRequest request = rangeRequest("1990-01-01", "1990-12-31");
+    request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+    MockHttpServletResponse response = perform(request);
+
+    assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(BODY);
+    assertThat(response.getContentAsByteArray().length).isLessThan(BODY.length());
+  }
+
+  @Test
+  void testShouldAnswerNotModifiedFromCache() throws Exception {
+    perform(rangeRequest("1990-01-01", "1990-12-31"));
+    MockHttpServletRequest request = rangeRequest("1990-01-01", "1990-12-31");
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1\"");
+
+    MockHttpServletResponse response = perform(request);
+
+    assertThat(response.getStatus()).isEqualTo(304);
+    assertThat(response.getContentAsByteArray()).isEmpty();
+  }
+
+  @Test
+  void testShouldCompareEachTagOfIfNoneMatch() throws Exception {
+    perform(rangeRequest("1990-01-01", "1990-12-31"));
+
+    assertThat(perform(conditionalRequest("\"0\", W/\"1\"")).getStatus()).isEqualTo(304);
+    assertThat(perform(conditionalRequest("*")).getStatus()).isEqualTo(304);
+    assertThat(perform(conditionalRequest("\"10\", \"01\"")).getStatus()).isEqualTo(200);
+    assertThat(RangeResponseCacheFilter.CachedRange.matchesAny("\"1\"", "W/\"1\"")).isTrue();
+    assertThat(RangeResponseCacheFilter.CachedRange.matchesAny("\"1\"1\"", "\"1\"")).isFalse();
+  }
+
+  @Test
+  void testShouldLeaveRequestsWithUnsupportedContentTypeToHandler() throws Exception {
+    perform(rangeRequest("1990-01-01", "1990-12-31"));
+    MockHttpServletRequest withoutType = rangeRequest("1990-01-01", "1990-12-31");
+    withoutType.setContentType(null);
+    MockHttpServletRequest text = rangeRequest("1990-01-01", "1990-12-31");
+    text.setContentType(MediaType.TEXT_PLAIN_VALUE);
+    MockHttpServletRequest withCharset = rangeRequest("1990-01-01", "1990-12-31");
+    withCharset.setContentType("application/json;charset=UTF-8");
+
+    perform(withoutType);
+    perform(text);
+    perform(withCharset);
+
+    assertThat(renders).hasValue(3);
+  }
+
+  @Test
+  void testShouldInvalidateOnlyRangesContainingChangedBirthDate() throws Exception {
+    perform(rangeRequest("1990-01-01", "1990-12-31"));
+    perform(rangeRequest("2000-01-01", "2000-12-31"));
+
+    testable.onChange(null, buildUser(LocalDateTime.of(1990, 6, 1, 12, 0)));
+    perform(rangeRequest("1990-01-01", "1990-12-31"));
+    perform(rangeRequest("2000-01-01", "2000-12-31"));
+    assertThat(renders).hasValue(3);
+
+    testable.onChange(buildUser(LocalDateTime.of(2000, 3, 1, 0, 0)), null);
+    perform(rangeRequest("2000-01-01", "2000-12-31"));
+    assertThat(renders).hasValue(4);
+  }
+
+  @Test
+  void testShouldInvalidateRangeOnChangeLateOnItsLastDay() throws Exception {
+    perform(rangeRequest("1990-01-01", "1990-06-30"));
+
+    testable.onChange(null, buildUser(LocalDateTime.of(1990, 6, 30, 15, 0)));
+    perform(rangeRequest("1990-01-01", "1990-06-30"));
+    assertThat(renders).hasValue(2);
+  }
+
+  @Test
+  void testShouldInvalidateRangesSpanningYearsAndCenturies() throws Exception {
+    perform(rangeRequest("1990-06-01", "1992-05-31"));
+    perform(rangeRequest("1900-01-01", "2020-12-31"));
+    perform(rangeRequest("1992-06-01", "1992-12-31"));
+
+    testable.onChange(buildUser(LocalDateTime.of(1991, 6, 1, 0, 0)), null);
+    perform(rangeRequest("1990-06-01", "1992-05-31"));
+    perform(rangeRequest("1900-01-01", "2020-12-31"));
+    perform(rangeRequest("1992-06-01", "1992-12-31"));
+    assertThat(renders).hasValue(5);
+
+    testable.onChange(null, buildUser(LocalDateTime.of(1992, 1, 1, 0, 0)));
+    perform(rangeRequest("1990-06-01", "1992-05-31"));
+    perform(rangeRequest("1900-01-01", "2020-12-31"));
+    perform(rangeRequest("1992-06-01", "1992-12-31"));
+    assertThat(renders).hasValue(7);
+  }
+
+  @Test
+  void testShouldVaryByAcceptAndEncodingWhenMissedAndWhenHit() throws Exception {
+    MockHttpServletResponse missed = perform(rangeRequest("1990-01-01", "1990-12-31"));
+    MockHttpServletResponse hit = perform(rangeRequest("1990-01-01", "1990-12-31"));
+
+    assertThat(missed.getHeader(HttpHeaders.VARY))
+        .isEqualTo(hit.getHeader(HttpHeaders.VARY))
+        .isEqualTo("Accept, Accept-Encoding");
+  }
+
+  @Test
+  void testShouldNotStoreResponseRenderedDuringChange() throws Exception {
+    duringRender = () -> testable.onChange(null, buildUser(LocalDateTime.of(1980, 1, 1, 0, 0)));
+    perform(rangeRequest("1990-01-01", "1990-12-31"));
+    duringRender = () -> {};
+
+    perform(rangeRequest("1990-01-01", "1990-12-31"));
+
+    assertThat(renders).hasValue(2);
+  }
+
+  @Test
+  void testShouldKeySeparatelyPerAcceptAndPage() throws Exception {
+    perform(rangeRequest("1990-01-01", "1990-12-31"));
+    MockHttpServletRequest cbor = rangeRequest("1990-01-01", "1990-12-31");
+    cbor.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE);
+    perform(cbor);
+    MockHttpServletRequest nextPage = rangeRequest("1990-01-01", "1990-12-31");
+    nextPage.setParameter("cursor", "next");
+    perform(nextPage);
+
+    assertThat(renders).hasValue(3);
+  }
+
+  @Test
+  void testShouldPassThroughOtherRequests() throws Exception {
+    perform(new MockHttpServletRequest("GET", "/users/" + UUID.randomUUID()));
+    perform(new MockHttpServletRequest("GET", "/users/" + UUID.randomUUID()));
+    perform(rangeRequest("1990-01-01", "not-a-date"));
+    perform(rangeRequest("1990-01-01", "not-a-date"));
+
+    assertThat(renders).hasValue(4);
+  }
+
+  private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    HttpServlet servlet =
+        new HttpServlet() {
+          @Override
+          protected void doGet(HttpServletRequest req, HttpServletResponse resp)
+              throws IOException {
+            renders.incrementAndGet();
+            duringRender.run();
+            resp.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            resp.setHeader(HttpHeaders.ETAG, "\"1\"");
+            resp.setHeader(UserController.NEXT_CURSOR_HEADER, "next");
+            resp.getOutputStream().write(BODY.getBytes());
+          }
+        };
+    testable.doFilter(request, response, new MockFilterChain(servlet));
+    return response;
+  }
+
+  private MockHttpServletRequest rangeRequest(String from, String to) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+    request.setParameter("from", from);
+    request.setParameter("to", to);
+    request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    return request;
+  }
+
+  private MockHttpServletRequest conditionalRequest(String ifNoneMatch) {
+    MockHttpServletRequest request = rangeRequest("1990-01-01", "1990-12-31");
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+    return request;
+  }
+
+  private User buildUser(LocalDateTime birthDate) {
+    return User.builder()
+        .id(UUID.randomUUID())
+        .firstName("Bob")
+        .lastName("John")
+        .email("bob@email.com")
+        .birthDate(birthDate)
+        .version(1)
+        .build();
+  }
+
+  private static String gunzip(byte[] bytes) throws IOException {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+      return new String(in.readAllBytes());
+    }
+  }
+}
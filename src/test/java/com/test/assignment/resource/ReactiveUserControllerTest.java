@@ -0,0 +1,549 @@
+package com.test.assignment.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.test.assignment.domain.BirthDateBucket;
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import com.test.assignment.domain.UserPage;
+import com.test.assignment.domain.request.UserBatchRequest;
+import com.test.assignment.domain.request.UserCreateRequest;
+import com.test.assignment.domain.request.UserUpdateRequest;
+import com.test.assignment.domain.response.UserBatchResponse;
+import com.test.assignment.domain.response.UserBatchResult;
+import com.test.assignment.domain.response.UserCountResult;
+import com.test.assignment.domain.response.UserResponse;
+import com.test.assignment.exception.DuplicateEmailException;
+import com.test.assignment.exception.EntityNotFoundException;
+import com.test.assignment.exception.PreconditionFailedException;
+import com.test.assignment.service.ReactiveUserService;
+import com.test.assignment.service.UserCountService;
+import com.test.assignment.validator.BirthDateConstraintValidatorFactory;
+import com.test.assignment.validator.BirthDateCutoff;
+import com.test.assignment.validator.UserRequestValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@WebFluxTest(ReactiveUserController.class)
+@Import(value = {ReactiveUserControllerTest.TestConfiguration.class})
+class ReactiveUserControllerTest {
+  private static final UUID USER_ID = UUID.fromString("34ae7f06-c206-4bc1-96c6-1a79d871f9eb");
+  private static final LocalDateTime DATE_NOW = LocalDateTime.now();
+  private static final DateTimeFormatter FORMAT =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSS");
+  private static final String USERS_API_PATH = "/users";
+  private static final String ID_PATH_VAR = "/{id}";
+  private static final ObjectMapper CBOR_MAPPER = new CBORMapper();
+
+  @Autowired private WebTestClient client;
+  @MockBean private ReactiveUserService service;
+  @MockBean private UserCountService countService;
+
+  @org.springframework.boot.test.context.TestConfiguration
+  static class TestConfiguration {
+    @Bean
+    public UserRequestValidator userRequestValidator() {
+      BirthDateCutoff cutoff = BirthDateCutoff.systemDefault();
+      return new UserRequestValidator(
+          BirthDateConstraintValidatorFactory.buildValidatorFactory(cutoff).getValidator(),
+          cutoff,
+          new SimpleMeterRegistry());
+    }
+  }
+
+  @Test
+  void shouldCreateUserSuccessfully() {
+    when(service.createUser(any(UserCreateRequest.class)))
+        .thenReturn(Mono.just(buildTestUserResponse()));
+
+    client
+        .post()
+        .uri(USERS_API_PATH)
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .bodyValue(createRequestJson(DATE_NOW.minusYears(18)))
+        .exchange()
+        .expectStatus()
+        .isCreated()
+        .expectHeader()
+        .valueEquals(HttpHeaders.ETAG, "\"3\"")
+        .expectBody()
+        .jsonPath("$.firstName")
+        .isEqualTo("Bob")
+        .jsonPath("$.birthDate")
+        .isEqualTo(DATE_NOW.minusYears(18).format(FORMAT));
+  }
+
+  @Test
+  void shouldRejectInvalidUserCreateRequest() {
+    client
+        .post()
+        .uri(USERS_API_PATH)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(createRequestJson(DATE_NOW.minusYears(10)))
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+
+    verify(service, never()).createUser(any(UserCreateRequest.class));
+  }
+
+  @Test
+  void shouldReturnConflictForDuplicateEmail() {
+    when(service.createUser(any(UserCreateRequest.class)))
+        .thenReturn(Mono.error(new DuplicateEmailException("bobJohn@email.com")));
+
+    client
+        .post()
+        .uri(USERS_API_PATH)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(createRequestJson(DATE_NOW.minusYears(18)))
+        .exchange()
+        .expectStatus()
+        .isEqualTo(409);
+  }
+
+  @Test
+  void shouldGetUserByIdWithETagAndNotModified() {
+    when(service.getUser(USER_ID)).thenReturn(Mono.just(buildTestUserResponse()));
+
+    client
+        .get()
+        .uri(USERS_API_PATH + ID_PATH_VAR, USER_ID)
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .valueEquals(HttpHeaders.ETAG, "\"3\"")
+        .expectBody()
+        .jsonPath("$.id")
+        .isEqualTo(USER_ID.toString());
+    client
+        .get()
+        .uri(USERS_API_PATH + ID_PATH_VAR, USER_ID)
+        .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+        .exchange()
+        .expectStatus()
+        .isNotModified()
+        .expectBody()
+        .isEmpty();
+  }
+
+  @Test
+  void shouldReturnNotFoundForMissingUserAndRejectInvalidId() {
+    when(service.getUser(USER_ID)).thenReturn(Mono.error(new EntityNotFoundException(USER_ID)));
+
+    client
+        .get()
+        .uri(USERS_API_PATH + ID_PATH_VAR, USER_ID)
+        .exchange()
+        .expectStatus()
+        .isNotFound();
+    client
+        .get()
+        .uri(USERS_API_PATH + ID_PATH_VAR, "1-2-3-4-5")
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+  }
+
+  @Test
+  void shouldPassIfMatchVersionOnUpdate() {
+    when(service.updateUser(eq(USER_ID), any(UserUpdateRequest.class), eq(3L)))
+        .thenReturn(Mono.just(buildTestUserResponse(USER_ID, 4)));
+
+    client
+        .patch()
+        .uri(USERS_API_PATH + ID_PATH_VAR, USER_ID)
+        .header(HttpHeaders.IF_MATCH, "\"3\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{\"firstName\": \"Bobby\"}")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .valueEquals(HttpHeaders.ETAG, "\"4\"");
+  }
+
+  @Test
+  void shouldReturnPreconditionFailedOnReplaceVersionMismatch() {
+    when(service.replaceUser(eq(USER_ID), any(UserCreateRequest.class), eq(2L)))
+        .thenReturn(Mono.error(new PreconditionFailedException(USER_ID, 2L, 3L)));
+
+    client
+        .put()
+        .uri(USERS_API_PATH + ID_PATH_VAR, USER_ID)
+        .header(HttpHeaders.IF_MATCH, "\"2\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(createRequestJson(DATE_NOW.minusYears(18)))
+        .exchange()
+        .expectStatus()
+        .isEqualTo(412);
+  }
+
+  @Test
+  void shouldDeleteUserSuccessfully() {
+    when(service.deleteUser(USER_ID)).thenReturn(Mono.empty());
+
+    client
+        .delete()
+        .uri(USERS_API_PATH + ID_PATH_VAR, USER_ID)
+        .exchange()
+        .expectStatus()
+        .isOk();
+  }
+
+  @Test
+  void shouldStreamUsersByBirthDateRangeAsNdjson() {
+    when(service.getUsersByBirthDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+        .thenReturn(
+            Flux.just(buildTestUser(USER_ID, 3), buildTestUser(UUID.randomUUID(), 1)));
+
+    client
+        .get()
+        .uri(
+            uri ->
+                uri.path(USERS_API_PATH)
+                    .queryParam("from", DATE_NOW.minusYears(20).toLocalDate())
+                    .queryParam("to", DATE_NOW.minusYears(5).toLocalDate())
+                    .build())
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .expectBodyList(UserResponse.class)
+        .hasSize(2)
+        .contains(buildTestUserResponse());
+  }
+
+  @Test
+  void shouldReturnNextCursorAndAcceptItForNextPage() {
+    UserCursor cursor = new UserCursor(DATE_NOW.minusYears(18), USER_ID);
+    when(service.getUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), isNull(), eq(1)))
+        .thenReturn(Mono.just(new UserPage(List.of(buildTestUser(USER_ID, 3)), cursor)));
+    when(service.getUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), eq(cursor), eq(1)))
+        .thenReturn(Mono.just(new UserPage(List.of(), null)));
+
+    client
+        .get()
+        .uri(rangeUri("1", null))
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .valueEquals(UserController.NEXT_CURSOR_HEADER, cursor.encode())
+        .expectHeader()
+        .exists(HttpHeaders.ETAG)
+        .expectBodyList(UserResponse.class)
+        .containsExactly(buildTestUserResponse());
+    client
+        .get()
+        .uri(rangeUri("1", cursor.encode()))
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .doesNotExist(UserController.NEXT_CURSOR_HEADER)
+        .expectBodyList(UserResponse.class)
+        .hasSize(0);
+  }
+
+  @Test
+  void shouldCapLimitAtConfiguredMaximumAndRejectInvalidLimitOrCursor() {
+    when(service.getUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), isNull(), anyInt()))
+        .thenReturn(Mono.just(new UserPage(List.of(buildTestUser(USER_ID, 3)), null)));
+
+    client
+        .get()
+        .uri(rangeUri("1000000", null))
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk();
+    client
+        .get()
+        .uri(rangeUri("0", null))
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+    client
+        .get()
+        .uri(rangeUri(null, "not-a-cursor"))
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+
+    verify(service)
+        .getUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), isNull(), eq(1000));
+  }
+
+  @Test
+  void shouldSearchUsersByNameAndRejectBlankQuery() {
+    when(service.searchUsers("bo", 20)).thenReturn(Mono.just(List.of(buildTestUser(USER_ID, 3))));
+
+    client
+        .get()
+        .uri(
+            uri ->
+                uri.path(USERS_API_PATH + "/search")
+                    .queryParam("q", "bo")
+                    .queryParam("limit", 20)
+                    .build())
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBodyList(UserResponse.class)
+        .containsExactly(buildTestUserResponse());
+    client
+        .get()
+        .uri(uri -> uri.path(USERS_API_PATH + "/search").queryParam("q", " ").build())
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+
+    verify(service, never()).searchUsers(eq(" "), anyInt());
+  }
+
+  @Test
+  void shouldApplyBatchAndRejectBatchExceedingConfiguredMaximum() {
+    UserBatchResponse response =
+        new UserBatchResponse(
+            0,
+            1,
+            List.of(
+                UserBatchResult.builder()
+                    .operation(UserBatchResult.Operation.DELETE)
+                    .index(0)
+                    .id(USER_ID.toString())
+                    .status(404)
+                    .error("User not found")
+                    .build()));
+    when(service.applyBatch(any(UserBatchRequest.class))).thenReturn(Mono.just(response));
+
+    client
+        .post()
+        .uri(USERS_API_PATH + "/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{\"delete\": [\"" + USER_ID + "\"]}")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.failed")
+        .isEqualTo(1)
+        .jsonPath("$.results[0].status")
+        .isEqualTo(404);
+    String ids = String.join(",", Collections.nCopies(10_001, "\"" + USER_ID + "\""));
+    client
+        .post()
+        .uri(USERS_API_PATH + "/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{\"delete\": [" + ids + "]}")
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+
+    verify(service).applyBatch(argThat(request -> request.delete().size() == 1));
+    verify(service, never()).applyBatch(argThat(request -> request.delete().size() > 1));
+  }
+
+  @Test
+  void shouldCountUsersByBirthDateBuckets() {
+    UserCountResult result =
+        UserCountResult.builder()
+            .from(LocalDate.of(1990, 1, 1))
+            .to(LocalDate.of(1990, 12, 31))
+            .count(7)
+            .build();
+    when(countService.countUsersByBirthDate(
+            any(LocalDateTime.class), any(LocalDateTime.class), eq(BirthDateBucket.YEAR), eq(1)))
+        .thenReturn(List.of(result));
+
+    client
+        .get()
+        .uri(
+            uri ->
+                uri.path(USERS_API_PATH + "/counts")
+                    .queryParam("from", DATE_NOW.minusYears(40).toLocalDate())
+                    .queryParam("to", DATE_NOW.minusYears(5).toLocalDate())
+                    .build())
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBodyList(UserCountResult.class)
+        .containsExactly(result);
+  }
+
+  @Test
+  void shouldCountInCborAndRequireContentTypeForRangeLikeMvc() throws Exception {
+    UserCountResult result =
+        UserCountResult.builder()
+            .from(LocalDate.of(1990, 1, 1))
+            .to(LocalDate.of(1990, 12, 31))
+            .count(7)
+            .build();
+    when(countService.countUsersByBirthDate(
+            any(LocalDateTime.class), any(LocalDateTime.class), eq(BirthDateBucket.YEAR), eq(1)))
+        .thenReturn(List.of(result));
+
+    byte[] counts =
+        client
+            .get()
+            .uri(
+                uri ->
+                    uri.path(USERS_API_PATH + "/counts")
+                        .queryParam("from", DATE_NOW.minusYears(40).toLocalDate())
+                        .queryParam("to", DATE_NOW.minusYears(5).toLocalDate())
+                        .build())
+            .accept(MediaType.APPLICATION_CBOR)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_CBOR)
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+    client
+        .get()
+        .uri(rangeUri(null, null))
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .is4xxClientError();
+
+    assertThat(CBOR_MAPPER.readTree(counts).get(0).get("count").asLong()).isEqualTo(7);
+    verify(service, never())
+        .getUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), any(), anyInt());
+  }
+
+  @Test
+  void shouldRejectFindRequestWithInvalidDateRange() {
+    client
+        .get()
+        .uri(
+            uri ->
+                uri.path(USERS_API_PATH)
+                    .queryParam("from", DATE_NOW.minusYears(5).toLocalDate())
+                    .queryParam("to", DATE_NOW.minusYears(20).toLocalDate())
+                    .build())
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+
+    verify(service, never())
+        .getUsersByBirthDateRange(any(LocalDateTime.class), any(LocalDateTime.class));
+    verify(service, never())
+        .getUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), any(), anyInt());
+  }
+
+  private Function<UriBuilder, URI> rangeUri(String limit, String cursor) {
+    return uri -> {
+      uri.path(USERS_API_PATH)
+          .queryParam("from", DATE_NOW.minusYears(20).toLocalDate())
+          .queryParam("to", DATE_NOW.minusYears(5).toLocalDate());
+      if (limit != null) {
+        uri.queryParam("limit", limit);
+      }
+      if (cursor != null) {
+        uri.queryParam("cursor", cursor);
+      }
+      return uri.build();
+    };
+  }
+
+  private String createRequestJson(LocalDateTime birthDate) {
+    return """
+        {
+            "firstName": "Bob",
+            "lastName": "John",
+            "email": "bobJohn@email.com",
+            "birthDate": "%s",
+            "address": "Some Random Street, 12",
+            "phoneNumber": "+380775553535"
+        }
+        """
+        .formatted(birthDate);
+  }
+
+  private UserResponse buildTestUserResponse() {
+    return buildTestUserResponse(USER_ID, 3);
+  }
+
+  private User buildTestUser(UUID id, long version) {
+    return User.builder()
+        .id(id)
+        .firstName("Bob")
+        .lastName("John")
+        .email("bobJohn@email.com")
+        .birthDate(DATE_NOW.minusYears(18))
+        .address("Some Random Street, 12")
+        .phoneNumber("+380775553535")
+        .version(version)
+        .build();
+  }
+
+  private UserResponse buildTestUserResponse(UUID id, long version) {
+    return UserResponse.builder()
+        .id(id)
+        .firstName("Bob")
+        .lastName("John")
+        .email("bobJohn@email.com")
+        .birthDate(DATE_NOW.minusYears(18))
+        .address("Some Random Street, 12")
+        .phoneNumber("+380775553535")
+        .version(version)
+        .build();
+  }
+}
@@ -1,22 +1,52 @@
 package com.test.assignment.resource;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.test.assignment.domain.BirthDateBucket;
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import com.test.assignment.domain.UserPage;
+import com.test.assignment.domain.request.UserBatchRequest;
 import com.test.assignment.domain.request.UserCreateRequest;
 import com.test.assignment.domain.request.UserUpdateRequest;
+import com.test.assignment.domain.response.UserBatchResponse;
+import com.test.assignment.domain.response.UserBatchResult;
+import com.test.assignment.domain.response.UserCountResult;
 import com.test.assignment.domain.response.UserResponse;
+import com.test.assignment.exception.DuplicateEmailException;
+import com.test.assignment.exception.EntityNotFoundException;
+import com.test.assignment.exception.PreconditionFailedException;
+import com.test.assignment.service.UserBatchService;
+import com.test.assignment.service.UserCountService;
 import com.test.assignment.service.UserService;
+import com.test.assignment.validator.BirthDateConstraintValidatorFactory;
+import com.test.assignment.validator.BirthDateCutoff;
 import com.test.assignment.validator.UserRequestValidator;
-import jakarta.validation.Validation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.validation.ValidatorFactory;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,14 +57,16 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(UserController.class)
-@Import(value = {UserControllerTest.TestConfiguration.class})
+@Import(value = {UserControllerTest.TestConfiguration.class, BinaryFormatConfiguration.class})
 @PropertySource("classpath:application.properties")
 class UserControllerTest {
   private static final UUID USER_ID = UUID.fromString("34ae7f06-c206-4bc1-96c6-1a79d871f9eb");
@@ -43,16 +75,21 @@ class UserControllerTest {
       DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSS");
   private static final String USERS_API_PATH = "/users";
   private static final String ID_PATH_VAR = "/{id}";
+  private static final ObjectMapper CBOR_MAPPER = new CBORMapper().findAndRegisterModules();
 
   @Autowired private MockMvc mvc;
+  @Autowired private ObjectMapper objectMapper;
   @MockBean private UserService service;
+  @MockBean private UserBatchService batchService;
+  @MockBean private UserCountService countService;
 
   @org.springframework.boot.test.context.TestConfiguration
   static class TestConfiguration {
     @Bean
     public UserRequestValidator userRequestValidator() {
-      ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-      return new UserRequestValidator(factory.getValidator());
+      BirthDateCutoff cutoff = BirthDateCutoff.systemDefault();
+      ValidatorFactory factory = BirthDateConstraintValidatorFactory.buildValidatorFactory(cutoff);
+      return new UserRequestValidator(factory.getValidator(), cutoff, new SimpleMeterRegistry());
     }
 
     @Bean
@@ -138,7 +175,7 @@ class UserControllerTest {
 
   @Test
   void shouldUpdateUserSuccessfully() throws Exception {
-    when(service.updateUser(any(UUID.class), any(UserUpdateRequest.class)))
+    when(service.updateUser(any(UUID.class), any(UserUpdateRequest.class), isNull()))
         .thenReturn(buildTestUserResponse());
     String bDayString = DATE_NOW.minusYears(18).toString();
 
@@ -170,7 +207,7 @@ class UserControllerTest {
 
   @Test
   void shouldReplaceUserSuccessfully() throws Exception {
-    when(service.replaceUser(any(UUID.class), any(UserCreateRequest.class)))
+    when(service.replaceUser(any(UUID.class), any(UserCreateRequest.class), isNull()))
         .thenReturn(buildTestUserResponse());
     String bDayString = DATE_NOW.minusYears(18).toString();
 
@@ -200,6 +237,57 @@ class UserControllerTest {
         .andExpect(jsonPath("$.phoneNumber").value("+380775553535"));
   }
 
+  @Test
+  void shouldPassIfMatchVersionAndReturnETag() throws Exception {
+    UserResponse updated = buildTestUserResponse();
+    updated.setVersion(4);
+    when(service.updateUser(eq(USER_ID), any(UserUpdateRequest.class), eq(3L)))
+        .thenReturn(updated);
+
+    mvc.perform(
+            MockMvcRequestBuilders.patch(USERS_API_PATH + ID_PATH_VAR, USER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .content("{\"firstName\": \"Bobby\"}"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+        .andExpect(jsonPath("$.version").value(4));
+  }
+
+  @Test
+  void shouldReturnPreconditionFailedOnVersionMismatch() throws Exception {
+    when(service.replaceUser(eq(USER_ID), any(UserCreateRequest.class), eq(2L)))
+        .thenThrow(new PreconditionFailedException(USER_ID, 2, 3));
+
+    mvc.perform(
+            MockMvcRequestBuilders.put(USERS_API_PATH + ID_PATH_VAR, USER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .content(
+                    """
+            {
+                "firstName": "Bob",
+                "lastName": "John",
+                "email": "bobJohn@email.com",
+                "birthDate": "%s"
+            }
+            """
+                        .formatted(DATE_NOW.minusYears(18).toString())))
+        .andExpect(status().isPreconditionFailed());
+  }
+
+  @Test
+  void shouldRejectIfMatchThatCannotMatchVersion() throws Exception {
+    mvc.perform(
+            MockMvcRequestBuilders.patch(USERS_API_PATH + ID_PATH_VAR, USER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .content("{\"firstName\": \"Bobby\"}"))
+        .andExpect(status().isPreconditionFailed());
+
+    verify(service, never()).updateUser(any(UUID.class), any(UserUpdateRequest.class), any());
+  }
+
   @Test
   void shouldRejectReplaceInvalidUser() throws Exception {
     String invalidBDayString = DATE_NOW.minusYears(10).toString();
@@ -259,6 +347,115 @@ class UserControllerTest {
         .andExpect(status().isBadRequest());
   }
 
+  @Test
+  void shouldGetUserByIdWithETag() throws Exception {
+    when(service.getUser(USER_ID)).thenReturn(buildTestUserResponse());
+
+    mvc.perform(
+            MockMvcRequestBuilders.get(USERS_API_PATH + ID_PATH_VAR, USER_ID)
+                .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+        .andExpect(jsonPath("$.id").value(USER_ID.toString()))
+        .andExpect(jsonPath("$.firstName").value("Bob"))
+        .andExpect(jsonPath("$.version").value(3));
+  }
+
+  @Test
+  void shouldReturnNotModifiedForUnchangedUser() throws Exception {
+    when(service.getUser(USER_ID)).thenReturn(buildTestUserResponse());
+
+    mvc.perform(
+            MockMvcRequestBuilders.get(USERS_API_PATH + ID_PATH_VAR, USER_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+  }
+
+  @Test
+  void shouldReturnNotFoundForMissingUser() throws Exception {
+    when(service.getUser(USER_ID)).thenThrow(new EntityNotFoundException(USER_ID));
+
+    mvc.perform(MockMvcRequestBuilders.get(USERS_API_PATH + ID_PATH_VAR, USER_ID))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void shouldRejectGetWithInvalidId() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get(USERS_API_PATH + ID_PATH_VAR, "1-2-3-4-5"))
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).getUser(any(UUID.class));
+  }
+
+  @Test
+  void shouldGetUserByEmailWithETag() throws Exception {
+    when(service.getUserByEmail("bobJohn@email.com")).thenReturn(buildTestUserResponse());
+
+    mvc.perform(
+            MockMvcRequestBuilders.get(USERS_API_PATH)
+                .param("email", "bobJohn@email.com")
+                .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+        .andExpect(jsonPath("$.id").value(USER_ID.toString()))
+        .andExpect(jsonPath("$.email").value("bobJohn@email.com"));
+  }
+
+  @Test
+  void shouldReturnNotFoundForUnknownEmail() throws Exception {
+    when(service.getUserByEmail("nobody@email.com"))
+        .thenThrow(new EntityNotFoundException("User not found by email=nobody@email.com"));
+
+    mvc.perform(MockMvcRequestBuilders.get(USERS_API_PATH).param("email", "nobody@email.com"))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void shouldSearchUsersByName() throws Exception {
+    when(service.searchUsers("bo", 20)).thenReturn(List.of(buildTestUser()));
+
+    mvc.perform(
+            MockMvcRequestBuilders.get(USERS_API_PATH + "/search")
+                .param("q", "bo")
+                .param("limit", "20")
+                .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(USER_ID.toString()))
+        .andExpect(jsonPath("$[0].firstName").value("Bob"));
+  }
+
+  @Test
+  void shouldRejectBlankSearchQuery() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get(USERS_API_PATH + "/search").param("q", " "))
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).searchUsers(any(String.class), anyInt());
+  }
+
+  @Test
+  void shouldReturnConflictForDuplicateEmail() throws Exception {
+    when(service.createUser(any(UserCreateRequest.class)))
+        .thenThrow(new DuplicateEmailException("bobJohn@email.com"));
+
+    mvc.perform(
+            MockMvcRequestBuilders.post(USERS_API_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    """
+            {
+                "firstName": "Bob",
+                "lastName": "John",
+                "email": "bobJohn@email.com",
+                "birthDate": "%s"
+            }
+            """
+                        .formatted(DATE_NOW.minusYears(18).toString())))
+        .andExpect(status().isConflict());
+  }
+
   @Test
   void shouldDeleteUserSuccessfully() throws Exception {
     mvc.perform(MockMvcRequestBuilders.delete(USERS_API_PATH + ID_PATH_VAR, USER_ID))
@@ -267,8 +464,9 @@ class UserControllerTest {
 
   @Test
   void shouldFindUsersByBirthDateRangeSuccessfully() throws Exception {
-    when(service.getUsersByBirthDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
-        .thenReturn(List.of(buildTestUserResponse()));
+    when(service.getUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), isNull(), eq(100)))
+        .thenReturn(new UserPage(List.of(buildTestUser()), null));
 
     mvc.perform(
             MockMvcRequestBuilders.get(USERS_API_PATH)
@@ -283,13 +481,296 @@ class UserControllerTest {
         .andExpect(jsonPath("$[0].email").value("bobJohn@email.com"))
         .andExpect(jsonPath("$[0].birthDate").value(DATE_NOW.minusYears(18).format(FORMAT)))
         .andExpect(jsonPath("$[0].address").value("Some Random Street, 12"))
-        .andExpect(jsonPath("$[0].phoneNumber").value("+380775553535"));
+        .andExpect(jsonPath("$[0].phoneNumber").value("+380775553535"))
+        .andExpect(header().doesNotExist(UserController.NEXT_CURSOR_HEADER));
+  }
+
+  @Test
+  void shouldWriteRangeExactlyLikeUserResponses() throws Exception {
+    when(service.getUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), isNull(), eq(100)))
+        .thenReturn(new UserPage(List.of(buildTestUser()), null));
+
+    byte[] body =
+        mvc.perform(
+                MockMvcRequestBuilders.get(USERS_API_PATH)
+                    .param("from", DATE_NOW.minusYears(20).toString())
+                    .param("to", DATE_NOW.minusYears(5).toString())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+    assertThat(body).isEqualTo(objectMapper.writeValueAsBytes(List.of(buildTestUserResponse())));
+  }
+
+  @Test
+  void shouldCountUsersByBirthDateBuckets() throws Exception {
+    when(countService.countUsersByBirthDate(
+            any(LocalDateTime.class), any(LocalDateTime.class), eq(BirthDateBucket.AGE), eq(5)))
+        .thenReturn(
+            List.of(
+                UserCountResult.builder()
+                    .from(LocalDate.of(2000, 1, 1))
+                    .to(LocalDate.of(2005, 6, 15))
+                    .age(18)
+                    .count(42)
+                    .build()));
+
+    mvc.perform(
+            MockMvcRequestBuilders.get(USERS_API_PATH + "/counts")
+                .param("from", DATE_NOW.minusYears(30).toString())
+                .param("to", DATE_NOW.minusYears(5).toString())
+                .param("bucket", "age")
+                .param("size", "5")
+                .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].from").value("2000-01-01"))
+        .andExpect(jsonPath("$[0].to").value("2005-06-15"))
+        .andExpect(jsonPath("$[0].age").value(18))
+        .andExpect(jsonPath("$[0].count").value(42));
+  }
+
+  @Test
+  void shouldRejectCountRequestWithUnknownBucketOrInvalidRange() throws Exception {
+    mvc.perform(
+            MockMvcRequestBuilders.get(USERS_API_PATH + "/counts")
+                .param("from", DATE_NOW.minusYears(20).toString())
+                .param("to", DATE_NOW.minusYears(5).toString())
+                .param("bucket", "week"))
+        .andExpect(status().isBadRequest());
+
+    mvc.perform(
+            MockMvcRequestBuilders.get(USERS_API_PATH + "/counts")
+                .param("from", DATE_NOW.minusYears(5).toString())
+                .param("to", DATE_NOW.minusYears(20).toString()))
+        .andExpect(status().isBadRequest());
+
+    verify(countService, never())
+        .countUsersByBirthDate(
+            any(LocalDateTime.class),
+            any(LocalDateTime.class),
+            any(BirthDateBucket.class),
+            anyInt());
+  }
+
+  @Test
+  void shouldReturnNotModifiedForUnchangedPage() throws Exception {
+    when(service.getUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), isNull(), eq(100)))
+        .thenReturn(new UserPage(List.of(buildTestUser()), null));
+
+    String eTag =
+        mvc.perform(
+                MockMvcRequestBuilders.get(USERS_API_PATH)
+                    .param("from", DATE_NOW.minusYears(20).toString())
+                    .param("to", DATE_NOW.minusYears(5).toString())
+                    .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+    mvc.perform(
+            MockMvcRequestBuilders.get(USERS_API_PATH)
+                .param("from", DATE_NOW.minusYears(20).toString())
+                .param("to", DATE_NOW.minusYears(5).toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    User changed = buildTestUser().toBuilder().version(4).build();
+    when(service.getUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), isNull(), eq(100)))
+        .thenReturn(new UserPage(List.of(changed), null));
+
+    mvc.perform(
+            MockMvcRequestBuilders.get(USERS_API_PATH)
+                .param("from", DATE_NOW.minusYears(20).toString())
+                .param("to", DATE_NOW.minusYears(5).toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].version").value(4));
+  }
+
+  @Test
+  void shouldReturnNextCursorAndAcceptItForNextPage() throws Exception {
+    UserCursor cursor = new UserCursor(DATE_NOW.minusYears(18), USER_ID);
+    when(service.getUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), isNull(), eq(1)))
+        .thenReturn(new UserPage(List.of(buildTestUser()), cursor));
+    when(service.getUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), eq(cursor), eq(1)))
+        .thenReturn(new UserPage(List.of(), null));
+
+    mvc.perform(
+            MockMvcRequestBuilders.get(USERS_API_PATH)
+                .param("from", DATE_NOW.minusYears(20).toString())
+                .param("to", DATE_NOW.minusYears(5).toString())
+                .param("limit", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(header().string(UserController.NEXT_CURSOR_HEADER, cursor.encode()));
+
+    mvc.perform(
+            MockMvcRequestBuilders.get(USERS_API_PATH)
+                .param("from", DATE_NOW.minusYears(20).toString())
+                .param("to", DATE_NOW.minusYears(5).toString())
+                .param("limit", "1")
+                .param("cursor", cursor.encode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$").isEmpty());
+  }
+
+  @Test
+  void shouldRejectFindRequestWithInvalidLimitOrCursor() throws Exception {
+    mvc.perform(
+            MockMvcRequestBuilders.get(USERS_API_PATH)
+                .param("from", DATE_NOW.minusYears(20).toString())
+                .param("to", DATE_NOW.minusYears(5).toString())
+                .param("limit", "0")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isBadRequest());
+
+    mvc.perform(
+            MockMvcRequestBuilders.get(USERS_API_PATH)
+                .param("from", DATE_NOW.minusYears(20).toString())
+                .param("to", DATE_NOW.minusYears(5).toString())
+                .param("cursor", "not-a-cursor")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void shouldCapLimitAtConfiguredMaximum() throws Exception {
+    when(service.getUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), isNull(), anyInt()))
+        .thenReturn(new UserPage(List.of(buildTestUser()), null));
+
+    mvc.perform(
+            MockMvcRequestBuilders.get(USERS_API_PATH)
+                .param("from", DATE_NOW.minusYears(20).toString())
+                .param("to", DATE_NOW.minusYears(5).toString())
+                .param("limit", "1000000")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk());
+
+    verify(service)
+        .getUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), isNull(), eq(1000));
+  }
+
+  @Test
+  void shouldStreamUsersByBirthDateRangeAsNdjson() throws Exception {
+    User second = buildTestUser().toBuilder().firstName("Alice").build();
+    when(service.streamUsersByBirthDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+        .thenReturn(Stream.of(buildTestUser(), second));
+
+    MvcResult result =
+        mvc.perform(
+                MockMvcRequestBuilders.get(USERS_API_PATH)
+                    .param("from", DATE_NOW.minusYears(20).toString())
+                    .param("to", DATE_NOW.minusYears(5).toString())
+                    .accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    String body =
+        mvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    assertThat(body.split("\n"))
+        .hasSize(2)
+        .satisfies(lines -> assertThat(lines[0]).contains("\"firstName\":\"Bob\""))
+        .satisfies(lines -> assertThat(lines[1]).contains("\"firstName\":\"Alice\""));
+    assertThat(body).endsWith("\n");
+  }
+
+  @Test
+  void shouldApplyBatchAndReturnResultPerItem() throws Exception {
+    UserBatchResponse response =
+        new UserBatchResponse(
+            1,
+            1,
+            List.of(
+                UserBatchResult.builder()
+                    .operation(UserBatchResult.Operation.CREATE)
+                    .index(0)
+                    .id(USER_ID.toString())
+                    .status(201)
+                    .user(buildTestUserResponse())
+                    .build(),
+                UserBatchResult.builder()
+                    .operation(UserBatchResult.Operation.DELETE)
+                    .index(0)
+                    .id("invalid")
+                    .status(400)
+                    .error("Invalid id=invalid")
+                    .build()));
+    when(batchService.applyBatch(any(UserBatchRequest.class))).thenReturn(response);
+
+    mvc.perform(
+            MockMvcRequestBuilders.post(USERS_API_PATH + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    """
+                    {
+                      "create": [
+                        {
+                          "firstName": "Bob",
+                          "lastName": "John",
+                          "email": "bobJohn@email.com",
+                          "birthDate": "%s"
+                        }
+                      ],
+                      "delete": ["invalid"]
+                    }
+                    """
+                        .formatted(DATE_NOW.minusYears(18).toString())))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.succeeded").value(1))
+        .andExpect(jsonPath("$.failed").value(1))
+        .andExpect(jsonPath("$.results[0].status").value(201))
+        .andExpect(jsonPath("$.results[0].user.firstName").value("Bob"))
+        .andExpect(jsonPath("$.results[0].error").doesNotExist())
+        .andExpect(jsonPath("$.results[1].operation").value("DELETE"))
+        .andExpect(jsonPath("$.results[1].error").value("Invalid id=invalid"));
+
+    verify(batchService)
+        .applyBatch(
+            argThat(
+                request -> request.create().size() == 1 && request.delete().size() == 1));
+  }
+
+  @Test
+  void shouldRejectBatchExceedingConfiguredMaximum() throws Exception {
+    String ids = String.join(",", Collections.nCopies(10_001, "\"" + USER_ID + "\""));
+
+    mvc.perform(
+            MockMvcRequestBuilders.post(USERS_API_PATH + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"delete\": [" + ids + "]}"))
+        .andExpect(status().isBadRequest());
+
+    verify(batchService, never()).applyBatch(any(UserBatchRequest.class));
   }
 
   @Test
   void shouldRejectFindRequestWithInvalidDateRange() throws Exception {
-    when(service.getUsersByBirthDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
-        .thenReturn(List.of(buildTestUserResponse()));
 
     mvc.perform(
             MockMvcRequestBuilders.get(USERS_API_PATH)
@@ -300,6 +781,59 @@ class UserControllerTest {
         .andExpect(status().isBadRequest());
   }
 
+  @Test
+  void shouldNegotiateCborForUserResponse() throws Exception {
+    when(service.getUser(USER_ID)).thenReturn(buildTestUserResponse());
+
+    MvcResult result =
+        mvc.perform(
+                MockMvcRequestBuilders.get(USERS_API_PATH + ID_PATH_VAR, USER_ID)
+                    .accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+            .andReturn();
+
+    UserResponse response =
+        CBOR_MAPPER.readValue(result.getResponse().getContentAsByteArray(), UserResponse.class);
+    assertThat(response).isEqualTo(buildTestUserResponse());
+  }
+
+  @Test
+  void shouldCreateUserFromCborRequest() throws Exception {
+    when(service.createUser(any(UserCreateRequest.class))).thenReturn(buildTestUserResponse());
+    UserCreateRequest request =
+        UserCreateRequest.builder()
+            .firstName("Bob")
+            .lastName("John")
+            .email("bobJohn@email.com")
+            .birthDate(DATE_NOW.minusYears(18))
+            .build();
+
+    mvc.perform(
+            MockMvcRequestBuilders.post(USERS_API_PATH)
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(CBOR_MAPPER.writeValueAsBytes(request)))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.id").value(USER_ID.toString()));
+
+    verify(service).createUser(request);
+  }
+
+  private User buildTestUser() {
+    return User.builder()
+        .id(USER_ID)
+        .firstName("Bob")
+        .lastName("John")
+        .email("bobJohn@email.com")
+        .birthDate(DATE_NOW.minusYears(18))
+        .address("Some Random Street, 12")
+        .phoneNumber("+380775553535")
+        .version(3)
+        .build();
+  }
+
   private UserResponse buildTestUserResponse() {
     return UserResponse.builder()
         .id(USER_ID)
@@ -309,6 +843,7 @@ class UserControllerTest {
         .birthDate(DATE_NOW.minusYears(18))
         .address("Some Random Street, 12")
         .phoneNumber("+380775553535")
+        .version(3)
         .build();
   }
 }
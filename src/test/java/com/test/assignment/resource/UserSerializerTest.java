@@ -0,0 +1,78 @@
+package com.test.assignment.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.response.UserResponse;
+import com.test.assignment.service.mapper.UserMapper;
+import com.test.assignment.service.mapper.UserMapperImpl;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class UserSerializerTest {
+  private final UserMapper mapper = new UserMapperImpl();
+  private final ObjectMapper jsonMapper = builder().build();
+  private final ObjectMapper cborMapper = BinaryFormatConfiguration.cborMapper(builder());
+
+  @Test
+  void testShouldWriteSameJsonAsUserResponse() throws Exception {
+    User user = buildTestUser();
+
+    assertThat(jsonMapper.writeValueAsString(user))
+        .isEqualTo(jsonMapper.writeValueAsString(mapper.toResponse(user)));
+  }
+
+  @Test
+  void testShouldWriteNullFieldsLikeUserResponse() throws Exception {
+    User user =
+        User.builder().id(UUID.randomUUID()).firstName("Bob").email("bob@email.com").build();
+
+    assertThat(jsonMapper.writeValueAsBytes(user))
+        .isEqualTo(jsonMapper.writeValueAsBytes(mapper.toResponse(user)));
+  }
+
+  @Test
+  void testShouldWriteSameListAsUserResponses() throws Exception {
+    List<User> users = List.of(buildTestUser(), buildTestUser().toBuilder().version(7).build());
+
+    assertThat(jsonMapper.writeValueAsBytes(users))
+        .isEqualTo(jsonMapper.writeValueAsBytes(mapper.toResponses(users)));
+    assertThat(jsonMapper.writerFor(User.class).writeValueAsBytes(users.get(0)))
+        .isEqualTo(
+            jsonMapper
+                .writerFor(UserResponse.class)
+                .writeValueAsBytes(mapper.toResponse(users.get(0))));
+  }
+
+  @Test
+  void testShouldWriteSameCborAsUserResponse() throws Exception {
+    List<User> users = List.of(buildTestUser());
+
+    assertThat(cborMapper.writeValueAsBytes(users))
+        .isEqualTo(cborMapper.writeValueAsBytes(mapper.toResponses(users)));
+  }
+
+  private static Jackson2ObjectMapperBuilder builder() {
+    return Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .serializerByType(User.class, new UserSerializer());
+  }
+
+  private User buildTestUser() {
+    return User.builder()
+        .id(UUID.randomUUID())
+        .firstName("Bob \"Bobby\" Ünal")
+        .lastName("John")
+        .email("bobJohn@email.com")
+        .birthDate(LocalDateTime.of(1990, 5, 17, 13, 45, 12, 123_456_789))
+        .address("Some Random Street, 12")
+        .phoneNumber("+380775553535")
+        .version(3)
+        .build();
+  }
+}
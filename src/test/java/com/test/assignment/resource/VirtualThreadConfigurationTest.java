@@ -0,0 +1,51 @@
+package com.test.assignment.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.test.assignment.domain.response.UserResponse;
+import com.test.assignment.service.UserService;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "threads.virtual.enabled=true")
+class VirtualThreadConfigurationTest {
+  private static final UUID USER_ID = UUID.fromString("34ae7f06-c206-4bc1-96c6-1a79d871f9eb");
+
+  @Autowired private TestRestTemplate restTemplate;
+  @MockBean private UserService service;
+
+  @Test
+  void shouldServeRequestsOnVirtualThreads() {
+    AtomicReference<Thread> servingThread = new AtomicReference<>();
+    when(service.getUser(any(UUID.class)))
+        .thenAnswer(
+            invocation -> {
+              servingThread.set(Thread.currentThread());
+              return UserResponse.builder()
+                  .id(USER_ID)
+                  .firstName("Bob")
+                  .lastName("John")
+                  .email("bobJohn@email.com")
+                  .birthDate(LocalDateTime.of(1990, 1, 1, 0, 0))
+                  .version(1)
+                  .build();
+            });
+
+    ResponseEntity<String> response = restTemplate.getForEntity("/users/" + USER_ID, String.class);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(servingThread.get().isVirtual()).isTrue();
+  }
+}
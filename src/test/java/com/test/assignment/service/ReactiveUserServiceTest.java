@@ -0,0 +1,144 @@
+package com.test.assignment.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import com.test.assignment.domain.UserPage;
+import com.test.assignment.domain.request.UserCreateRequest;
+import com.test.assignment.domain.request.UserUpdateRequest;
+import com.test.assignment.exception.EntityNotFoundException;
+import com.test.assignment.exception.PreconditionFailedException;
+import com.test.assignment.repository.ReactiveUserRepository;
+import com.test.assignment.service.mapper.UserMapper;
+import com.test.assignment.service.mapper.UserMapperImpl;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveUserServiceTest {
+
+  @Mock private ReactiveUserRepository repository;
+  @Spy private UserMapper mapper = new UserMapperImpl();
+  @InjectMocks private ReactiveUserService testable;
+
+  @Test
+  void testShouldCreateUserSuccessfully() {
+    User created = buildTestUser(UUID.randomUUID());
+    when(repository.createUser(any(User.class))).thenReturn(Mono.just(created));
+
+    StepVerifier.create(testable.createUser(buildTestUserCreateRequest()))
+        .expectNext(mapper.toResponse(created))
+        .verifyComplete();
+  }
+
+  @Test
+  void testShouldSignalNotFoundForMissingUser() {
+    UUID testId = UUID.randomUUID();
+    when(repository.findUserById(testId)).thenReturn(Mono.empty());
+    when(repository.deleteUser(testId)).thenReturn(Mono.empty());
+    when(repository.replaceUser(eq(testId), any(User.class))).thenReturn(Mono.empty());
+
+    StepVerifier.create(testable.getUser(testId))
+        .expectError(EntityNotFoundException.class)
+        .verify();
+    StepVerifier.create(testable.deleteUser(testId))
+        .expectError(EntityNotFoundException.class)
+        .verify();
+    StepVerifier.create(testable.replaceUser(testId, buildTestUserCreateRequest(), null))
+        .expectError(EntityNotFoundException.class)
+        .verify();
+  }
+
+  @Test
+  void testShouldRejectUpdateWhenVersionDoesNotMatch() {
+    UUID testId = UUID.randomUUID();
+    User existing = buildTestUser(testId).toBuilder().version(2).build();
+    when(repository.updateUser(eq(testId), any(UnaryOperator.class)))
+        .thenAnswer(
+            invocation ->
+                Mono.fromCallable(
+                    () -> invocation.<UnaryOperator<User>>getArgument(1).apply(existing)));
+
+    StepVerifier.create(testable.updateUser(testId, UserUpdateRequest.builder().build(), 1L))
+        .expectError(PreconditionFailedException.class)
+        .verify();
+  }
+
+  @Test
+  void testShouldSignalNotFoundForEmptyRange() {
+    LocalDateTime from = LocalDate.now().minusYears(20).atStartOfDay();
+    LocalDateTime to = LocalDate.now().atTime(LocalTime.MAX);
+    User user = buildTestUser(UUID.randomUUID());
+    when(repository.findUsersByBirthDateRange(from, to))
+        .thenReturn(Flux.just(user), Flux.empty());
+
+    StepVerifier.create(testable.getUsersByBirthDateRange(from, to))
+        .expectNext(user)
+        .verifyComplete();
+    StepVerifier.create(testable.getUsersByBirthDateRange(from, to))
+        .expectError(EntityNotFoundException.class)
+        .verify();
+  }
+
+  @Test
+  void testShouldPageRangeAndSignalNotFoundOnlyForEmptyFirstPage() {
+    LocalDateTime from = LocalDate.now().minusYears(20).atStartOfDay();
+    LocalDateTime to = LocalDate.now().atTime(LocalTime.MAX);
+    User first = buildTestUser(UUID.randomUUID());
+    User second = buildTestUser(UUID.randomUUID());
+    UserCursor cursor = UserCursor.of(first);
+    when(repository.findUsersByBirthDateRange(from, to, null, 2))
+        .thenReturn(Mono.just(List.of(first, second)), Mono.just(List.of()));
+    when(repository.findUsersByBirthDateRange(from, to, cursor, 2))
+        .thenReturn(Mono.just(List.of()));
+
+    StepVerifier.create(testable.getUsersByBirthDateRange(from, to, null, 1))
+        .expectNext(new UserPage(List.of(first), cursor))
+        .verifyComplete();
+    StepVerifier.create(testable.getUsersByBirthDateRange(from, to, null, 1))
+        .expectError(EntityNotFoundException.class)
+        .verify();
+    StepVerifier.create(testable.getUsersByBirthDateRange(from, to, cursor, 1))
+        .expectNext(new UserPage(List.of(), null))
+        .verifyComplete();
+  }
+
+  private UserCreateRequest buildTestUserCreateRequest() {
+    return UserCreateRequest.builder()
+        .firstName("TestFirstName")
+        .lastName("TestLastName")
+        .email("testUser@test.com")
+        .birthDate(LocalDateTime.now().minusYears(18))
+        .address("Brooklyn Street, 18")
+        .phoneNumber("+3805553535")
+        .build();
+  }
+
+  private User buildTestUser(UUID id) {
+    return User.builder()
+        .id(id)
+        .firstName("TestFirstName")
+        .lastName("TestLastName")
+        .email("testUser@test.com")
+        .birthDate(LocalDateTime.now().minusYears(18))
+        .address("Brooklyn Street, 18")
+        .phoneNumber("+3805553535")
+        .build();
+  }
+}
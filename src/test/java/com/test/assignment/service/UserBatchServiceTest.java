@@ -0,0 +1,211 @@
+package com.test.assignment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.request.UserBatchItem;
+import com.test.assignment.domain.request.UserBatchRequest;
+import com.test.assignment.domain.request.UserCreateRequest;
+import com.test.assignment.domain.request.UserUpdateRequest;
+import com.test.assignment.domain.response.UserBatchResponse;
+import com.test.assignment.domain.response.UserBatchResult;
+import com.test.assignment.domain.response.UserBatchResult.Operation;
+import com.test.assignment.repository.InMemoryUserRepository;
+import com.test.assignment.repository.UserRepository;
+import com.test.assignment.service.mapper.UserMapper;
+import com.test.assignment.service.mapper.UserMapperImpl;
+import com.test.assignment.validator.BirthDateConstraintValidatorFactory;
+import com.test.assignment.validator.BirthDateCutoff;
+import com.test.assignment.validator.UserRequestValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class UserBatchServiceTest {
+
+  @Spy private UserRepository repository = new InMemoryUserRepository();
+  @Spy private UserMapper mapper = new UserMapperImpl();
+
+  private final BirthDateCutoff cutoff = BirthDateCutoff.systemDefault();
+
+  @Spy
+  private UserRequestValidator validator =
+      new UserRequestValidator(
+          BirthDateConstraintValidatorFactory.buildValidatorFactory(cutoff).getValidator(),
+          cutoff,
+          new SimpleMeterRegistry());
+
+  @InjectMocks private UserBatchService testable;
+
+  @Test
+  void testShouldApplyEveryItemKindWithResultPerItem() {
+    User replaced = repository.createUser(buildTestUser(UUID.randomUUID()));
+    User updated = repository.createUser(buildTestUser(UUID.randomUUID()));
+    User deleted = repository.createUser(buildTestUser(UUID.randomUUID()));
+    UUID missing = UUID.randomUUID();
+
+    UserBatchRequest request =
+        UserBatchRequest.builder()
+            .create(
+                List.of(
+                    buildTestUserCreateRequest(),
+                    buildTestUserCreateRequest().toBuilder().firstName("a").build()))
+            .replace(
+                List.of(
+                    new UserBatchItem<>(
+                        replaced.getId().toString(),
+                        buildTestUserCreateRequest().toBuilder().lastName("Replaced").build()),
+                    new UserBatchItem<>(missing.toString(), buildTestUserCreateRequest())))
+            .update(
+                List.of(
+                    new UserBatchItem<>(
+                        updated.getId().toString(),
+                        UserUpdateRequest.builder().firstName("Updated").build()),
+                    new UserBatchItem<>("not-a-uuid", UserUpdateRequest.builder().build())))
+            .delete(List.of(deleted.getId().toString(), missing.toString()))
+            .build();
+
+    UserBatchResponse actual = testable.applyBatch(request);
+
+    assertThat(actual.succeeded()).isEqualTo(4);
+    assertThat(actual.failed()).isEqualTo(4);
+    assertThat(actual.results())
+        .extracting(UserBatchResult::operation, UserBatchResult::index, UserBatchResult::status)
+        .containsExactly(
+            tuple(Operation.CREATE, 0, 201),
+            tuple(Operation.CREATE, 1, 400),
+            tuple(Operation.REPLACE, 0, 200),
+            tuple(Operation.REPLACE, 1, 404),
+            tuple(Operation.UPDATE, 0, 200),
+            tuple(Operation.UPDATE, 1, 400),
+            tuple(Operation.DELETE, 0, 200),
+            tuple(Operation.DELETE, 1, 404));
+
+    UUID createdId = UUID.fromString(actual.results().get(0).id());
+    assertThat(repository.findUserById(createdId)).isNotNull();
+    assertThat(repository.findUserById(replaced.getId()).getLastName()).isEqualTo("Replaced");
+    assertThat(repository.findUserById(updated.getId()))
+        .satisfies(u -> assertThat(u.getFirstName()).isEqualTo("Updated"))
+        .satisfies(u -> assertThat(u.getLastName()).isEqualTo(updated.getLastName()));
+    assertThat(repository.findUserById(deleted.getId())).isNull();
+
+    verify(repository).createUsers(anyList());
+    verify(repository).replaceUsers(anyList());
+    verify(repository).updateUsers(anyList(), anyList());
+    verify(repository).deleteUsers(anyList());
+    verify(validator, times(3)).validateEach(anyList());
+  }
+
+  @Test
+  void testShouldFailOnlyItemsWithTakenEmail() {
+    User existing = repository.createUser(buildTestUser(UUID.randomUUID()));
+    User updated = repository.createUser(buildTestUser(UUID.randomUUID()));
+    UserCreateRequest duplicate =
+        buildTestUserCreateRequest().toBuilder().email(existing.getEmail()).build();
+
+    UserBatchRequest request =
+        UserBatchRequest.builder()
+            .create(List.of(duplicate, buildTestUserCreateRequest()))
+            .update(
+                List.of(
+                    new UserBatchItem<>(
+                        updated.getId().toString(),
+                        UserUpdateRequest.builder().email(existing.getEmail()).build())))
+            .build();
+
+    UserBatchResponse actual = testable.applyBatch(request);
+
+    assertThat(actual.results())
+        .extracting(UserBatchResult::operation, UserBatchResult::index, UserBatchResult::status)
+        .containsExactly(
+            tuple(Operation.CREATE, 0, 409),
+            tuple(Operation.CREATE, 1, 201),
+            tuple(Operation.UPDATE, 0, 409));
+    assertThat(actual.results().get(2).id()).isEqualTo(updated.getId().toString());
+    assertThat(repository.findUserByEmail(existing.getEmail())).isEqualTo(existing);
+    assertThat(repository.findUserById(updated.getId())).isEqualTo(updated);
+  }
+
+  @Test
+  void testShouldFailOnlyMissingItemsOfEveryKind() {
+    User replaced = repository.createUser(buildTestUser(UUID.randomUUID()));
+    User updated = repository.createUser(buildTestUser(UUID.randomUUID()));
+
+    UserBatchRequest request =
+        UserBatchRequest.builder()
+            .create(Arrays.asList(null, buildTestUserCreateRequest()))
+            .replace(
+                Arrays.asList(
+                    null,
+                    new UserBatchItem<>(
+                        replaced.getId().toString(),
+                        buildTestUserCreateRequest().toBuilder().lastName("Replaced").build())))
+            .update(
+                Arrays.asList(
+                    new UserBatchItem<>(
+                        updated.getId().toString(),
+                        UserUpdateRequest.builder().firstName("Updated").build()),
+                    null))
+            .build();
+
+    UserBatchResponse actual = testable.applyBatch(request);
+
+    assertThat(actual.results())
+        .extracting(UserBatchResult::operation, UserBatchResult::index, UserBatchResult::status)
+        .containsExactly(
+            tuple(Operation.CREATE, 0, 400),
+            tuple(Operation.CREATE, 1, 201),
+            tuple(Operation.REPLACE, 0, 400),
+            tuple(Operation.REPLACE, 1, 200),
+            tuple(Operation.UPDATE, 0, 200),
+            tuple(Operation.UPDATE, 1, 400));
+    assertThat(actual.results().get(2).error()).isEqualTo("Request must not be null");
+    assertThat(repository.findUserById(replaced.getId()).getLastName()).isEqualTo("Replaced");
+    assertThat(repository.findUserById(updated.getId()).getFirstName()).isEqualTo("Updated");
+  }
+
+  @Test
+  void testShouldGenerateDistinctRandomVersion4Ids() {
+    UUID[] ids = UserBatchService.randomIds(10_000);
+
+    assertThat(Arrays.stream(ids).distinct()).hasSize(ids.length);
+    assertThat(ids)
+        .allSatisfy(id -> assertThat(id.version()).isEqualTo(4))
+        .allSatisfy(id -> assertThat(id.variant()).isEqualTo(2));
+  }
+
+  private UserCreateRequest buildTestUserCreateRequest() {
+    return UserCreateRequest.builder()
+        .firstName("TestFirstName")
+        .lastName("TestLastName")
+        .email(UUID.randomUUID() + "@test.com")
+        .birthDate(LocalDateTime.now().minusYears(20))
+        .address("Brooklyn Street, 18")
+        .phoneNumber("+3805553535")
+        .build();
+  }
+
+  private User buildTestUser(UUID id) {
+    return User.builder()
+        .id(id)
+        .firstName("TestFirstName")
+        .lastName("TestLastName")
+        .email(id + "@test.com")
+        .birthDate(LocalDateTime.now().minusYears(20))
+        .address("Brooklyn Street, 18")
+        .phoneNumber("+3805553535")
+        .build();
+  }
+}
@@ -0,0 +1,165 @@
+package com.test.assignment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.test.assignment.domain.BirthDateBucket;
+import com.test.assignment.domain.User;
+import com.test.assignment.domain.response.UserCountResult;
+import com.test.assignment.exception.InvalidPathVariableException;
+import com.test.assignment.repository.BirthDateHistogram;
+import com.test.assignment.repository.InMemoryUserRepository;
+import com.test.assignment.service.mapper.UserMapperImpl;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UserCountServiceTest {
+  private static final LocalDate TODAY = LocalDate.of(2023, 6, 15);
+
+  private final InMemoryUserRepository repository = new InMemoryUserRepository();
+  private final BirthDateHistogram histogram = new BirthDateHistogram(repository);
+  private final UserCountService testable =
+      new UserCountService(
+          histogram,
+          Clock.fixed(TODAY.atTime(10, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC),
+          100);
+
+  @Test
+  void testShouldCountUsersPerYearCutToWindow() {
+    store(LocalDate.of(1990, 3, 1), LocalDate.of(1990, 12, 31), LocalDate.of(1991, 1, 1));
+    store(LocalDate.of(1992, 6, 30), LocalDate.of(1992, 7, 1));
+
+    List<UserCountResult> actual =
+        testable.countUsersByBirthDate(
+            LocalDateTime.of(1990, 1, 1, 0, 0),
+            LocalDateTime.of(1992, 6, 30, 0, 0),
+            BirthDateBucket.YEAR,
+            1);
+
+    assertThat(actual)
+        .containsExactly(
+            result(LocalDate.of(1990, 1, 1), LocalDate.of(1990, 12, 31), null, 2),
+            result(LocalDate.of(1991, 1, 1), LocalDate.of(1991, 12, 31), null, 1),
+            result(LocalDate.of(1992, 1, 1), LocalDate.of(1992, 6, 30), null, 1));
+  }
+
+  @Test
+  void testShouldCountUsersPerSeveralMonths() {
+    store(LocalDate.of(1990, 1, 31), LocalDate.of(1990, 2, 28), LocalDate.of(1990, 3, 31));
+
+    List<UserCountResult> actual =
+        testable.countUsersByBirthDate(
+            LocalDateTime.of(1990, 1, 31, 0, 0),
+            LocalDateTime.of(1990, 5, 1, 0, 0),
+            BirthDateBucket.MONTH,
+            2);
+
+    assertThat(actual)
+        .containsExactly(
+            result(LocalDate.of(1990, 1, 31), LocalDate.of(1990, 3, 30), null, 2),
+            result(LocalDate.of(1990, 3, 31), LocalDate.of(1990, 5, 1), null, 1));
+  }
+
+  @Test
+  void testShouldCountUsersPerAgeYoungestFirst() {
+    store(
+        LocalDate.of(2005, 6, 15),
+        LocalDate.of(2005, 6, 16),
+        LocalDate.of(2004, 6, 16),
+        LocalDate.of(2000, 1, 1));
+
+    List<UserCountResult> actual =
+        testable.countUsersByBirthDate(
+            LocalDateTime.of(2000, 1, 1, 0, 0),
+            LocalDateTime.of(2005, 12, 31, 0, 0),
+            BirthDateBucket.AGE,
+            2);
+
+    assertThat(actual)
+        .containsExactly(
+            result(LocalDate.of(2005, 6, 16), LocalDate.of(2005, 12, 31), 16, 1),
+            result(LocalDate.of(2003, 6, 16), LocalDate.of(2005, 6, 15), 18, 2),
+            result(LocalDate.of(2001, 6, 16), LocalDate.of(2003, 6, 15), 20, 0),
+            result(LocalDate.of(2000, 1, 1), LocalDate.of(2001, 6, 15), 22, 1));
+  }
+
+  @Test
+  void testShouldCountLeapDayBirthsAsOlderOnLastDayOfFebruary() {
+    assertThat(UserCountService.lastBornAtAge(LocalDate.of(2023, 2, 28), 3))
+        .isEqualTo(LocalDate.of(2020, 2, 29));
+    assertThat(UserCountService.lastBornAtAge(LocalDate.of(2024, 2, 29), 1))
+        .isEqualTo(LocalDate.of(2023, 2, 28));
+    assertThat(UserCountService.lastBornAtAge(TODAY, 18)).isEqualTo(LocalDate.of(2005, 6, 15));
+  }
+
+  @Test
+  void testShouldRejectTooManyBucketsOrNonPositiveSize() {
+    LocalDateTime from = LocalDateTime.of(1990, 1, 1, 0, 0);
+
+    assertThrows(
+        InvalidPathVariableException.class,
+        () -> testable.countUsersByBirthDate(from, from.plusDays(100), BirthDateBucket.DAY, 1));
+    assertThrows(
+        InvalidPathVariableException.class,
+        () -> testable.countUsersByBirthDate(from, from.plusDays(1), BirthDateBucket.DAY, 0));
+    assertThat(testable.countUsersByBirthDate(from, from.plusDays(99), BirthDateBucket.DAY, 1))
+        .hasSize(100);
+    assertThat(
+            testable.countUsersByBirthDate(
+                from, from.plusYears(5), BirthDateBucket.YEAR, Integer.MAX_VALUE))
+        .hasSize(1);
+  }
+
+  @Test
+  void testShouldCountSameUsersAsRangeListsOfSameDates() {
+    UserService users = new UserService(new UserMapperImpl(), repository);
+    for (LocalDateTime birthDate :
+        List.of(
+            LocalDateTime.of(1989, 12, 31, 23, 59),
+            LocalDateTime.of(1990, 1, 1, 0, 0),
+            LocalDateTime.of(1990, 1, 1, 8, 0),
+            LocalDateTime.of(1990, 6, 30, 0, 0),
+            LocalDateTime.of(1990, 6, 30, 15, 0),
+            LocalDateTime.of(1990, 7, 1, 0, 0))) {
+      histogram.onChange(null, repository.createUser(buildTestUser(birthDate)));
+    }
+    LocalDateTime from = LocalDateTime.of(1990, 1, 1, 0, 0);
+    LocalDateTime to = LocalDateTime.of(1990, 6, 30, 0, 0);
+
+    long counted =
+        testable.countUsersByBirthDate(from, to, BirthDateBucket.MONTH, 1).stream()
+            .mapToLong(UserCountResult::count)
+            .sum();
+
+    assertThat(counted)
+        .isEqualTo(4)
+        .isEqualTo(users.getUsersByBirthDateRange(from, to, null, 100).users().size())
+        .isEqualTo(users.streamUsersByBirthDateRange(from, to).count());
+  }
+
+  private void store(LocalDate... birthDays) {
+    for (LocalDate birthDay : birthDays) {
+      histogram.onChange(null, buildTestUser(birthDay.atTime(13, 30)));
+    }
+  }
+
+  private static UserCountResult result(LocalDate from, LocalDate to, Integer age, long count) {
+    return UserCountResult.builder().from(from).to(to).age(age).count(count).build();
+  }
+
+  private static User buildTestUser(LocalDateTime birthDate) {
+    UUID id = UUID.randomUUID();
+    return User.builder()
+        .id(id)
+        .firstName("TestFirstName")
+        .lastName("TestLastName")
+        .email(id + "@test.com")
+        .birthDate(birthDate)
+        .build();
+  }
+}
@@ -3,16 +3,21 @@ package com.test.assignment.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.test.assignment.domain.User;
+import com.test.assignment.domain.UserCursor;
+import com.test.assignment.domain.UserPage;
 import com.test.assignment.domain.request.UserCreateRequest;
 import com.test.assignment.domain.request.UserUpdateRequest;
 import com.test.assignment.domain.response.UserResponse;
 import com.test.assignment.exception.EntityNotFoundException;
+import com.test.assignment.exception.PreconditionFailedException;
 import com.test.assignment.repository.UserRepository;
 import com.test.assignment.service.mapper.UserMapper;
 import com.test.assignment.service.mapper.UserMapperImpl;
@@ -20,6 +25,8 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -63,18 +70,23 @@ class UserServiceTest {
   void testShouldUpdateUserSuccessfully() {
     UUID testId = UUID.randomUUID();
     User existing = buildTestUser(testId);
-    User updated = existing.toBuilder().firstName("NewName").email("updated@mail.com").build();
     UserUpdateRequest request =
         buildTestUserUpdateRequest().toBuilder()
             .firstName("NewName")
             .email("updated@gmail.com")
             .build();
+    User updated =
+        existing.toBuilder()
+            .firstName("NewName")
+            .email("updated@gmail.com")
+            .birthDate(request.birthDate())
+            .build();
 
-    when(repository.findUserById(any(UUID.class))).thenReturn(existing);
-    when(repository.updateUser(any(UUID.class), any(User.class))).thenReturn(updated);
+    when(repository.updateUser(eq(testId), any(UnaryOperator.class)))
+        .thenAnswer(invocation -> invocation.<UnaryOperator<User>>getArgument(1).apply(existing));
 
     UserResponse expected = mapper.toResponse(updated);
-    UserResponse actual = testable.updateUser(testId, request);
+    UserResponse actual = testable.updateUser(testId, request, null);
     assertThat(actual)
         .as("Updated user response should match expected")
         .satisfies(u -> assertThat(u.getId()).isEqualTo(expected.getId()))
@@ -85,8 +97,8 @@ class UserServiceTest {
         .satisfies(u -> assertThat(u.getPhoneNumber()).isEqualTo(expected.getPhoneNumber()))
         .satisfies(u -> assertThat(u.getAddress()).isEqualTo(expected.getAddress()));
 
-    verify(repository).findUserById(testId);
-    verify(repository).updateUser(any(UUID.class), any(User.class));
+    verify(repository).updateUser(eq(testId), any(UnaryOperator.class));
+    verify(repository, never()).findUserById(any(UUID.class));
     verify(mapper).toEntity(testId, request);
     verify(mapper, atLeastOnce()).toResponse(updated);
   }
@@ -101,11 +113,11 @@ class UserServiceTest {
             .email("updated@gmail.com")
             .build();
 
-    when(repository.findUserById(any(UUID.class))).thenReturn(null);
+    when(repository.updateUser(eq(testId), any(UnaryOperator.class))).thenReturn(null);
 
-    assertThrows(EntityNotFoundException.class, () -> testable.updateUser(testId, request));
+    assertThrows(EntityNotFoundException.class, () -> testable.updateUser(testId, request, null));
 
-    verify(repository).findUserById(testId);
+    verify(repository).updateUser(eq(testId), any(UnaryOperator.class));
   }
 
   @Test
@@ -127,11 +139,10 @@ class UserServiceTest {
             .phoneNumber(null)
             .build();
 
-    when(repository.findUserById(any(UUID.class))).thenReturn(existing);
     when(repository.replaceUser(any(UUID.class), any(User.class))).thenReturn(updated);
 
     UserResponse expected = mapper.toResponse(updated);
-    UserResponse actual = testable.replaceUser(testId, request);
+    UserResponse actual = testable.replaceUser(testId, request, null);
     assertThat(actual)
         .as("Updated user response should match expected")
         .satisfies(u -> assertThat(u.getId()).isEqualTo(expected.getId()))
@@ -142,8 +153,8 @@ class UserServiceTest {
         .satisfies(u -> assertThat(u.getPhoneNumber()).isNull())
         .satisfies(u -> assertThat(u.getAddress()).isNull());
 
-    verify(repository).findUserById(testId);
     verify(repository).replaceUser(any(UUID.class), any(User.class));
+    verify(repository, never()).findUserById(any(UUID.class));
     verify(mapper).toEntity(testId, request);
     verify(mapper, atLeastOnce()).toResponse(updated);
   }
@@ -160,11 +171,86 @@ class UserServiceTest {
             .phoneNumber(null)
             .build();
 
-    when(repository.findUserById(any(UUID.class))).thenReturn(null);
+    when(repository.replaceUser(any(UUID.class), any(User.class))).thenReturn(null);
+
+    assertThrows(EntityNotFoundException.class, () -> testable.replaceUser(testId, request, null));
+
+    verify(repository).replaceUser(eq(testId), any(User.class));
+  }
+
+  @Test
+  void testShouldRejectUpdateWhenVersionDoesNotMatch() {
+    UUID testId = UUID.randomUUID();
+    User existing = buildTestUser(testId).toBuilder().version(2).build();
 
-    assertThrows(EntityNotFoundException.class, () -> testable.replaceUser(testId, request));
+    when(repository.updateUser(eq(testId), any(UnaryOperator.class)))
+        .thenAnswer(invocation -> invocation.<UnaryOperator<User>>getArgument(1).apply(existing));
 
-    verify(repository).findUserById(testId);
+    assertThrows(
+        PreconditionFailedException.class,
+        () -> testable.updateUser(testId, buildTestUserUpdateRequest(), 1L));
+  }
+
+  @Test
+  void testShouldReplaceMatchingVersionThroughAtomicUpdate() {
+    UUID testId = UUID.randomUUID();
+    User existing = buildTestUser(testId).toBuilder().version(2).build();
+    UserCreateRequest request = buildTestUserCreateRequest().toBuilder().address(null).build();
+
+    when(repository.updateUser(eq(testId), any(UnaryOperator.class)))
+        .thenAnswer(invocation -> invocation.<UnaryOperator<User>>getArgument(1).apply(existing));
+
+    UserResponse actual = testable.replaceUser(testId, request, 2L);
+
+    assertThat(actual.getAddress()).isNull();
+    verify(repository, never()).replaceUser(any(UUID.class), any(User.class));
+  }
+
+  @Test
+  void testShouldGetUserById() {
+    UUID testId = UUID.randomUUID();
+    User existing = buildTestUser(testId);
+
+    when(repository.findUserById(testId)).thenReturn(existing);
+
+    assertThat(testable.getUser(testId)).isEqualTo(mapper.toResponse(existing));
+  }
+
+  @Test
+  void testShouldThrowEntityNotFoundExceptionOnGetNonExistentUser() {
+    UUID testId = UUID.randomUUID();
+
+    when(repository.findUserById(testId)).thenReturn(null);
+
+    assertThrows(EntityNotFoundException.class, () -> testable.getUser(testId));
+    verify(mapper, never()).toResponse(any(User.class));
+  }
+
+  @Test
+  void testShouldSearchUsersByName() {
+    User existing = buildTestUser(UUID.randomUUID());
+
+    when(repository.searchUsersByName("test", 20)).thenReturn(List.of(existing));
+
+    assertThat(testable.searchUsers("test", 20)).containsExactly(existing);
+  }
+
+  @Test
+  void testShouldGetUserByEmail() {
+    User existing = buildTestUser(UUID.randomUUID());
+
+    when(repository.findUserByEmail("testUser@test.com")).thenReturn(existing);
+
+    assertThat(testable.getUserByEmail("testUser@test.com"))
+        .isEqualTo(mapper.toResponse(existing));
+  }
+
+  @Test
+  void testShouldThrowEntityNotFoundExceptionOnGetByUnknownEmail() {
+    when(repository.findUserByEmail("unknown@test.com")).thenReturn(null);
+
+    assertThrows(EntityNotFoundException.class, () -> testable.getUserByEmail("unknown@test.com"));
+    verify(mapper, never()).toResponse(any(User.class));
   }
 
   @Test
@@ -172,55 +258,98 @@ class UserServiceTest {
     UUID testId = UUID.randomUUID();
     User existing = buildTestUser(testId);
 
-    when(repository.findUserById(any(UUID.class))).thenReturn(existing);
+    when(repository.deleteUser(any(UUID.class))).thenReturn(existing);
 
     testable.deleteUser(testId);
 
-    verify(repository).findUserById(testId);
     verify(repository).deleteUser(testId);
+    verify(repository, never()).findUserById(any(UUID.class));
   }
 
   @Test
   void testShouldThrowEntityNotFoundExceptionOnDeleteNonExistentUser() {
     UUID testId = UUID.randomUUID();
 
-    when(repository.findUserById(any(UUID.class))).thenReturn(null);
+    when(repository.deleteUser(any(UUID.class))).thenReturn(null);
 
     assertThrows(EntityNotFoundException.class, () -> testable.deleteUser(testId));
 
-    verify(repository).findUserById(testId);
+    verify(repository).deleteUser(testId);
   }
 
   @Test
-  void testShouldFindUsersInBirthDateRangeSuccessfully() {
-    UUID testId = UUID.randomUUID();
-    User existing = buildTestUser(testId);
-    List<UserResponse> expected = mapper.toResponses(List.of(existing));
+  void testShouldReturnPageWithNextCursorWhenMoreUsersExist() {
+    User first = buildTestUser(UUID.randomUUID());
+    User second = buildTestUser(UUID.randomUUID());
 
-    when(repository.findUsersByBirthDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
-        .thenReturn(List.of(existing));
+    when(repository.findUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), isNull(), eq(2)))
+        .thenReturn(List.of(first, second));
 
-    List<UserResponse> actual =
-        testable.getUsersByBirthDateRange(LocalDateTime.MIN, LocalDateTime.MAX);
-    assertThat(actual).isNotEmpty().hasSameSizeAs(expected).hasSameElementsAs(expected);
+    UserPage actual =
+        testable.getUsersByBirthDateRange(LocalDateTime.MIN, LocalDateTime.MAX, null, 1);
 
-    verify(repository)
-        .findUsersByBirthDateRange(any(LocalDateTime.class), any(LocalDateTime.class));
-    verify(mapper, atLeastOnce()).toResponses(any(List.class));
+    assertThat(actual.users()).containsExactly(first);
+    assertThat(actual.nextCursor()).isEqualTo(UserCursor.of(first));
+    verify(mapper, never()).toResponses(any(List.class));
   }
 
   @Test
-  void testShouldThrowEntityNotFoundExceptionFindUsersInBirthDateRangeThatDontExist() {
-    when(repository.findUsersByBirthDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+  void testShouldReturnLastPageWithoutNextCursor() {
+    User user = buildTestUser(UUID.randomUUID());
+    UserCursor cursor = new UserCursor(LocalDateTime.now().minusYears(30), UUID.randomUUID());
+
+    when(repository.findUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), eq(cursor), eq(11)))
+        .thenReturn(List.of(user));
+
+    UserPage actual =
+        testable.getUsersByBirthDateRange(LocalDateTime.MIN, LocalDateTime.MAX, cursor, 10);
+
+    assertThat(actual.users()).containsExactly(user);
+    assertThat(actual.nextCursor()).isNull();
+  }
+
+  @Test
+  void testShouldThrowEntityNotFoundExceptionOnEmptyFirstPage() {
+    when(repository.findUsersByBirthDateRange(
+            any(LocalDateTime.class), any(LocalDateTime.class), isNull(), eq(11)))
         .thenReturn(Collections.emptyList());
 
     assertThrows(
         EntityNotFoundException.class,
-        () -> testable.getUsersByBirthDateRange(LocalDateTime.MIN, LocalDateTime.MAX));
+        () -> testable.getUsersByBirthDateRange(LocalDateTime.MIN, LocalDateTime.MAX, null, 10));
+  }
 
-    verify(repository)
-        .findUsersByBirthDateRange(any(LocalDateTime.class), any(LocalDateTime.class));
-    verify(mapper, never()).toResponses(any(List.class));
+  @Test
+  void testShouldStreamUsersInBatchesFollowingCursor() {
+    List<User> firstBatch =
+        IntStream.range(0, UserService.STREAM_BATCH_SIZE)
+            .mapToObj(i -> buildTestUser(UUID.randomUUID()))
+            .toList();
+    User last = buildTestUser(UUID.randomUUID());
+    UserCursor cursor = UserCursor.of(firstBatch.get(firstBatch.size() - 1));
+
+    when(repository.findUsersByBirthDateRange(
+            any(LocalDateTime.class),
+            any(LocalDateTime.class),
+            isNull(),
+            eq(UserService.STREAM_BATCH_SIZE)))
+        .thenReturn(firstBatch);
+    when(repository.findUsersByBirthDateRange(
+            any(LocalDateTime.class),
+            any(LocalDateTime.class),
+            eq(cursor),
+            eq(UserService.STREAM_BATCH_SIZE)))
+        .thenReturn(List.of(last));
+
+    List<User> actual =
+        testable.streamUsersByBirthDateRange(LocalDateTime.MIN, LocalDateTime.MAX).toList();
+
+    assertThat(actual)
+        .hasSize(UserService.STREAM_BATCH_SIZE + 1)
+        .last()
+        .isEqualTo(last);
   }
 
   private UserUpdateRequest buildTestUserUpdateRequest() {
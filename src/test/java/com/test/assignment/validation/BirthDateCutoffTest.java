@@ -0,0 +1,115 @@
+package com.test.assignment.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.test.assignment.validator.BirthDateCutoff;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class BirthDateCutoffTest {
+  private static final ZoneId ZONE = ZoneOffset.UTC;
+
+  private final MutableClock clock = new MutableClock(LocalDateTime.of(2023, 6, 15, 12, 0));
+  private final BirthDateCutoff testable = new BirthDateCutoff(clock, 18);
+
+  @Test
+  void testShouldAcceptBirthDateExactlyMinAllowedAgeAgo() {
+    assertThat(testable.isOldEnough(LocalDateTime.of(2005, 6, 15, 12, 0))).isTrue();
+    assertThat(testable.isOldEnough(LocalDateTime.of(2005, 6, 15, 12, 0, 0, 1))).isFalse();
+    assertThat(testable.isOldEnough(LocalDateTime.of(2005, 6, 14, 23, 59))).isTrue();
+    assertThat(testable.isOldEnough(LocalDateTime.of(2005, 6, 16, 0, 0))).isFalse();
+  }
+
+  @Test
+  void testShouldRefreshCutoffAtMidnight() {
+    clock.set(LocalDateTime.of(2023, 6, 15, 23, 59, 59));
+    assertThat(testable.isOldEnough(LocalDateTime.of(2005, 6, 16, 0, 0))).isFalse();
+
+    clock.set(LocalDateTime.of(2023, 6, 16, 0, 0));
+    assertThat(testable.isOldEnough(LocalDateTime.of(2005, 6, 16, 0, 0))).isTrue();
+
+    clock.set(LocalDateTime.of(2023, 6, 15, 23, 59, 59));
+    assertThat(testable.isOldEnough(LocalDateTime.of(2005, 6, 16, 0, 0))).isFalse();
+  }
+
+  @Test
+  void testShouldAcceptLeapDayBirthsOnLastDayOfFebruary() {
+    clock.set(LocalDateTime.of(2023, 2, 28, 10, 0));
+    BirthDateCutoff cutoff = new BirthDateCutoff(clock, 3);
+
+    assertThat(cutoff.isOldEnough(LocalDateTime.of(2020, 2, 28, 10, 0))).isTrue();
+    assertThat(cutoff.isOldEnough(LocalDateTime.of(2020, 2, 29, 10, 0))).isTrue();
+    assertThat(cutoff.isOldEnough(LocalDateTime.of(2020, 2, 29, 10, 1))).isFalse();
+    assertThat(cutoff.isOldEnough(LocalDateTime.of(2020, 3, 1, 0, 0))).isFalse();
+  }
+
+  @Test
+  void testShouldAcceptWholeLastDayOfFebruaryOnLeapDay() {
+    clock.set(LocalDateTime.of(2028, 2, 29, 0, 0));
+    BirthDateCutoff cutoff = new BirthDateCutoff(clock, 1);
+
+    assertThat(cutoff.isOldEnough(LocalDateTime.of(2027, 2, 28, 23, 59))).isTrue();
+    assertThat(cutoff.isOldEnough(LocalDateTime.of(2027, 3, 1, 0, 0))).isFalse();
+  }
+
+  @Test
+  void testShouldApplyChangedMinAllowedAgeImmediately() {
+    LocalDateTime birthDate = LocalDateTime.of(2006, 1, 1, 0, 0);
+    assertThat(testable.isOldEnough(birthDate)).isFalse();
+
+    testable.setMinAllowedAge(17);
+
+    assertThat(testable.getMinAllowedAge()).isEqualTo(17);
+    assertThat(testable.isOldEnough(birthDate)).isTrue();
+  }
+
+  @Test
+  void testShouldAgreeWithPlusYearsAroundTheClock() {
+    Random random = new Random(19);
+    LocalDateTime start = LocalDateTime.of(2023, 12, 30, 0, 0);
+    for (int i = 0; i < 20_000; i++) {
+      LocalDateTime now = start.plusMinutes(random.nextInt(5 * 366 * 24 * 60));
+      long age = random.nextInt(30);
+      LocalDateTime birthDate =
+          now.minusYears(age).plusMinutes(random.nextInt(3 * 24 * 60) - 3 * 12 * 60);
+      clock.set(now);
+
+      assertThat(new BirthDateCutoff(clock, age).isOldEnough(birthDate))
+          .as("Birth date %s, %d years before %s", birthDate, age, now)
+          .isEqualTo(!birthDate.plusYears(age).isAfter(now));
+    }
+  }
+
+  /** A clock that stays where it is set. */
+  private static class MutableClock extends Clock {
+    private volatile Instant instant;
+
+    MutableClock(LocalDateTime now) {
+      set(now);
+    }
+
+    void set(LocalDateTime now) {
+      instant = now.atZone(ZONE).toInstant();
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZONE;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return Clock.fixed(instant, zone);
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
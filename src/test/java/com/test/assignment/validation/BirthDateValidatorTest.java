@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.test.assignment.validator.BirthDateValidator;
+import com.test.assignment.validator.ValidationConfiguration;
 import java.time.LocalDateTime;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,7 +16,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.test.context.TestPropertySource;
 
-@SpringBootTest(classes = BirthDateValidator.class)
+@SpringBootTest(classes = {BirthDateValidator.class, ValidationConfiguration.class})
 @Import(BirthDateValidatorTest.TestConfig.class)
 @TestPropertySource(locations = "classpath:application-test.properties")
 class BirthDateValidatorTest {
@@ -0,0 +1,93 @@
+package com.test.assignment.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.test.assignment.validator.EmailAddressMatcher;
+import com.test.assignment.validator.UserRequestValidator;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+class EmailAddressMatcherTest {
+  private static final Pattern EMAIL_PATTERN = Pattern.compile(UserRequestValidator.EMAIL_REGEX);
+  private static final List<String> TOKENS =
+      List.of(
+          "a", "Z", "7", "_", "+", "&", "*", "-", ".", "..", "@", "com", "io", "abcdefgh", "é",
+          " ", "\n", "bob", "mail.");
+  private static final List<String> VALID_EMAILS =
+      List.of("bobJohn@email.com", "a.b-c+d@x-1.y.org", "b@e.co", "q*&_@x.abcdefg");
+
+  @Test
+  void testShouldMatchExactlyLikeRegexOnKnownCases() {
+    List.of(
+            "bobJohn@email.com",
+            "b@e.co",
+            "bob@email.c",
+            "bob@email.abcdefgh",
+            "bob@email",
+            "bob@.com",
+            "bob@email..com",
+            "bob@email.com.",
+            "bob@email.c0m",
+            ".bob@email.com",
+            "bob.@email.com",
+            "bo..b@email.com",
+            "@email.com",
+            "bob@@email.com",
+            "bob@email.com\n",
+            "bób@email.com",
+            "")
+        .forEach(this::assertSameAsRegex);
+    assertThat(EmailAddressMatcher.matches(null)).isFalse();
+  }
+
+  @Test
+  void testShouldMatchExactlyLikeRegexOnRandomInput() {
+    Random random = new Random(18);
+    for (int i = 0; i < 200_000; i++) {
+      StringBuilder email = new StringBuilder();
+      int tokens = random.nextInt(12);
+      for (int j = 0; j < tokens; j++) {
+        email.append(TOKENS.get(random.nextInt(TOKENS.size())));
+      }
+      assertSameAsRegex(email.toString());
+    }
+  }
+
+  @Test
+  void testShouldMatchExactlyLikeRegexOnMutatedValidEmails() {
+    Random random = new Random(18);
+    String alphabet = "aZ7_+&*-.@é \n";
+    for (int i = 0; i < 200_000; i++) {
+      StringBuilder email =
+          new StringBuilder(VALID_EMAILS.get(random.nextInt(VALID_EMAILS.size())));
+      int mutations = 1 + random.nextInt(3);
+      for (int j = 0; j < mutations && !email.isEmpty(); j++) {
+        int position = random.nextInt(email.length());
+        char c = alphabet.charAt(random.nextInt(alphabet.length()));
+        switch (random.nextInt(3)) {
+          case 0 -> email.insert(position, c);
+          case 1 -> email.deleteCharAt(position);
+          default -> email.setCharAt(position, c);
+        }
+      }
+      assertSameAsRegex(email.toString());
+    }
+  }
+
+  @Test
+  void testShouldMatchLongInputThatOverflowsTheRegex() {
+    String local = "a.".repeat(100_000) + "a";
+
+    assertThat(EmailAddressMatcher.matches(local + "@email.com")).isTrue();
+    assertThat(EmailAddressMatcher.matches(local + "@email.c0m")).isFalse();
+    assertThat(EmailAddressMatcher.matches("bob@" + "a-.".repeat(100_000) + "com")).isTrue();
+  }
+
+  private void assertSameAsRegex(String email) {
+    assertThat(EmailAddressMatcher.matches(email))
+        .as("Match of \"%s\"", email)
+        .isEqualTo(EMAIL_PATTERN.matcher(email).matches());
+  }
+}
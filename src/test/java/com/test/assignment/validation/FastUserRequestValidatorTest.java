@@ -0,0 +1,150 @@
+package com.test.assignment.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.test.assignment.domain.request.UserCreateRequest;
+import com.test.assignment.domain.request.UserUpdateRequest;
+import com.test.assignment.validator.BirthDateConstraintValidatorFactory;
+import com.test.assignment.validator.BirthDateCutoff;
+import com.test.assignment.validator.FastUserRequestValidator;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FastUserRequestValidatorTest {
+  private static final BirthDateCutoff CUTOFF = BirthDateCutoff.systemDefault();
+  private static final List<String> EMAILS =
+      List.of(
+          "bobJohn@email.com",
+          "bob.john+tag@mail.email.com",
+          "a_b&c*d-e@x-y.io",
+          "b@e.co",
+          "bob@email.c",
+          "bob@email.abcdefgh",
+          "bob@email.abcdefg",
+          "bob@email",
+          "bob@.com",
+          "bob@email..com",
+          "bob@email.com.",
+          "bob@email.c0m",
+          "bob@em_ail.com",
+          ".bob@email.com",
+          "bob.@email.com",
+          "bo..b@email.com",
+          "@email.com",
+          "bob@",
+          "bob@@email.com",
+          "bob@email@email.com",
+          "bob@email.com\n",
+          "bób@email.com",
+          "bob@émail.com",
+          "",
+          "bob email@email.com");
+
+  private final ValidatorFactory factory =
+      BirthDateConstraintValidatorFactory.buildValidatorFactory(CUTOFF);
+  private final Validator validator = factory.getValidator();
+
+  @AfterEach
+  void tearDown() {
+    factory.close();
+  }
+
+  @Test
+  void testShouldAgreeWithBeanValidationOnEmails() {
+    for (String email : EMAILS) {
+      assertAgrees(validCreateRequest().toBuilder().email(email).build());
+      assertAgrees(UserUpdateRequest.builder().email(email).build());
+    }
+  }
+
+  @Test
+  void testShouldAgreeWithBeanValidationOnNamesAndBirthDates() {
+    LocalDateTime now = LocalDateTime.now();
+    List<String> names = List.of("", "B", "Bo", "x".repeat(30), "x".repeat(31), "  ");
+    List<LocalDateTime> birthDates =
+        List.of(
+            now.plusDays(1),
+            now.minusYears(CUTOFF.getMinAllowedAge()).plusDays(1),
+            now.minusYears(CUTOFF.getMinAllowedAge()).minusMinutes(1),
+            now.minusYears(90));
+    for (String name : names) {
+      assertAgrees(validCreateRequest().toBuilder().firstName(name).build());
+      assertAgrees(validCreateRequest().toBuilder().lastName(name).build());
+      assertAgrees(UserUpdateRequest.builder().lastName(name).build());
+    }
+    for (LocalDateTime birthDate : birthDates) {
+      assertAgrees(validCreateRequest().toBuilder().birthDate(birthDate).build());
+      assertAgrees(UserUpdateRequest.builder().birthDate(birthDate).build());
+    }
+  }
+
+  @Test
+  void testShouldReadNowFromCutoffClockWhenAnyAgeIsAllowed() {
+    Clock clock = Clock.fixed(Instant.parse("2000-06-01T12:00:00Z"), ZoneOffset.UTC);
+    BirthDateCutoff cutoff = new BirthDateCutoff(clock, 0);
+    LocalDateTime now = LocalDateTime.now(clock);
+
+    try (ValidatorFactory fixedFactory =
+        BirthDateConstraintValidatorFactory.buildValidatorFactory(cutoff)) {
+      for (LocalDateTime birthDate : List.of(now.minusSeconds(1), now, now.plusSeconds(1))) {
+        UserUpdateRequest request = UserUpdateRequest.builder().birthDate(birthDate).build();
+        assertThat(FastUserRequestValidator.isValid(request, cutoff))
+            .as("Fast validation of %s", request)
+            .isEqualTo(fixedFactory.getValidator().validate(request).isEmpty());
+      }
+    }
+    assertThat(
+            FastUserRequestValidator.isValid(
+                UserUpdateRequest.builder().birthDate(now).build(), cutoff))
+        .isFalse();
+  }
+
+  @Test
+  void testShouldRequireMandatoryFieldsOnlyOnCreate() {
+    assertAgrees(validCreateRequest().toBuilder().firstName(null).build());
+    assertAgrees(validCreateRequest().toBuilder().lastName(null).build());
+    assertAgrees(validCreateRequest().toBuilder().email(null).build());
+    assertAgrees(validCreateRequest().toBuilder().birthDate(null).build());
+    assertAgrees(UserUpdateRequest.builder().build());
+    assertThat(FastUserRequestValidator.isValid("not a user request", CUTOFF)).isFalse();
+  }
+
+  @Test
+  void testShouldAgreeWithBeanValidationOnRandomEmails() {
+    Random random = new Random(17);
+    String alphabet = "aZ09_+&*-.@é \n";
+    for (int i = 0; i < 20_000; i++) {
+      StringBuilder email = new StringBuilder();
+      int length = random.nextInt(12);
+      for (int j = 0; j < length; j++) {
+        email.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      assertAgrees(UserUpdateRequest.builder().email(email.toString()).build());
+    }
+  }
+
+  private void assertAgrees(Object request) {
+    assertThat(FastUserRequestValidator.isValid(request, CUTOFF))
+        .as("Fast validation of %s", request)
+        .isEqualTo(validator.validate(request).isEmpty());
+  }
+
+  private UserCreateRequest validCreateRequest() {
+    return UserCreateRequest.builder()
+        .firstName("Bob")
+        .lastName("John")
+        .email("bobJohn@email.com")
+        .birthDate(LocalDateTime.now().minusYears(30))
+        .address("Some Random Street, 12")
+        .phoneNumber("+380775553535")
+        .build();
+  }
+}